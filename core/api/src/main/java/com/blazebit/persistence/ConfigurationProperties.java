@@ -130,6 +130,21 @@ public final class ConfigurationProperties {
      */
     public static final String PARAMETER_AS_LITERAL_RENDERING = "com.blazebit.persistence.parameter_literal_rendering";
 
+    /**
+     * The maximum number of distinct values that are rendered as literals for a parameter of a query shape
+     * when {@link #PARAMETER_AS_LITERAL_RENDERING} is enabled. When more distinct values are encountered,
+     * the parameter is rendered as such from then on, to avoid creating a new query plan for every value.
+     * Only the values of executed queries are counted, rendering a query string doesn't influence other queries.
+     * Enum and boolean values are always rendered as literals.
+     * Valid values for this property are non-negative integers, with <code>0</code> meaning no limit.
+     * Default is <code>0</code>
+     *
+     * The property can be changed for a criteria builder before constructing a query.
+     *
+     * @since 1.6.13
+     */
+    public static final String PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT = "com.blazebit.persistence.parameter_literal_rendering_cardinality_limit";
+
     /**
      * If set to true, the keyset predicate is rendered in an optimized form so that database optimizers are more likely
      * to use indices.
@@ -211,6 +226,44 @@ public final class ConfigurationProperties {
      */
     public static final String CRITERIA_VALUE_AS_PARAMETER = "com.blazebit.persistence.criteria_value_as_parameter";
 
+    /**
+     * If set to true, the query fingerprint as returned by {@link Queryable#getQueryFingerprint()} is attached to the SQL of select queries as comment,
+     * so that DBMS side statistics can be correlated with queries.
+     * Auxiliary queries like the count query or the id query of a paginated query carry the fingerprint of their own query string.
+     * Valid values for this property are <code>true</code> and <code>false</code>.
+     * Default is <code>false</code>.
+     * This configuration option currently only takes effect when Hibernate is used as JPA provider and SQL comments are enabled via <code>hibernate.use_sql_comments</code>.
+     *
+     * The property can be changed for a criteria builder before constructing a query.
+     *
+     * @since 1.6.13
+     */
+    public static final String QUERY_FINGERPRINT_COMMENT = "com.blazebit.persistence.query_fingerprint_comment";
+
+    /**
+     * If set to true, LEFT joins of single valued associations that are neither fetched nor referenced in any clause are omitted when rendering a query.
+     * Such joins can't alter the cardinality of the result, so omitting them produces the same result with less work for the DBMS.
+     * Valid values for this property are <code>true</code> and <code>false</code>.
+     * Default is <code>false</code>.
+     *
+     * The property can be changed for a criteria builder before constructing a query.
+     *
+     * @since 1.6.13
+     */
+    public static final String UNUSED_JOIN_PRUNING = "com.blazebit.persistence.unused_join_pruning";
+
+    /**
+     * If set to true, a query created through the JPA {@link javax.persistence.criteria.CriteriaBuilder} API retains the {@link CriteriaBuilder} it was rendered to,
+     * so that executing the query again, also with a different entity manager, only copies the retained {@link CriteriaBuilder} instead of rendering the criteria tree again.
+     * The retained {@link CriteriaBuilder} is discarded when the roots, joins, clauses or subqueries of the query are altered,
+     * or when an element of a criteria tree created by the same criteria builder is altered in place.
+     * Valid values for this property are <code>true</code> and <code>false</code>.
+     * Default is <code>false</code>.
+     *
+     * @since 1.6.13
+     */
+    public static final String CRITERIA_RENDER_CACHE = "com.blazebit.persistence.criteria_render_cache";
+
     private ConfigurationProperties() {
     }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A simple default implementation for the {@link PageWindowCache} interface that retains
+ * the key sets of the most recently visited pages of the most recently used queries.
+ * Since the total size and the page positions become stale when the underlying data changes,
+ * the cached entries of a query expire after a configurable time to live.
+ * To react to known data changes, the cache can be {@link #clear() cleared}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class DefaultPageWindowCache implements PageWindowCache {
+
+    private static final int DEFAULT_MAX_QUERIES = 16;
+    private static final int DEFAULT_MAX_PAGES = 8;
+    private static final long DEFAULT_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000L;
+
+    private final int maxPages;
+    private final long timeToLiveMillis;
+    private final Map<Object, PageWindow> windows;
+
+    /**
+     * Creates a new cache for 16 queries and 8 pages per query with entries that expire after 5 minutes.
+     */
+    public DefaultPageWindowCache() {
+        this(DEFAULT_MAX_QUERIES, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Creates a new cache with entries that expire after 5 minutes.
+     *
+     * @param maxQueries The maximum number of queries for which pages are retained
+     * @param maxPages The maximum number of pages that are retained per query
+     */
+    public DefaultPageWindowCache(int maxQueries, int maxPages) {
+        this(maxQueries, maxPages, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxQueries The maximum number of queries for which pages are retained
+     * @param maxPages The maximum number of pages that are retained per query
+     * @param timeToLiveMillis The time in milliseconds after which the cached entries of a query expire
+     */
+    public DefaultPageWindowCache(final int maxQueries, int maxPages, long timeToLiveMillis) {
+        if (maxQueries <= 0) {
+            throw new IllegalArgumentException("maxQueries may not be zero or negative");
+        }
+        if (maxPages <= 0) {
+            throw new IllegalArgumentException("maxPages may not be zero or negative");
+        }
+        if (timeToLiveMillis <= 0) {
+            throw new IllegalArgumentException("timeToLiveMillis may not be zero or negative");
+        }
+        this.maxPages = maxPages;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.windows = new LinkedHashMap<Object, PageWindow>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, PageWindow> eldest) {
+                return size() > maxQueries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized long getTotalSize(Object queryKey) {
+        PageWindow window = getWindow(queryKey);
+        return window == null ? -1L : window.totalSize;
+    }
+
+    @Override
+    public synchronized KeysetPage getKeysetPage(Object queryKey, int firstResult, int maxResults) {
+        PageWindow window = getWindow(queryKey);
+        if (window == null) {
+            return null;
+        }
+        // Prefer the adjacent pages as these allow to navigate to the next or previous page
+        KeysetPage keysetPage = window.getKeysetPage(firstResult - maxResults, maxResults);
+        if (keysetPage == null) {
+            keysetPage = window.getKeysetPage(firstResult + maxResults, maxResults);
+            if (keysetPage == null) {
+                keysetPage = window.getKeysetPage(firstResult, maxResults);
+            }
+        }
+        return keysetPage;
+    }
+
+    @Override
+    public synchronized void put(Object queryKey, PagedList<?> pagedList) {
+        PageWindow window = getWindow(queryKey);
+        if (window == null) {
+            window = new PageWindow(maxPages, currentTimeMillis() + timeToLiveMillis);
+            windows.put(queryKey, window);
+        }
+        // An estimate or the special value for unknown total sizes shouldn't replace a known total size
+        if (pagedList.getTotalSize() != -1L && !pagedList.isTotalSizeEstimated()) {
+            window.totalSize = pagedList.getTotalSize();
+        }
+        KeysetPage keysetPage = pagedList.getKeysetPage();
+        if (keysetPage != null && keysetPage.getLowest() != null && keysetPage.getHighest() != null) {
+            window.pages.put(keysetPage.getFirstResult(), keysetPage);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        windows.clear();
+    }
+
+    /**
+     * Returns the current time in milliseconds that is used to determine the expiration of cached entries.
+     *
+     * @return The current time in milliseconds
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private PageWindow getWindow(Object queryKey) {
+        PageWindow window = windows.get(queryKey);
+        if (window != null && window.expiresAt <= currentTimeMillis()) {
+            windows.remove(queryKey);
+            return null;
+        }
+        return window;
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class PageWindow {
+
+        private final long expiresAt;
+        private long totalSize = -1L;
+        private final Map<Integer, KeysetPage> pages;
+
+        public PageWindow(final int maxPages, long expiresAt) {
+            this.expiresAt = expiresAt;
+            this.pages = new LinkedHashMap<Integer, KeysetPage>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, KeysetPage> eldest) {
+                    return size() > maxPages;
+                }
+            };
+        }
+
+        public KeysetPage getKeysetPage(int firstResult, int maxResults) {
+            if (firstResult < 0) {
+                return null;
+            }
+            KeysetPage keysetPage = pages.get(firstResult);
+            if (keysetPage == null || keysetPage.getMaxResults() != maxResults) {
+                return null;
+            }
+            return keysetPage;
+        }
+    }
+}
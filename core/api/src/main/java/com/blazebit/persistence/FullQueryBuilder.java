@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence;
 
+import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.lang.reflect.Constructor;
 
@@ -51,6 +52,23 @@ public interface FullQueryBuilder<T, X extends FullQueryBuilder<T, X>> extends Q
      */
     public <Y> CriteriaBuilder<Y> copyCriteriaBuilder(Class<Y> resultClass, boolean copyOrderBy);
 
+    /**
+     * Copies this query builder into a new {@link CriteriaBuilder} that is bound to the given entity manager, using its projection as an overridable default.
+     *
+     * This is useful for caching a query builder beyond the lifetime of the entity manager it was created with.
+     * A copy created with a <code>null</code> entity manager is not bound to any entity manager.
+     * It can't be used to create or execute queries, but it can be copied onto an entity manager of the same entity manager factory with this method again.
+     * The copy shares no mutable state with this query builder, but copying the same query builder concurrently requires external synchronization.
+     *
+     * @param <Y> The type of the result class
+     * @param entityManager The entity manager to use for the new CriteriaBuilder or <code>null</code> to create a copy that is not bound to an entity manager
+     * @param resultClass The result class of the query
+     * @param copyOrderBy Whether the order by clause should be copied
+     * @return A new CriteriaBuilder
+     * @since 1.6.13
+     */
+    public <Y> CriteriaBuilder<Y> copyCriteriaBuilder(EntityManager entityManager, Class<Y> resultClass, boolean copyOrderBy);
+
     /**
      * Returns a query that counts the results that would be produced if the current query was run.
      *
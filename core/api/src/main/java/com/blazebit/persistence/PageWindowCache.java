@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence;
+
+/**
+ * A cache for the total sizes and key sets of recently visited pages of paginated queries.
+ * A cache is usually kept per user, i.e. in the user session, so that navigating to the next, previous or same page
+ * can skip the count query and use key set pagination even if the client did not provide the key set.
+ *
+ * The query key is an opaque object with proper <code>equals</code> and <code>hashCode</code> implementations
+ * that identifies the count query along with its parameter values.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ * @see PaginatedCriteriaBuilder#withPageWindowCache(PageWindowCache)
+ */
+public interface PageWindowCache {
+
+    /**
+     * Returns the cached total size for the query identified by the given query key or <code>-1</code> if unknown.
+     *
+     * @param queryKey The query key
+     * @return The cached total size or <code>-1</code>
+     */
+    public long getTotalSize(Object queryKey);
+
+    /**
+     * Returns a cached key set page of the query identified by the given query key,
+     * that can be used for key set pagination to the page at the given position, or <code>null</code>.
+     *
+     * @param queryKey The query key
+     * @param firstResult The position of the first result of the requested page
+     * @param maxResults The maximum number of results of the requested page
+     * @return The cached key set page or <code>null</code>
+     */
+    public KeysetPage getKeysetPage(Object queryKey, int firstResult, int maxResults);
+
+    /**
+     * Caches the total size and key set page of the given paged list for the query identified by the given query key.
+     *
+     * @param queryKey The query key
+     * @param pagedList The paged list
+     */
+    public void put(Object queryKey, PagedList<?> pagedList);
+
+    /**
+     * Removes all cached entries.
+     */
+    public void clear();
+}
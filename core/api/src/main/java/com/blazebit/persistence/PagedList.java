@@ -50,6 +50,15 @@ public interface PagedList<T> extends List<T> {
      */
     public long getTotalSize();
 
+    /**
+     * Returns whether the total size is just an estimate of the query planner of the DBMS rather than an exact count.
+     * This is only the case when requested via {@link PaginatedCriteriaBuilder#withEstimatedCount(boolean)} and the DBMS supports estimation.
+     *
+     * @return Whether the total size is an estimate
+     * @since 1.6.13
+     */
+    public boolean isTotalSizeEstimated();
+
     /**
      * Returns the number of this page, numbered from 1.
      * 
@@ -17,6 +17,7 @@
 package com.blazebit.persistence;
 
 import javax.persistence.TypedQuery;
+import java.util.concurrent.Executor;
 
 /**
  * A builder for paginated criteria queries.
@@ -135,6 +136,69 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
      */
     public long getBoundedCount();
 
+    /**
+     * Enables or disables the use of the row count estimate of the DBMS query planner instead of executing an exact count query.
+     * If the DBMS or JPA provider does not support estimating, or the query requires the count query for navigating to an entity,
+     * the exact count query is executed instead. Whether the total size is an estimate is reported by {@link PagedList#isTotalSizeEstimated()}.
+     *
+     * @param withEstimatedCount true to enable, false to disable the use of the row count estimate
+     * @return The query builder for chaining calls
+     * @since 1.6.13
+     */
+    public PaginatedCriteriaBuilder<T> withEstimatedCount(boolean withEstimatedCount);
+
+    /**
+     * Returns whether the use of the row count estimate is enabled or not.
+     *
+     * @return true when enabled, false otherwise
+     * @since 1.6.13
+     */
+    public boolean isWithEstimatedCount();
+
+    /**
+     * Sets the executor on which the count query should be executed concurrently to the page queries.
+     * The count query is then run through a separate entity manager, i.e. on a separate connection,
+     * so it will not see uncommitted changes of the current transaction.
+     * If the count query can't be executed by a separate entity manager, i.e. because it is required for navigating to an entity,
+     * it is executed sequentially as usual. Passing <code>null</code> disables the concurrent execution.
+     *
+     * @param executor the executor on which to execute the count query or <code>null</code>
+     * @return The query builder for chaining calls
+     * @since 1.6.13
+     */
+    public PaginatedCriteriaBuilder<T> withCountQueryExecutor(Executor executor);
+
+    /**
+     * Returns the executor on which the count query is executed concurrently or <code>null</code>.
+     *
+     * @return the executor on which the count query is executed concurrently or <code>null</code>
+     * @since 1.6.13
+     */
+    public Executor getCountQueryExecutor();
+
+    /**
+     * Sets the cache for total sizes and key sets of recently visited pages.
+     * When navigating to a page of the same query with the same parameter values, the cached total size is used instead of executing the count query,
+     * and if no usable key set page is given, the cached key set of an adjacent page is used for key set pagination.
+     * While a cache is set, the key sets of the result are extracted regardless of {@link #isKeysetExtraction()}.
+     * A cached key set page is only used for the query created by {@link #getQuery()} and does not alter the state of this builder.
+     * The cache key is made of the count query and the values of the parameters used by it, so parameter values should be set before creating the query.
+     * Passing <code>null</code> disables the cache.
+     *
+     * @param pageWindowCache the cache to use or <code>null</code>
+     * @return The query builder for chaining calls
+     * @since 1.6.13
+     */
+    public PaginatedCriteriaBuilder<T> withPageWindowCache(PageWindowCache pageWindowCache);
+
+    /**
+     * Returns the cache for total sizes and key sets of recently visited pages or <code>null</code>.
+     *
+     * @return the cache for total sizes and key sets of recently visited pages or <code>null</code>
+     * @since 1.6.13
+     */
+    public PageWindowCache getPageWindowCache();
+
     /**
      * Forces the use of an id query even if the pagination would not need it.
      *
@@ -37,6 +37,17 @@ public interface Queryable<T, X extends Queryable<T, X>> {
      */
     public String getQueryString();
 
+    /**
+     * Returns a fingerprint that identifies the shape of the built query.
+     * The fingerprint is independent of alias names, parameter names, parameter values and literal values,
+     * so it is suitable for aggregating metrics or as cache key for queries of the same shape.
+     *
+     * @return The query fingerprint
+     * @since 1.6.13
+     * @see ConfigurationProperties#QUERY_FINGERPRINT_COMMENT
+     */
+    public String getQueryFingerprint();
+
     /**
      * Returns the JPA typed query for the built query.
      * The returned query is already parameterized with all known parameters.
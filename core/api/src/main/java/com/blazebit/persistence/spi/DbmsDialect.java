@@ -475,4 +475,25 @@ public interface DbmsDialect {
      * @since 1.2.0
      */
     public ResultSet extractReturningResult(PreparedStatement ps) throws SQLException;
+
+    /**
+     * Returns the SQL statement that makes the dbms query planner report its statistics based estimate for the given SQL query,
+     * or <code>null</code> if row count estimation is not supported.
+     * The result of executing the returned SQL statement can be passed to {@link #extractEstimatedRowCount(ResultSet)}.
+     *
+     * @param sql The SQL query for which to estimate the row count
+     * @return The SQL statement for estimating the row count or <code>null</code> if not supported
+     * @since 1.6.13
+     */
+    public String getEstimatedRowCountSql(String sql);
+
+    /**
+     * Extracts the estimated row count from the result set of a statement as returned by {@link #getEstimatedRowCountSql(String)}.
+     *
+     * @param rs The result set of the estimation statement
+     * @return The estimated row count or <code>-1</code> if no estimate could be extracted
+     * @throws SQLException When reading the result set fails
+     * @since 1.6.13
+     */
+    public long extractEstimatedRowCount(ResultSet rs) throws SQLException;
 }
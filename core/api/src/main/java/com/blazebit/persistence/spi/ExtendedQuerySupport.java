@@ -192,6 +192,18 @@ public interface ExtendedQuerySupport {
      */
     public ReturningResult<Object[]> executeReturning(ServiceProvider serviceProvider, List<Query> participatingQueries, Query baseQuery, Query exampleQuery, String sqlOverride, boolean queryPlanCacheEnabled);
 
+    /**
+     * Returns the row count of the query as estimated by the query planner of the dbms, based on its statistics.
+     * This is usually way cheaper than executing a count query, but might be inaccurate.
+     *
+     * @param serviceProvider The service provider to access {@linkplain EntityManager} and others
+     * @param query The JPA query for which to estimate the row count
+     * @return The estimated row count or <code>-1</code> if estimating the row count is not supported
+     * @since 1.6.13
+     * @see DbmsDialect#getEstimatedRowCountSql(String)
+     */
+    public long getEstimatedRowCount(ServiceProvider serviceProvider, Query query);
+
     /**
      * Provides SQL information about a FROM element.
      *
@@ -628,6 +628,15 @@ public interface JpaProvider {
      */
     public void setCacheable(Query query);
 
+    /**
+     * Sets the given comment on the given query, so that it is rendered into the SQL if supported.
+     *
+     * @param query The query to set the comment on
+     * @param comment The comment
+     * @since 1.6.13
+     */
+    public void setComment(Query query, String comment);
+
     /**
      * Sets the given parameter as singular parameter on the given query.
      *
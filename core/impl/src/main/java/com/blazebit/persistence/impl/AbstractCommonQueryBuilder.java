@@ -75,6 +75,7 @@ import com.blazebit.persistence.impl.transform.SimpleTransformerGroup;
 import com.blazebit.persistence.impl.transform.SizeTransformationVisitor;
 import com.blazebit.persistence.impl.transform.SizeTransformerGroup;
 import com.blazebit.persistence.impl.transform.SubqueryRecursiveExpressionVisitor;
+import com.blazebit.persistence.impl.util.QueryFingerprintUtils;
 import com.blazebit.persistence.impl.util.SetView;
 import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.parser.AliasReplacementVisitor;
@@ -200,6 +201,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
     // Cache
     protected String cachedQueryString;
     protected String cachedExternalQueryString;
+    protected String cachedQueryFingerprint;
     protected ResolvedExpression[] cachedGroupByIdentifierExpressions;
     protected Set<JoinNode> keyRestrictedLeftJoins;
     protected boolean hasGroupBy = false;
@@ -2837,6 +2839,26 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         prepareAndCheck(null);
         return getExternalQueryString();
     }
+
+    public String getQueryFingerprint() {
+        if (cachedQueryFingerprint == null) {
+            cachedQueryFingerprint = QueryFingerprintUtils.getFingerprint(getQueryString());
+        }
+        return cachedQueryFingerprint;
+    }
+
+    protected void applyQueryFingerprintComment(Query query) {
+        if (mainQuery.getQueryConfiguration().isQueryFingerprintCommentEnabled()) {
+            mainQuery.jpaProvider.setComment(query, "fingerprint " + getQueryFingerprint());
+        }
+    }
+
+    protected void applyQueryFingerprintComment(Query query, String queryString) {
+        // Auxiliary queries like count or id queries have a different shape than the main query
+        if (mainQuery.getQueryConfiguration().isQueryFingerprintCommentEnabled()) {
+            mainQuery.jpaProvider.setComment(query, "fingerprint " + QueryFingerprintUtils.getFingerprint(queryString));
+        }
+    }
     
     protected String getBaseQueryStringWithCheck(StringBuilder lateralSb, JoinNode lateralJoinNode) {
         prepareAndCheck(null);
@@ -2869,6 +2891,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(query);
             }
+            applyQueryFingerprintComment(query);
 
             parameterManager.parameterizeQuery(query);
             return applyObjectBuilder(query);
@@ -2878,6 +2901,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         if (isCacheable()) {
             mainQuery.jpaProvider.setCacheable(baseQuery);
         }
+        applyQueryFingerprintComment(baseQuery);
         Set<String> parameterListNames = parameterManager.getParameterListNames(baseQuery);
         String limit = null;
         String offset = null;
@@ -3617,6 +3641,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         needsCheck = true;
         cachedQueryString = null;
         cachedExternalQueryString = null;
+        cachedQueryFingerprint = null;
         cachedGroupByIdentifierExpressions = null;
         keyRestrictedLeftJoins = null;
         implicitJoinsApplied = false;
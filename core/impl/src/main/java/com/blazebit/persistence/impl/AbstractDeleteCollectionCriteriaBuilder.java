@@ -132,7 +132,7 @@ public abstract class AbstractDeleteCollectionCriteriaBuilder<T, X extends BaseD
     @Override
     protected void buildBaseQueryString(StringBuilder sbSelectFrom, boolean externalRepresentation, JoinNode lateralJoinNode, boolean countWrapped) {
         JoinNode rootNode = joinManager.getRoots().get(0);
-        JoinTreeNode collectionTreeNode = rootNode.getNodes().get(collectionName);
+        JoinTreeNode collectionTreeNode = rootNode.getNode(collectionName);
         boolean hasOtherJoinNodes = joinManager.getRoots().size() > 1
                 || rootNode.getNodes().size() > 1
                 || !rootNode.getTreatedJoinNodes().isEmpty()
@@ -146,7 +146,7 @@ public abstract class AbstractDeleteCollectionCriteriaBuilder<T, X extends BaseD
             if (collectionAttribute.getJoinTable() == null) {
                 rootNode.getAliasInfo().setAlias(entityAlias);
             }
-            rootNode.getNodes().get(collectionName).getDefaultNode().getAliasInfo().setAlias(entityAlias + "." + collectionName);
+            rootNode.getNode(collectionName).getDefaultNode().getAliasInfo().setAlias(entityAlias + "." + collectionName);
             List<String> whereClauseConjuncts = new ArrayList<>();
             List<String> optionalWhereClauseConjuncts = new ArrayList<>();
             if (hasOtherJoinNodes) {
@@ -160,7 +160,7 @@ public abstract class AbstractDeleteCollectionCriteriaBuilder<T, X extends BaseD
             if (collectionAttribute.getJoinTable() == null) {
                 rootNode.getAliasInfo().setAlias(JoinManager.COLLECTION_DML_BASE_QUERY_ALIAS + "." + collectionAttribute.getMappedBy());
             }
-            rootNode.getNodes().get(collectionName).getDefaultNode().getAliasInfo().setAlias(JoinManager.COLLECTION_DML_BASE_QUERY_ALIAS);
+            rootNode.getNode(collectionName).getDefaultNode().getAliasInfo().setAlias(JoinManager.COLLECTION_DML_BASE_QUERY_ALIAS);
         } else if (collectionAttribute.getJoinTable() == null) {
             sbSelectFrom.append("DELETE FROM ");
             sbSelectFrom.append(((EntityType<?>) elementType).getName());
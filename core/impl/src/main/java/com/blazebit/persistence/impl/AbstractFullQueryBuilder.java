@@ -56,6 +56,7 @@ import com.blazebit.persistence.parser.util.TypeUtils;
 import com.blazebit.persistence.spi.AttributeAccessor;
 import com.blazebit.persistence.spi.JpaMetamodelAccessor;
 
+import javax.persistence.EntityManager;
 import javax.persistence.Parameter;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
@@ -151,11 +152,16 @@ public abstract class AbstractFullQueryBuilder<T, X extends FullQueryBuilder<T,
 
     @Override
     public <Y> CriteriaBuilderImpl<Y> copyCriteriaBuilder(Class<Y> resultClass, boolean copyOrderBy) {
+        return copyCriteriaBuilder(getEntityManager(), resultClass, copyOrderBy);
+    }
+
+    @Override
+    public <Y> CriteriaBuilderImpl<Y> copyCriteriaBuilder(EntityManager entityManager, Class<Y> resultClass, boolean copyOrderBy) {
         if (createdPaginatedBuilder) {
             throw new IllegalStateException("Calling copy() on a CriteriaBuilder that was transformed to a PaginatedCriteriaBuilder is not allowed.");
         }
         prepareAndCheck(null);
-        MainQuery mainQuery = cbf.createMainQuery(getEntityManager());
+        MainQuery mainQuery = cbf.createMainQuery(entityManager);
         mainQuery.copyConfiguration(this.mainQuery.getQueryConfiguration());
         CriteriaBuilderImpl<Y> newBuilder = new CriteriaBuilderImpl<Y>(mainQuery, true, resultClass, null);
         newBuilder.fromClassExplicitlySet = true;
@@ -665,6 +671,7 @@ public abstract class AbstractFullQueryBuilder<T, X extends FullQueryBuilder<T,
                 if (isCacheable()) {
                     mainQuery.jpaProvider.setCacheable(countQuery);
                 }
+                applyQueryFingerprintComment(countQuery, countQueryString);
                 parameterManager.parameterizeQuery(countQuery);
                 return parameterManager.getCriteriaNameMapping() == null ? countQuery : new TypedQueryWrapper<>(countQuery, parameterManager.getCriteriaNameMapping());
             }
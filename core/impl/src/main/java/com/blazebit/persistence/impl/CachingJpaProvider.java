@@ -409,6 +409,11 @@ public final class CachingJpaProvider implements JpaProvider {
         jpaProvider.setCacheable(query);
     }
 
+    @Override
+    public void setComment(Query query, String comment) {
+        jpaProvider.setComment(query, comment);
+    }
+
     @Override
     public void setSingularParameter(Query query, String name, Object value) {
         jpaProvider.setSingularParameter(query, name, value);
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.impl.query.TypedQueryWrapper;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Parameter;
+import javax.persistence.PersistenceException;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Executes a JPQL count query through a separate entity manager on an executor so that it can run concurrently to the page queries.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public final class ConcurrentCountQuery {
+
+    private final Executor executor;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String countQueryString;
+
+    public ConcurrentCountQuery(Executor executor, EntityManagerFactory entityManagerFactory, String countQueryString) {
+        this.executor = executor;
+        this.entityManagerFactory = entityManagerFactory;
+        this.countQueryString = countQueryString;
+    }
+
+    /**
+     * Submits the count query with the parameter values currently bound to the given count query.
+     *
+     * @param countQuery The count query of the current entity manager from which to take the parameter values
+     * @return The future for the count
+     */
+    public Future<Long> submit(TypedQuery<?> countQuery) {
+        Query query = countQuery;
+        if (query instanceof TypedQueryWrapper<?>) {
+            query = ((TypedQueryWrapper<?>) query).getDelegate();
+        }
+        // Capture the values in the calling thread as the query object is not thread safe
+        List<Object[]> parameterValues = new ArrayList<>(query.getParameters().size());
+        for (Parameter<?> parameter : query.getParameters()) {
+            if (query.isBound(parameter)) {
+                parameterValues.add(new Object[]{ parameter.getName() == null ? parameter.getPosition() : parameter.getName(), query.getParameterValue(parameter) });
+            }
+        }
+        FutureTask<Long> task = new FutureTask<>(new CountQueryTask(entityManagerFactory, countQueryString, parameterValues));
+        executor.execute(task);
+        return task;
+    }
+
+    /**
+     * Waits for the count of the given future and unwraps failures of the count query.
+     *
+     * @param future The future as returned by {@link #submit(TypedQuery)}
+     * @return The count
+     */
+    public static long await(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PersistenceException("Interrupted while waiting for the count query", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new PersistenceException("The count query failed", cause);
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class CountQueryTask implements Callable<Long> {
+
+        private final EntityManagerFactory entityManagerFactory;
+        private final String countQueryString;
+        private final List<Object[]> parameterValues;
+
+        public CountQueryTask(EntityManagerFactory entityManagerFactory, String countQueryString, List<Object[]> parameterValues) {
+            this.entityManagerFactory = entityManagerFactory;
+            this.countQueryString = countQueryString;
+            this.parameterValues = parameterValues;
+        }
+
+        @Override
+        public Long call() {
+            EntityManager em = entityManagerFactory.createEntityManager();
+            try {
+                TypedQuery<Long> query = em.createQuery(countQueryString, Long.class);
+                for (Object[] parameterValue : parameterValues) {
+                    if (parameterValue[0] instanceof String) {
+                        query.setParameter((String) parameterValue[0], parameterValue[1]);
+                    } else {
+                        query.setParameter((Integer) parameterValue[0], parameterValue[1]);
+                    }
+                }
+                return query.getSingleResult();
+            } finally {
+                em.close();
+            }
+        }
+    }
+}
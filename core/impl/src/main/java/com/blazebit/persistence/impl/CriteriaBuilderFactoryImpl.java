@@ -75,6 +75,7 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
     private final Map<String, String> registeredFunctionNames;
     private final JpaProviderFactory configuredJpaProviderFactory;
     private final JpaProvider jpaProvider;
+    private final LiteralCardinalityTracker literalCardinalityTracker = new LiteralCardinalityTracker();
 
     public CriteriaBuilderFactoryImpl(CriteriaBuilderConfigurationImpl config, EntityManagerFactory entityManagerFactory) {
         List<EntityManagerFactoryIntegrator> integrators = config.getEntityManagerIntegrators();
@@ -196,6 +197,10 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         return queryConfiguration;
     }
 
+    public LiteralCardinalityTracker getLiteralCardinalityTracker() {
+        return literalCardinalityTracker;
+    }
+
     public EntityMetamodelImpl getMetamodel() {
         return metamodel;
     }
@@ -319,7 +319,7 @@ public class ExpressionUtils {
                 if (JpaMetamodelUtils.isNullable(firstNonEmbeddableAttribute)) {
                     String associationName = expr.getField().substring(0, dotIndex - 1);
                     // Finally check if the association might have been inner joined
-                    JoinTreeNode associationNode = baseNode.getNodes().get(associationName);
+                    JoinTreeNode associationNode = baseNode.getNode(associationName);
                     if (associationNode == null || associationNode.getDefaultNode().getJoinType() != JoinType.INNER) {
                         return true;
                     }
@@ -40,11 +40,14 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
     private final boolean implicitGroupByFromOrderByEnabled;
     private final boolean valuesClauseFilterNullsEnabled;
     private final boolean parameterAsLiteralRenderingEnabled;
+    private final int parameterAsLiteralRenderingCardinalityLimit;
     private final boolean optimizedKeysetPredicateRenderingEnabled;
     private final Boolean inlineIdQuery;
     private final Boolean inlineCountQuery;
     private final Boolean inlineCtes;
     private final boolean queryPlanCacheEnabled;
+    private final boolean queryFingerprintCommentEnabled;
+    private final boolean unusedJoinPruningEnabled;
 
     public ImmutableQueryConfiguration(Map<String, String> properties) {
         this.compatibleModeEnabled = PropertyUtils.getAsBooleanProperty(properties, ConfigurationProperties.COMPATIBLE_MODE, false);
@@ -58,6 +61,7 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         this.implicitGroupByFromOrderByEnabled =            getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY,     "true");
         this.valuesClauseFilterNullsEnabled =               getBooleanProperty(properties, ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS,          "true");
         this.parameterAsLiteralRenderingEnabled =           getBooleanProperty(properties, ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING,      "true");
+        this.parameterAsLiteralRenderingCardinalityLimit =  getIntProperty(properties, ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT, "0");
         this.optimizedKeysetPredicateRenderingEnabled =     getBooleanProperty(properties, ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING,"true");
         String inlineIdQuery =                              getProperty(properties, ConfigurationProperties.INLINE_ID_QUERY,                            "auto");
         String inlineCountQuery =                           getProperty(properties, ConfigurationProperties.INLINE_COUNT_QUERY,                         "auto");
@@ -66,6 +70,8 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         this.inlineCountQuery = "auto".equalsIgnoreCase(inlineCountQuery) ? null : Boolean.parseBoolean(inlineCountQuery);
         this.inlineCtes = "auto".equalsIgnoreCase(inlineCtes) ? null : Boolean.parseBoolean(inlineCtes);
         this.queryPlanCacheEnabled =                        getBooleanProperty(properties, ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED,            "true");
+        this.queryFingerprintCommentEnabled =               getBooleanProperty(properties, ConfigurationProperties.QUERY_FINGERPRINT_COMMENT,           "false");
+        this.unusedJoinPruningEnabled =                     getBooleanProperty(properties, ConfigurationProperties.UNUSED_JOIN_PRUNING,                 "false");
     }
 
     @Override
@@ -118,6 +124,11 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return parameterAsLiteralRenderingEnabled;
     }
 
+    @Override
+    public int getParameterAsLiteralRenderingCardinalityLimit() {
+        return parameterAsLiteralRenderingCardinalityLimit;
+    }
+
     @Override
     public boolean isOptimizedKeysetPredicateRenderingEnabled() {
         return optimizedKeysetPredicateRenderingEnabled;
@@ -153,6 +164,16 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return queryPlanCacheEnabled;
     }
 
+    @Override
+    public boolean isQueryFingerprintCommentEnabled() {
+        return queryFingerprintCommentEnabled;
+    }
+
+    @Override
+    public boolean isUnusedJoinPruningEnabled() {
+        return unusedJoinPruningEnabled;
+    }
+
     @Override
     public String getProperty(String name) {
         switch (name) {
@@ -166,11 +187,14 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
             case ConfigurationProperties.EXPRESSION_CACHE_CLASS: return expressionCacheClass;
             case ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS: return Boolean.toString(valuesClauseFilterNullsEnabled);
             case ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING: return Boolean.toString(parameterAsLiteralRenderingEnabled);
+            case ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT: return Integer.toString(parameterAsLiteralRenderingCardinalityLimit);
             case ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING: return Boolean.toString(optimizedKeysetPredicateRenderingEnabled);
             case ConfigurationProperties.INLINE_ID_QUERY: return inlineIdQuery == null ? "auto" : Boolean.toString(inlineIdQuery);
             case ConfigurationProperties.INLINE_COUNT_QUERY: return inlineIdQuery == null ? "auto" : Boolean.toString(inlineIdQuery);
             case ConfigurationProperties.INLINE_CTES: return inlineCtes == null ? "auto" : Boolean.toString(inlineCtes);
             case ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED: return Boolean.toString(queryPlanCacheEnabled);
+            case ConfigurationProperties.QUERY_FINGERPRINT_COMMENT: return Boolean.toString(queryFingerprintCommentEnabled);
+            case ConfigurationProperties.UNUSED_JOIN_PRUNING: return Boolean.toString(unusedJoinPruningEnabled);
             default: return null;
         }
     }
@@ -188,11 +212,14 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         properties.put(ConfigurationProperties.EXPRESSION_CACHE_CLASS, expressionCacheClass);
         properties.put(ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS, Boolean.toString(valuesClauseFilterNullsEnabled));
         properties.put(ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING, Boolean.toString(parameterAsLiteralRenderingEnabled));
+        properties.put(ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT, Integer.toString(parameterAsLiteralRenderingCardinalityLimit));
         properties.put(ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING, Boolean.toString(optimizedKeysetPredicateRenderingEnabled));
         properties.put(ConfigurationProperties.INLINE_ID_QUERY, getInlineIdQueryEnabled() == null ? "auto" : Boolean.toString(getInlineIdQueryEnabled()));
         properties.put(ConfigurationProperties.INLINE_COUNT_QUERY, getInlineCountQueryEnabled() == null ? "auto" : Boolean.toString(getInlineCountQueryEnabled()));
         properties.put(ConfigurationProperties.INLINE_CTES, getInlineCtesEnabled() == null ? "auto" : Boolean.toString(getInlineCtesEnabled()));
         properties.put(ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED, Boolean.toString(queryPlanCacheEnabled));
+        properties.put(ConfigurationProperties.QUERY_FINGERPRINT_COMMENT, Boolean.toString(queryFingerprintCommentEnabled));
+        properties.put(ConfigurationProperties.UNUSED_JOIN_PRUNING, Boolean.toString(unusedJoinPruningEnabled));
         return properties;
     }
 
@@ -212,6 +239,19 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return Boolean.parseBoolean(getProperty(properties, propertyName, defaultValue));
     }
 
+    private int getIntProperty(Map<String, String> properties, String propertyName, String defaultValue) {
+        String value = getProperty(properties, propertyName, defaultValue);
+        try {
+            int intValue = Integer.parseInt(value);
+            if (intValue >= 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException ex) {
+            // Fall through
+        }
+        throw new IllegalArgumentException("Illegal value '" + value + "' for non-negative integer property '" + propertyName + "'");
+    }
+
     private String getProperty(Map<String, String> properties, String propertyName, String defaultValue) {
         String value = properties.get(propertyName);
         if (value == null) {
@@ -135,6 +135,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
     private final Set<JoinNode> collectionJoinNodes = Collections.newSetFromMap(new IdentityHashMap<JoinNode, Boolean>());
     private final Set<JoinNode> renderedJoins = Collections.newSetFromMap(new IdentityHashMap<JoinNode, Boolean>());
     private final Set<JoinNode> markedJoinNodes = Collections.newSetFromMap(new IdentityHashMap<JoinNode, Boolean>());
+    private final Set<JoinNode> prunedJoinNodes = Collections.newSetFromMap(new IdentityHashMap<JoinNode, Boolean>());
     private final StringBuilder tempSb = new StringBuilder();
 
     // Setting to force entity joins being rendered as cross joins. Needed for recursive CTEs with DB2..
@@ -204,7 +205,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
             JoinNode treatedNode = entry.getValue();
             JoinNode joinNode = applyFrom(nodeMapping, rootNode, null, treatedNode.getAlias(), treatedNode, clauseExclusions, alwaysIncludedNodes, copyContext);
             if (joinNode != null) {
-                rootNode.getTreatedJoinNodes().put(treatedNode.getTreatType().getName(), joinNode);
+                rootNode.addTreatedJoinNode(treatedNode.getTreatType().getName(), joinNode);
             }
         }
 
@@ -264,7 +265,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
             }
             JoinNode joinNode = applyFrom(nodeMapping, node, subTreeNode, treatedNode.getAlias(), treatedNode, clauseExclusions, alwaysIncludedNodes, copyContext);
             if (joinNode != null) {
-                node.getTreatedJoinNodes().put(entry.getKey(), joinNode);
+                node.addTreatedJoinNode(entry.getKey(), joinNode);
             }
         }
 
@@ -309,14 +310,20 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
     }
 
     private static void removeSelectOnlyNodes(Set<JoinNode> candidateNodes, JoinNode node, List<JoinNode> removedJoinNodes) {
-        Iterator<JoinTreeNode> iterator = node.getNodes().values().iterator();
-        while (iterator.hasNext()) {
-            JoinTreeNode joinTreeNode = iterator.next();
-
+        List<String> emptyTreeNodes = null;
+        for (JoinTreeNode joinTreeNode : node.getNodes().values()) {
             removeSelectOnlyNodes(candidateNodes, joinTreeNode.getJoinNodes().values().iterator(), removedJoinNodes);
 
             if (joinTreeNode.getJoinNodes().isEmpty()) {
-                iterator.remove();
+                if (emptyTreeNodes == null) {
+                    emptyTreeNodes = new ArrayList<>();
+                }
+                emptyTreeNodes.add(joinTreeNode.getRelationName());
+            }
+        }
+        if (emptyTreeNodes != null) {
+            for (String relationName : emptyTreeNodes) {
+                node.removeNode(relationName);
             }
         }
 
@@ -711,7 +718,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
             // This is a simple path to an association, no deep expression that requires implicit joining
             JoinNode matchingNode = null;
             if (implicitCorrelation) {
-                JoinTreeNode existingNode = correlationParent.getNodes().get(correlatedAttribute);
+                JoinTreeNode existingNode = correlationParent.getNode(correlatedAttribute);
                 if (existingNode != null && existingNode.getDefaultNode() != null) {
                     matchingNode = existingNode.getDefaultNode();
                 }
@@ -750,7 +757,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
             }
             if (matchingNode == null) {
                 // This is a simple path to an association, no deep expression that requires implicit joining
-                JoinTreeNode existingNode = correlationParent.getNodes().get(correlatedAttribute);
+                JoinTreeNode existingNode = correlationParent.getNode(correlatedAttribute);
                 if (!implicitCorrelation || existingNode == null || existingNode.getDefaultNode() == null) {
                     if (isSingleValuedAssociationId(correlationParent, currentPathExpression, start)) {
                         return correlationParent.getAliasExpression() + "." + new PathExpression(pathElements.subList(start, pathElements.size()));
@@ -786,7 +793,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
                             result = implicitJoin(treatedNode, currentPathExpression, null, implicitCorrelation ? JoinType.LEFT : JoinType.INNER, null, new HashSet<String>(), start + 1, pathElements.size(), true, true, true, false);
                             start = pathElements.size();
                         } else {
-                            JoinTreeNode existingNode = correlationParent.getNodes().get(((PropertyExpression) pathElementExpression).getProperty());
+                            JoinTreeNode existingNode = correlationParent.getNode(((PropertyExpression) pathElementExpression).getProperty());
                             if (existingNode == null || existingNode.getDefaultNode() == null) {
                                 break;
                             }
@@ -1406,6 +1413,10 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         final boolean renderFetches = !clauseExclusions.contains(ClauseType.SELECT);
         collectionJoinNodes.clear();
         renderedJoins.clear();
+        prunedJoinNodes.clear();
+        if (virtualRootNode == null && mainQuery.getQueryConfiguration().isUnusedJoinPruningEnabled()) {
+            collectPrunedJoinNodes(renderFetches ? nodesToFetch : Collections.<JoinNode>emptySet(), alwaysIncludedNodes);
+        }
         if (renderFrom) {
             sb.append(" FROM ");
         }
@@ -1592,16 +1603,16 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
                     placeholderRequiringNodes.add(node);
                 }
                 if (!node.getNodes().isEmpty()) {
-                    addDefaultJoins(stack, node.getNodes().descendingMap());
+                    addDefaultJoins(stack, node.getNodesDescending());
                 }
                 if (renderTreatedJoinNodes) {
-                    for (JoinNode joinNode : node.getTreatedJoinNodes().descendingMap().values()) {
+                    for (JoinNode joinNode : node.getTreatedJoinNodesDescending().values()) {
                         stack.add(joinNode);
                     }
                 } else {
                     for (JoinNode treatedNode : node.getTreatedJoinNodes().values()) {
                         if (!treatedNode.getNodes().isEmpty()) {
-                            addDefaultJoins(stack, treatedNode.getNodes().descendingMap());
+                            addDefaultJoins(stack, treatedNode.getNodesDescending());
                         }
                     }
                 }
@@ -2256,6 +2267,47 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         return true;
     }
 
+    private void collectPrunedJoinNodes(Set<JoinNode> nodesToFetch, Set<JoinNode> alwaysIncludedNodes) {
+        final Set<JoinNode> dependencyNodes = Collections.newSetFromMap(new IdentityHashMap<JoinNode, Boolean>());
+        acceptVisitor(new JoinNodeVisitor() {
+            @Override
+            public void visit(JoinNode node) {
+                dependencyNodes.addAll(node.getDependencies());
+            }
+        });
+        List<JoinNode> nodes = rootNodes;
+        int size = nodes.size();
+        for (int i = 0; i < size; i++) {
+            collectPrunedJoinNodes(nodes.get(i), nodesToFetch, alwaysIncludedNodes, dependencyNodes);
+        }
+    }
+
+    private boolean collectPrunedJoinNodes(JoinNode node, Set<JoinNode> nodesToFetch, Set<JoinNode> alwaysIncludedNodes, Set<JoinNode> dependencyNodes) {
+        // A join node can only be pruned if all of its child nodes can be pruned as well
+        boolean prunable = node.getEntityJoinNodes().isEmpty() && node.getTreatedJoinNodes().isEmpty();
+        for (JoinTreeNode treeNode : node.getNodes().values()) {
+            for (JoinNode childNode : treeNode.getJoinNodes().values()) {
+                prunable = collectPrunedJoinNodes(childNode, nodesToFetch, alwaysIncludedNodes, dependencyNodes) && prunable;
+            }
+        }
+        for (JoinNode entityJoinNode : node.getEntityJoinNodes()) {
+            collectPrunedJoinNodes(entityJoinNode, nodesToFetch, alwaysIncludedNodes, dependencyNodes);
+        }
+        for (JoinNode treatedNode : node.getTreatedJoinNodes().values()) {
+            collectPrunedJoinNodes(treatedNode, nodesToFetch, alwaysIncludedNodes, dependencyNodes);
+        }
+
+        // Only left joins of single valued associations without a condition are pruned, as these retain the cardinality of the parent
+        if (prunable && node.getJoinType() == JoinType.LEFT && node.getParentTreeNode() != null && !node.getParentTreeNode().isCollection()
+                && node.getTreatType() == null && node.getQualificationExpression() == null && node.getOnPredicate() == null && !node.isInlineCte()
+                && node.getClauseDependencies().isEmpty() && !node.isCardinalityMandatory() && !nodesToFetch.contains(node)
+                && !alwaysIncludedNodes.contains(node) && !dependencyNodes.contains(node)) {
+            prunedJoinNodes.add(node);
+            return true;
+        }
+        return false;
+    }
+
     private void addDefaultJoins(List<JoinNode> stack, Map<String, JoinTreeNode> nodes) {
         for (Map.Entry<String, JoinTreeNode> nodeEntry : nodes.entrySet()) {
             JoinTreeNode treeNode = nodeEntry.getValue();
@@ -2274,6 +2326,10 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         if (!clauseExclusions.isEmpty() && clauseExclusions.containsAll(node.getClauseDependencies()) && (ignoreCardinality || !node.isCardinalityMandatory()) && !alwaysIncludedNodes.contains(node)) {
             return;
         }
+        // Unused left joins of single valued associations don't affect the result, so we skip them
+        if (prunedJoinNodes.contains(node)) {
+            return;
+        }
 
         // We have to render any dependencies this join node has before actually rendering itself
         // Non-Default join nodes are rendered in insertion order but their dependencies doesn't include the parent,
@@ -2299,7 +2355,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
 
         // Add child nodes
         if (!node.getNodes().isEmpty()) {
-            addDefaultJoins(stack, node.getNodes().descendingMap());
+            addDefaultJoins(stack, node.getNodesDescending());
         }
     }
 
@@ -2447,7 +2503,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
 
             for (int i = 1; i < pathElementExpressions.size(); i++) {
                 String relationName = pathElementExpressions.get(i).toString();
-                JoinTreeNode treeNode = baseNode.getNodes().get(relationName);
+                JoinTreeNode treeNode = baseNode.getNode(relationName);
                 if (treeNode == null) {
                     break;
                 }
@@ -2841,7 +2897,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
                         if (current == null) {
                             current = getRootNodeOrFail("Could not join path [", expression, "] because it did not use an absolute path but multiple root nodes are available!");
                         }
-                        treeNode = current.getNodes().get(associationName);
+                        treeNode = current.getNode(associationName);
 
                         if (reuseExisting && treeNode != null && treeNode.getDefaultNode() != null) {
                             if (elementExpr != null) {
@@ -3030,7 +3086,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         @Override
         public JoinNode getBaseNode() {
             if (joinAllowed) {
-                JoinTreeNode subNode = baseNode.getNodes().get(field);
+                JoinTreeNode subNode = baseNode.getNode(field);
                 if (subNode != null && subNode.getDefaultNode() != null) {
                     return subNode.getDefaultNode();
                 }
@@ -3042,7 +3098,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
         @Override
         public String getField() {
             if (joinAllowed) {
-                JoinTreeNode subNode = baseNode.getNodes().get(field);
+                JoinTreeNode subNode = baseNode.getNode(field);
                 if (subNode != null && subNode.getDefaultNode() != null) {
                     return null;
                 }
@@ -3775,7 +3831,7 @@ public class JoinManager extends AbstractManager<ExpressionModifier> {
                     }
                 }
             } else {
-                JoinTreeNode treeNode = baseNode.getNodes().get(joinRelationName);
+                JoinTreeNode treeNode = baseNode.getNode(joinRelationName);
 
                 if (treeNode == null) {
                     return null;
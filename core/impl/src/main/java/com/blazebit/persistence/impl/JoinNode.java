@@ -47,12 +47,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
 
 /**
@@ -93,6 +95,11 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
 
     private final NavigableMap<String, JoinTreeNode> nodes = new TreeMap<>(); // Use TreeMap so that joins get applied alphabetically for easier testing
     private final NavigableMap<String, JoinNode> treatedJoinNodes = new TreeMap<>();
+    // Hashed indexes of the ordered maps, used for the lookups during path resolution
+    private final Map<String, JoinTreeNode> nodeIndex = new HashMap<>();
+    private final Map<String, JoinNode> treatedJoinNodeIndex = new HashMap<>();
+    private final SortedMap<String, JoinTreeNode> unmodifiableNodes = Collections.unmodifiableSortedMap(nodes);
+    private final SortedMap<String, JoinNode> unmodifiableTreatedJoinNodes = Collections.unmodifiableSortedMap(treatedJoinNodes);
     private final Set<JoinNode> entityJoinNodes = new LinkedHashSet<>();
 
     // contains other join nodes which this node depends on
@@ -486,7 +493,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
             return this;
         }
         String typeName = type.getJavaType().getName();
-        JoinNode treatedNode = treatedJoinNodes.get(typeName);
+        JoinNode treatedNode = treatedJoinNodeIndex.get(typeName);
         if (treatedNode != null) {
             return treatedNode;
         }
@@ -499,7 +506,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         predicates.add(new EqPredicate(createExpression(null), treatedNode.createExpression(null)));
         treatedNode.onPredicate = new CompoundPredicate(CompoundPredicate.BooleanOperator.AND, predicates);
         treatedJoinAliasInfo.setJoinNode(treatedNode);
-        treatedJoinNodes.put(typeName, treatedNode);
+        addTreatedJoinNode(typeName, treatedNode);
         return treatedNode;
     }
 
@@ -604,12 +611,34 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
         return !nodes.isEmpty() || !treatedJoinNodes.isEmpty() || !entityJoinNodes.isEmpty();
     }
 
-    public NavigableMap<String, JoinTreeNode> getNodes() {
-        return nodes;
+    public SortedMap<String, JoinTreeNode> getNodes() {
+        return unmodifiableNodes;
+    }
+
+    public Map<String, JoinTreeNode> getNodesDescending() {
+        return Collections.unmodifiableMap(nodes.descendingMap());
+    }
+
+    public JoinTreeNode getNode(String joinRelationName) {
+        return nodeIndex.get(joinRelationName);
+    }
+
+    public JoinTreeNode removeNode(String joinRelationName) {
+        nodes.remove(joinRelationName);
+        return nodeIndex.remove(joinRelationName);
+    }
+
+    public SortedMap<String, JoinNode> getTreatedJoinNodes() {
+        return unmodifiableTreatedJoinNodes;
     }
 
-    public NavigableMap<String, JoinNode> getTreatedJoinNodes() {
-        return treatedJoinNodes;
+    public Map<String, JoinNode> getTreatedJoinNodesDescending() {
+        return Collections.unmodifiableMap(treatedJoinNodes.descendingMap());
+    }
+
+    public void addTreatedJoinNode(String typeName, JoinNode treatedNode) {
+        treatedJoinNodes.put(typeName, treatedNode);
+        treatedJoinNodeIndex.put(typeName, treatedNode);
     }
 
     public JoinNode getKeyJoinNode() {
@@ -618,11 +647,12 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
     }
 
     public JoinTreeNode getOrCreateTreeNode(String joinRelationName, Attribute<?, ?> attribute) {
-        JoinTreeNode node = nodes.get(joinRelationName);
+        JoinTreeNode node = nodeIndex.get(joinRelationName);
 
         if (node == null) {
             node = new JoinTreeNode(joinRelationName, attribute);
             nodes.put(joinRelationName, node);
+            nodeIndex.put(joinRelationName, node);
         }
 
         return node;
@@ -630,7 +660,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
 
     public JoinNode getDefaultJoin(List<PathElementExpression> pathElements, int start, int end) {
         PathElementExpression pathElementExpression = pathElements.get(start);
-        JoinTreeNode node = nodes.get(pathElementExpression.toString());
+        JoinTreeNode node = nodeIndex.get(pathElementExpression.toString());
         if (node != null) {
             return node.getDefaultNode();
         }
@@ -639,7 +669,7 @@ public class JoinNode implements From, ExpressionModifier, BaseNode {
     }
 
     public boolean hasDefaultJoin(String joinRelationName) {
-        JoinTreeNode node = nodes.get(joinRelationName);
+        JoinTreeNode node = nodeIndex.get(joinRelationName);
         return node != null && node.getDefaultNode() != null;
     }
 
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tracks the distinct values that were rendered as literals for the parameters of a query shape.
+ * Parameters that exceed the configured cardinality limit are rendered as parameters from then on,
+ * so that the JPA provider and the database don't have to create a new query plan for every value.
+ *
+ * Rendering a query string only reads the tracked values. The values are recorded when a query is built for execution,
+ * so that rendering the external query string e.g. for logging doesn't influence other queries.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ * @see com.blazebit.persistence.ConfigurationProperties#PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT
+ */
+public final class LiteralCardinalityTracker {
+
+    private static final int MAX_TRACKED_PARAMETERS = 4096;
+
+    private final ConcurrentMap<Object, ParameterCardinality> parameters = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a scope for rendering the parameters of the given query shape.
+     *
+     * @param queryShape An object identifying the query shape
+     * @param cardinalityLimit The maximum number of distinct values to render as literals per parameter
+     * @param decisions The literal rendering decisions of the query builder that are reused by every build of the query builder
+     * @param record Whether the rendered values should be recorded because the query is built for execution
+     * @return The scope
+     */
+    public Scope scope(Object queryShape, int cardinalityLimit, Map<Object, Boolean> decisions, boolean record) {
+        return new Scope(queryShape, cardinalityLimit, decisions, record);
+    }
+
+    private boolean isLiteralRenderingAllowed(Object key, Object value, int cardinalityLimit) {
+        ParameterCardinality cardinality = parameters.get(key);
+        return cardinality == null || cardinality.isLiteralRenderingAllowed(value, cardinalityLimit);
+    }
+
+    private void record(Object key, Object value, int cardinalityLimit) {
+        ParameterCardinality cardinality = parameters.get(key);
+        if (cardinality == null) {
+            if (parameters.size() >= MAX_TRACKED_PARAMETERS) {
+                // Don't grow unbounded, just keep the default behavior for parameters we can't track anymore
+                return;
+            }
+            cardinality = new ParameterCardinality();
+            ParameterCardinality existing = parameters.putIfAbsent(key, cardinality);
+            if (existing != null) {
+                cardinality = existing;
+            }
+        }
+        cardinality.add(value, cardinalityLimit);
+    }
+
+    /**
+     * The literal rendering scope for a query shape.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    public final class Scope {
+
+        private final Object queryShape;
+        private final int cardinalityLimit;
+        private final Map<Object, Boolean> decisions;
+        private final boolean record;
+
+        private Scope(Object queryShape, int cardinalityLimit, Map<Object, Boolean> decisions, boolean record) {
+            this.queryShape = queryShape;
+            this.cardinalityLimit = cardinalityLimit;
+            this.decisions = decisions;
+            this.record = record;
+        }
+
+        /**
+         * Returns whether the value for the given parameter may be rendered as literal and records the value if this scope records values.
+         *
+         * @param parameterName The parameter name
+         * @param value The parameter value
+         * @return Whether the value may be rendered as literal
+         */
+        public boolean isLiteralRenderingAllowed(String parameterName, Object value) {
+            // Values of small domains are always rendered as literals as that enables partition pruning and the use of partial indexes
+            if (value instanceof Enum<?> || value instanceof Boolean) {
+                return true;
+            }
+            Object key = Arrays.asList(queryShape, parameterName);
+            // The decision is made once per query builder, so that the external query string matches the executed query
+            Object decisionKey = Arrays.asList(key, value);
+            Boolean allowed = decisions.get(decisionKey);
+            if (allowed == null) {
+                allowed = LiteralCardinalityTracker.this.isLiteralRenderingAllowed(key, value, cardinalityLimit);
+                decisions.put(decisionKey, allowed);
+            }
+            if (record) {
+                record(key, value, cardinalityLimit);
+            }
+            return allowed;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class ParameterCardinality {
+
+        private Set<Object> values = new HashSet<>();
+
+        public synchronized boolean isLiteralRenderingAllowed(Object value, int cardinalityLimit) {
+            return values != null && (values.size() < cardinalityLimit || values.contains(value));
+        }
+
+        public synchronized void add(Object value, int cardinalityLimit) {
+            if (values != null && values.add(value) && values.size() > cardinalityLimit) {
+                // Once the limit is exceeded, the parameter is always rendered as parameter, so we can drop the values
+                values = null;
+            }
+        }
+    }
+}
@@ -96,12 +96,14 @@ public class MainQuery {
 
     void copyConfiguration(QueryConfiguration configuration) {
         if (configuration instanceof MutableQueryConfiguration) {
-            queryConfiguration = new MutableQueryConfiguration(configuration);
+            // The configuration is shared with the copy until one of the queries alters it
+            ((MutableQueryConfiguration) configuration).markShared();
+            queryConfiguration = configuration;
         }
     }
 
     public QueryConfiguration getMutableQueryConfiguration() {
-        if (!(queryConfiguration instanceof MutableQueryConfiguration)) {
+        if (!(queryConfiguration instanceof MutableQueryConfiguration) || ((MutableQueryConfiguration) queryConfiguration).isShared()) {
             queryConfiguration = new MutableQueryConfiguration(queryConfiguration);
         }
 
@@ -38,12 +38,17 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
     private boolean implicitGroupByFromOrderByEnabled;
     private boolean valuesClauseFilterNullsEnabled;
     private boolean parameterAsLiteralRenderingEnabled;
+    private int parameterAsLiteralRenderingCardinalityLimit;
     private boolean optimizedKeysetPredicateRenderingEnabled;
     private boolean cacheable;
     private Boolean inlineIdQuery;
     private Boolean inlineCountQuery;
     private Boolean inlineCtes;
     private boolean queryPlanCacheEnabled;
+    private boolean queryFingerprintCommentEnabled;
+    private boolean unusedJoinPruningEnabled;
+    // A configuration that is shared by multiple queries is copied by a query before altering it
+    private boolean shared;
 
     public MutableQueryConfiguration(QueryConfiguration queryConfiguration) {
         this.compatibleModeEnabled = queryConfiguration.isCompatibleModeEnabled();
@@ -56,11 +61,23 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         this.implicitGroupByFromOrderByEnabled = queryConfiguration.isImplicitGroupByFromOrderByEnabled();
         this.valuesClauseFilterNullsEnabled = queryConfiguration.isValuesClauseFilterNullsEnabled();
         this.parameterAsLiteralRenderingEnabled = queryConfiguration.isParameterAsLiteralRenderingEnabled();
+        this.parameterAsLiteralRenderingCardinalityLimit = queryConfiguration.getParameterAsLiteralRenderingCardinalityLimit();
         this.optimizedKeysetPredicateRenderingEnabled = queryConfiguration.isOptimizedKeysetPredicateRenderingEnabled();
         this.cacheable = queryConfiguration.isCacheable();
         this.inlineIdQuery = queryConfiguration.getInlineIdQueryEnabled();
         this.inlineCountQuery = queryConfiguration.getInlineCountQueryEnabled();
         this.inlineCtes = queryConfiguration.getInlineCtesEnabled();
+        this.queryFingerprintCommentEnabled = queryConfiguration.isQueryFingerprintCommentEnabled();
+        this.unusedJoinPruningEnabled = queryConfiguration.isUnusedJoinPruningEnabled();
+        this.queryPlanCacheEnabled = queryConfiguration.isQueryPlanCacheEnabled();
+    }
+
+    void markShared() {
+        shared = true;
+    }
+
+    boolean isShared() {
+        return shared;
     }
 
     @Override
@@ -113,6 +130,11 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         return parameterAsLiteralRenderingEnabled;
     }
 
+    @Override
+    public int getParameterAsLiteralRenderingCardinalityLimit() {
+        return parameterAsLiteralRenderingCardinalityLimit;
+    }
+
     @Override
     public boolean isOptimizedKeysetPredicateRenderingEnabled() {
         return optimizedKeysetPredicateRenderingEnabled;
@@ -148,6 +170,16 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         return queryPlanCacheEnabled;
     }
 
+    @Override
+    public boolean isQueryFingerprintCommentEnabled() {
+        return queryFingerprintCommentEnabled;
+    }
+
+    @Override
+    public boolean isUnusedJoinPruningEnabled() {
+        return unusedJoinPruningEnabled;
+    }
+
     @Override
     public void setProperties(Map<String, String> properties) {
         for (Map.Entry<String, String> entry : properties.entrySet()) {
@@ -169,11 +201,14 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
             case ConfigurationProperties.EXPRESSION_CACHE_CLASS:                throw propertySetNotAllowed(propertyName);
             case ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS:            valuesClauseFilterNullsEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING:        parameterAsLiteralRenderingEnabled = booleanOrFail(propertyName, propertyValue); break;
+            case ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT: parameterAsLiteralRenderingCardinalityLimit = nonNegativeIntOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING:  optimizedKeysetPredicateRenderingEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.INLINE_ID_QUERY:                       inlineIdQuery = "auto".equalsIgnoreCase(propertyValue) ? null : booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.INLINE_COUNT_QUERY:                    inlineCountQuery = "auto".equalsIgnoreCase(propertyValue) ? null : booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.INLINE_CTES:                           inlineCtes = "auto".equalsIgnoreCase(propertyValue) ? null : booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED:              queryPlanCacheEnabled = booleanOrFail(propertyName, propertyValue); break;
+            case ConfigurationProperties.QUERY_FINGERPRINT_COMMENT:             queryFingerprintCommentEnabled = booleanOrFail(propertyName, propertyValue); break;
+            case ConfigurationProperties.UNUSED_JOIN_PRUNING:                   unusedJoinPruningEnabled = booleanOrFail(propertyName, propertyValue); break;
             default: break;
         }
         // CHECKSTYLE:ON: OneStatementPerLine
@@ -183,6 +218,19 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         return new IllegalArgumentException("Not allowed to set property: " + propertyName);
     }
 
+    private int nonNegativeIntOrFail(String propertyName, String propertyValue) {
+        try {
+            int value = Integer.parseInt(propertyValue);
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException ex) {
+            // Fall through
+        }
+
+        throw new IllegalArgumentException("Illegal value '" + propertyValue + "' for non-negative integer property '" + propertyName + "'");
+    }
+
     private boolean booleanOrFail(String propertyName, String propertyValue) {
         if ("true".equalsIgnoreCase(propertyValue)) {
             return true;
@@ -25,6 +25,7 @@ import com.blazebit.persistence.Keyset;
 import com.blazebit.persistence.KeysetPage;
 import com.blazebit.persistence.MultipleSubqueryInitiator;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PageWindowCache;
 import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
 import com.blazebit.persistence.RestrictionBuilder;
@@ -42,6 +43,7 @@ import com.blazebit.persistence.impl.function.limit.LimitFunction;
 import com.blazebit.persistence.impl.function.pageposition.PagePositionFunction;
 import com.blazebit.persistence.impl.function.querywrapper.QueryWrapperFunction;
 import com.blazebit.persistence.impl.function.rowvalue.RowValueSubqueryComparisonFunction;
+import com.blazebit.persistence.impl.keyset.KeysetLink;
 import com.blazebit.persistence.impl.keyset.KeysetMode;
 import com.blazebit.persistence.impl.keyset.KeysetPaginationHelper;
 import com.blazebit.persistence.impl.keyset.SimpleKeysetLink;
@@ -66,6 +68,7 @@ import com.blazebit.persistence.parser.predicate.InPredicate;
 import com.blazebit.persistence.parser.predicate.Predicate;
 import com.blazebit.persistence.spi.AttributeAccessor;
 
+import javax.persistence.EntityManager;
 import javax.persistence.Parameter;
 import javax.persistence.TypedQuery;
 import java.util.AbstractMap;
@@ -78,6 +81,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -98,6 +102,9 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
     private Boolean withInlineIdQuery;
     private boolean withInlineCountQuery;
     private long maximumCount = Long.MAX_VALUE;
+    private boolean withEstimatedCount = false;
+    private Executor countQueryExecutor;
+    private PageWindowCache pageWindowCache;
     private int highestOffset = 0;
     private final KeysetPage keysetPage;
     private final ResolvedExpression[] identifierExpressions;
@@ -169,14 +176,18 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         builder.withKeysetExtraction(keysetExtraction);
         builder.withExtractAllKeysets(withExtractAllKeysets);
         builder.withCountQuery(withCountQuery);
+        builder.withBoundedCount(maximumCount);
+        builder.withEstimatedCount(withEstimatedCount);
+        builder.withCountQueryExecutor(countQueryExecutor);
+        builder.withPageWindowCache(pageWindowCache);
         builder.withForceIdQuery(withForceIdQuery);
         builder.withHighestKeysetOffset(highestOffset);
         return builder;
     }
 
     @Override
-    public <Y> CriteriaBuilderImpl<Y> copyCriteriaBuilder(Class<Y> resultClass, boolean copyOrderBy) {
-        CriteriaBuilderImpl<Y> criteriaBuilder = super.copyCriteriaBuilder(resultClass, copyOrderBy);
+    public <Y> CriteriaBuilderImpl<Y> copyCriteriaBuilder(EntityManager entityManager, Class<Y> resultClass, boolean copyOrderBy) {
+        CriteriaBuilderImpl<Y> criteriaBuilder = super.copyCriteriaBuilder(entityManager, resultClass, copyOrderBy);
         criteriaBuilder.setFirstResult(0);
         criteriaBuilder.setMaxResults(Integer.MAX_VALUE);
 
@@ -317,6 +328,86 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return maximumCount;
     }
 
+    @Override
+    public PaginatedCriteriaBuilder<T> withEstimatedCount(boolean withEstimatedCount) {
+        if (this.withEstimatedCount != withEstimatedCount) {
+            this.withEstimatedCount = withEstimatedCount;
+            prepareForModification(ClauseType.SELECT);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean isWithEstimatedCount() {
+        return withEstimatedCount;
+    }
+
+    private boolean isEstimatedCount() {
+        // Navigating to the page of an entity requires the position as determined by the count query
+        return withEstimatedCount && entityId == null;
+    }
+
+    @Override
+    public PaginatedCriteriaBuilder<T> withCountQueryExecutor(Executor countQueryExecutor) {
+        if (this.countQueryExecutor != countQueryExecutor) {
+            this.countQueryExecutor = countQueryExecutor;
+            prepareForModification(ClauseType.SELECT);
+        }
+        return this;
+    }
+
+    @Override
+    public Executor getCountQueryExecutor() {
+        return countQueryExecutor;
+    }
+
+    private boolean isConcurrentCount() {
+        return countQueryExecutor != null && entityId == null && maximumCount == Long.MAX_VALUE;
+    }
+
+    @Override
+    public PaginatedCriteriaBuilder<T> withPageWindowCache(PageWindowCache pageWindowCache) {
+        if (this.pageWindowCache != pageWindowCache) {
+            this.pageWindowCache = pageWindowCache;
+            prepareForModification(ClauseType.SELECT);
+        }
+        return this;
+    }
+
+    @Override
+    public PageWindowCache getPageWindowCache() {
+        return pageWindowCache;
+    }
+
+    private boolean isPageWindowCached() {
+        return pageWindowCache != null && entityId == null;
+    }
+
+    private boolean needsKeysetExtraction() {
+        // The key sets of the pages are needed for the page window cache
+        return keysetExtraction || isPageWindowCached();
+    }
+
+    private boolean isSeparateCountQuery() {
+        // Inlining the count query is not possible when the count is determined separately
+        return isEstimatedCount() || isConcurrentCount() || isPageWindowCached();
+    }
+
+    private Object getPageWindowCacheKey(String countQueryString) {
+        // The count query has no order by clause, but the key sets of the pages depend on the order by items
+        StringBuilder orderBySb = new StringBuilder();
+        orderByManager.buildOrderBy(orderBySb, false, true, false, false);
+        Map<String, Object> parameterValues = new HashMap<>();
+        for (ParameterManager.ParameterImpl<?> parameter : parameterManager.getParameterImpls()) {
+            String name = parameter.getName() == null ? parameter.getPosition().toString() : parameter.getName();
+            // Key set parameters change between pages
+            if (!keysetManager.isKeysetParameter(name)) {
+                parameterValues.put(name, parameter.getValue());
+            }
+        }
+        return Arrays.asList(countQueryString, orderBySb.toString(), parameterValues);
+    }
+
     @Override
     public PaginatedCriteriaBuilder<T> withForceIdQuery(boolean withForceIdQuery) {
         this.withForceIdQuery = withForceIdQuery;
@@ -462,6 +553,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(countQuery);
             }
+            applyQueryFingerprintComment(countQuery, countQueryString);
             parameterManager.parameterizeQuery(countQuery);
             return parameterManager.getCriteriaNameMapping() == null ? countQuery : new TypedQueryWrapper<>(countQuery, parameterManager.getCriteriaNameMapping());
         }
@@ -519,6 +611,33 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
     @Override
     public PaginatedTypedQueryImpl<T> getQuery() {
         prepareAndCheck(null);
+        if (!isPageWindowCached()) {
+            return getQuery(null, null);
+        }
+        Object pageWindowCacheKey = getPageWindowCacheKey(getPageCountQueryStringWithoutCheck());
+        KeysetPage pageWindowKeysetPage = null;
+        if (keysetMode == KeysetMode.NONE && firstResult != 0) {
+            pageWindowKeysetPage = pageWindowCache.getKeysetPage(pageWindowCacheKey, firstResult, maxResults);
+        }
+        return getQuery(pageWindowCacheKey, pageWindowKeysetPage);
+    }
+
+    private PaginatedTypedQueryImpl<T> getQuery(Object pageWindowCacheKey, KeysetPage pageWindowKeysetPage) {
+        KeysetPage keysetPage = this.keysetPage;
+        KeysetMode keysetMode = this.keysetMode;
+        KeysetLink keysetLink = keysetManager.getKeysetLink();
+        if (pageWindowKeysetPage != null) {
+            KeysetMode pageWindowKeysetMode = KeysetPaginationHelper.getKeysetMode(pageWindowKeysetPage, null, firstResult, maxResults);
+            // Use the key set of a cached page if the navigation is possible through key set pagination
+            if (pageWindowKeysetMode != KeysetMode.NONE) {
+                keysetPage = pageWindowKeysetPage;
+                keysetMode = pageWindowKeysetMode;
+                keysetLink = new SimpleKeysetLink(keysetMode == KeysetMode.NEXT ? keysetPage.getHighest() : keysetPage.getLowest(), keysetMode);
+                keysetManager.initialize(keysetLink);
+            }
+        }
+        // The query strings of the builder are only used as is if the key set of the builder is used
+        boolean builderKeyset = keysetLink == keysetManager.getKeysetLink();
         // We can only use the query directly if we have no ctes, entity functions or hibernate bugs
         Set<JoinNode> keyRestrictedLeftJoins = getKeyRestrictedLeftJoins();
         boolean normalQueryMode = !isMainQuery || (!mainQuery.cteManager.hasCtes() && !joinManager.hasEntityFunctions() && keyRestrictedLeftJoins.isEmpty());
@@ -554,9 +673,9 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         TypedQuery<T> objectQuery;
         ObjectBuilder<T> objectBuilder;
         boolean inlinedIdQuery;
-        boolean inlinedCountQuery = firstResult < maximumCount && withCountQuery && withInlineCountQuery;
+        boolean inlinedCountQuery = firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery();
         if (!isWithInlineIdQuery() && (hasCollections || withForceIdQuery)) {
-            String idQueryString = getPageIdQueryStringWithoutCheck();
+            String idQueryString = builderKeyset ? getPageIdQueryStringWithoutCheck() : buildPageIdQueryString(false, keysetLink);
             if (normalQueryMode) {
                 entityFunctions = Collections.emptyList();
             } else {
@@ -577,7 +696,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             } else {
                 entityFunctions = joinManager.getEntityFunctions(hasGroupBy ? NO_CLAUSE_EXCLUSION : OBJECT_QUERY_WITHOUT_GROUP_BY_EXCLUSIONS, false, alwaysIncludedNodes);
             }
-            Map.Entry<TypedQuery<T>, ObjectBuilder<T>> entry = getObjectQuery(normalQueryMode, keyRestrictedLeftJoins, entityFunctions);
+            String queryString = builderKeyset ? getBaseQueryString(null, null) : buildObjectQueryString(false, keysetLink);
+            Map.Entry<TypedQuery<T>, ObjectBuilder<T>> entry = getObjectQuery(queryString, keysetMode, normalQueryMode, keyRestrictedLeftJoins, entityFunctions);
             objectQuery = entry.getKey();
             objectBuilder = entry.getValue();
             inlinedIdQuery = isWithInlineIdQuery() && (hasCollections || withForceIdQuery);
@@ -586,6 +706,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 withExtractAllKeysets,
                 firstResult < maximumCount && withCountQuery,
                 maximumCount != Long.MAX_VALUE,
+                // The estimate is only possible if the count query can be passed as is to the JPA provider
+                isEstimatedCount() && normalQueryMode && maximumCount == Long.MAX_VALUE ? this : null,
+                // A separate entity manager can only execute the count query if it is a plain JPQL query
+                isConcurrentCount() && normalQueryMode ? new ConcurrentCountQuery(countQueryExecutor, em.getEntityManagerFactory(), countQueryString) : null,
+                pageWindowCacheKey == null ? null : pageWindowCache,
+                pageWindowCacheKey,
                 highestOffset,
                 countQuery,
                 idQuery,
@@ -660,7 +786,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
 
     private String getPageIdQueryStringWithoutCheck() {
         if (cachedIdQueryString == null && !isWithInlineIdQuery() && (hasCollections || withForceIdQuery)) {
-            cachedIdQueryString = buildPageIdQueryString(false);
+            cachedIdQueryString = buildPageIdQueryString(false, keysetManager.getKeysetLink());
         }
 
         return cachedIdQueryString;
@@ -668,7 +794,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
 
     protected String getExternalPageIdQueryString() {
         if (cachedExternalIdQueryString == null && !isWithInlineIdQuery() && (hasCollections || withForceIdQuery)) {
-            cachedExternalIdQueryString = buildPageIdQueryString(true);
+            cachedExternalIdQueryString = buildPageIdQueryString(true, keysetManager.getKeysetLink());
         }
 
         return cachedExternalIdQueryString;
@@ -686,7 +812,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (!isWithInlineIdQuery() && (hasCollections || withForceIdQuery)) {
                 cachedQueryString = buildBaseQueryString(false);
             } else {
-                cachedQueryString = buildObjectQueryString(false);
+                cachedQueryString = buildObjectQueryString(false, keysetManager.getKeysetLink());
             }
         }
 
@@ -698,7 +824,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (!isWithInlineIdQuery() && (hasCollections || withForceIdQuery)) {
                 cachedExternalQueryString = buildBaseQueryString(true);
             } else {
-                cachedExternalQueryString = buildObjectQueryString(true);
+                cachedExternalQueryString = buildObjectQueryString(true, keysetManager.getKeysetLink());
             }
         }
 
@@ -763,14 +889,13 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             throw new IllegalStateException("The order by items of the query builder are not guaranteed to produce unique tuples! Consider also ordering by the entity identifier!");
         }
 
-        if (keysetManager.hasKeyset()) {
-            keysetManager.initialize(orderByExpressions);
-        }
+        // The order by expressions are also needed for rendering the key set of a cached page window
+        keysetManager.initialize(orderByExpressions);
 
         // initialize index mappings that we use to avoid putting keyset expressions into select clauses multiple times
         if (!isWithInlineIdQuery() && (hasCollections || withForceIdQuery)) {
             initializeOrderByAliasesWithIdentifierToUse(orderByExpressions);
-        } else if (keysetExtraction || withInlineCountQuery) {
+        } else if (needsKeysetExtraction() || withInlineCountQuery) {
             if (isWithInlineIdQuery()) {
                 initializeOrderByAliasesWithIdentifierToUse(orderByExpressions);
                 // If we have no select item, this means we implicitly select the root and thus append order by items after the root
@@ -816,7 +941,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         }
 
         // When we do keyset extraction of have complex order bys, we have to append additional expression to the end of the select clause which have to be removed later
-        needsNewIdList = keysetExtraction
+        needsNewIdList = needsKeysetExtraction()
                 || orderByManager.hasComplexOrderBys();
 
         // No need to do the check again if no mutation occurs
@@ -862,12 +987,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                     identifierToUseSelectAliases[i] = potentialSelectAlias;
                     keysetToSelectIndexMapping[i] = index;
                 }
-            } else if (keysetExtraction || withInlineCountQuery) {
+            } else if (needsKeysetExtraction() || withInlineCountQuery) {
                 index = identifierExpressionStringMap.get(potentialSelectAlias);
                 keysetToSelectIndexMapping[i] = index == null ? -1 : index;
             }
         }
-        if (!keysetExtraction && !withInlineCountQuery) {
+        if (!needsKeysetExtraction() && !withInlineCountQuery) {
             keysetToSelectIndexMapping = null;
         }
     }
@@ -899,12 +1024,11 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
     }
 
     @SuppressWarnings("unchecked")
-    private Map.Entry<TypedQuery<T>, ObjectBuilder<T>> getObjectQuery(boolean normalQueryMode, Set<JoinNode> keyRestrictedLeftJoins, List<JoinNode> entityFunctions) {
-        String queryString = getBaseQueryString(null, null);
+    private Map.Entry<TypedQuery<T>, ObjectBuilder<T>> getObjectQuery(String queryString, KeysetMode keysetMode, boolean normalQueryMode, Set<JoinNode> keyRestrictedLeftJoins, List<JoinNode> entityFunctions) {
         Class<?> expectedResultType;
 
         // When the keyset is included the query obviously produces an array
-        if (keysetExtraction || firstResult < maximumCount && withCountQuery && withInlineCountQuery) {
+        if (needsKeysetExtraction() || firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery()) {
             expectedResultType = Object[].class;
         } else {
             expectedResultType = selectManager.getExpectedQueryResultType();
@@ -925,8 +1049,9 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(query);
             }
+            applyQueryFingerprintComment(query);
             boolean externalIdQuery = !isWithInlineIdQuery() && (hasCollections || withForceIdQuery);
-            if (!externalIdQuery && firstResult < maximumCount && withCountQuery && withInlineCountQuery && maximumCount != Long.MAX_VALUE) {
+            if (!externalIdQuery && firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery() && maximumCount != Long.MAX_VALUE) {
                 parameterManager.parameterizeQuery(query, getDualNodeAlias());
                 query.setParameter(getDualNodeAlias() + "_value_0", 0L);
             } else {
@@ -947,7 +1072,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
 
             boolean externalIdQuery = !isWithInlineIdQuery() && (hasCollections || withForceIdQuery);
             JoinNode dualNode = null;
-            if (!externalIdQuery && firstResult < maximumCount && withCountQuery && withInlineCountQuery && maximumCount != Long.MAX_VALUE) {
+            if (!externalIdQuery && firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery() && maximumCount != Long.MAX_VALUE) {
                 parameters = new ArrayList<>(parameterManager.getParameters());
                 dualNode = createDualNode();
                 String valueParameterName = dualNode.getAlias() + "_value_0";
@@ -985,9 +1110,9 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
 
         ObjectBuilder<T> objectBuilder = null;
         ObjectBuilder<T> transformerObjectBuilder = selectManager.getSelectObjectBuilder();
-        boolean inlinedCountQuery = firstResult < maximumCount && withCountQuery && withInlineCountQuery;
+        boolean inlinedCountQuery = firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery();
 
-        if (keysetExtraction) {
+        if (needsKeysetExtraction()) {
             if (transformerObjectBuilder == null) {
                 objectBuilder = new KeysetExtractionObjectBuilder<T>(keysetToSelectIndexMapping, keysetMode, maxResults, highestOffset, selectManager.getExpectedQueryResultType() != Object[].class, withExtractAllKeysets, inlinedCountQuery);
             } else {
@@ -1016,7 +1141,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(idQuery);
             }
-            if (firstResult < maximumCount && withCountQuery && withInlineCountQuery && maximumCount != Long.MAX_VALUE) {
+            applyQueryFingerprintComment(idQuery, idQueryString);
+            if (firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery() && maximumCount != Long.MAX_VALUE) {
                 parameterManager.parameterizeQuery(idQuery, getDualNodeAlias());
                 idQuery.setParameter(getDualNodeAlias() + "_value_0", 0L);
             } else {
@@ -1046,7 +1172,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 parameterManager.getValuesBinders()
         );
 
-        if (firstResult < maximumCount && withCountQuery && withInlineCountQuery && maximumCount != Long.MAX_VALUE) {
+        if (firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery() && maximumCount != Long.MAX_VALUE) {
             parameterManager.parameterizeQuery(idQuery, getDualNodeAlias());
             idQuery.setParameter(getDualNodeAlias() + "_value_0", 0L);
         } else {
@@ -1064,6 +1190,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(query);
             }
+            applyQueryFingerprintComment(query);
             parameterManager.parameterizeQuery(query, skippedParameterPrefix);
             return applyObjectBuilder(query);
         }
@@ -1154,16 +1281,16 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return sbSelectFrom.toString();
     }
 
-    private String buildPageIdQueryString(boolean externalRepresentation) {
+    private String buildPageIdQueryString(boolean externalRepresentation, KeysetLink keysetLink) {
         StringBuilder sbSelectFrom = new StringBuilder();
         if (externalRepresentation && isMainQuery) {
             mainQuery.cteManager.buildClause(sbSelectFrom);
         }
-        buildPageIdQueryString(sbSelectFrom, false, externalRepresentation);
+        buildPageIdQueryString(sbSelectFrom, false, externalRepresentation, keysetLink);
         return sbSelectFrom.toString();
     }
 
-    private String buildPageIdQueryString(StringBuilder sbSelectFrom, boolean aliasFunction, boolean externalRepresentation) {
+    private String buildPageIdQueryString(StringBuilder sbSelectFrom, boolean aliasFunction, boolean externalRepresentation, KeysetLink keysetLink) {
         sbSelectFrom.append("SELECT ");
         queryGenerator.setQueryBuffer(sbSelectFrom);
         queryGenerator.setClauseType(ClauseType.SELECT);
@@ -1200,11 +1327,11 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 // We need to pass a null keysetToSelectIndexMapping in this case to force rendering the order by alias expressions to the id query
                 orderByManager.buildSelectClauses(sbSelectFrom, false, aliasFunction && !externalRepresentation, null);
             } else {
-                orderByManager.buildSelectClauses(sbSelectFrom, keysetExtraction, aliasFunction && !externalRepresentation, keysetToSelectIndexMapping);
+                orderByManager.buildSelectClauses(sbSelectFrom, needsKeysetExtraction(), aliasFunction && !externalRepresentation, keysetToSelectIndexMapping);
             }
         }
 
-        if (!aliasFunction && firstResult < maximumCount && withCountQuery && withInlineCountQuery) {
+        if (!aliasFunction && firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery()) {
             sbSelectFrom.append(", ");
             appendPageCountQueryAsSubquery(sbSelectFrom, externalRepresentation);
         }
@@ -1217,16 +1344,16 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         Set<JoinNode> identifierExpressionsToUseNonRootJoinNodes = getIdentifierExpressionsToUseNonRootJoinNodes();
         Set<JoinNode> collectionJoins = joinManager.buildClause(sbSelectFrom, ID_QUERY_GROUP_BY_CLAUSE_EXCLUSIONS, null, true, externalRepresentation, true, false, optionalWhereClauseConjuncts, whereClauseConjuncts, explicitVersionEntities, idNodesToFetch, identifierExpressionsToUseNonRootJoinNodes, null, true);
 
-        if (keysetMode == KeysetMode.NONE || keysetManager.getKeysetLink().getKeyset().getTuple() == null) {
+        if (keysetLink == null || keysetLink.getKeyset().getTuple() == null) {
             whereManager.buildClause(sbSelectFrom, whereClauseConjuncts, optionalWhereClauseConjuncts);
         } else {
             sbSelectFrom.append(" WHERE ");
 
             int positionalOffset = parameterManager.getPositionalOffset();
             if (mainQuery.getQueryConfiguration().isOptimizedKeysetPredicateRenderingEnabled()) {
-                keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset);
+                keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, keysetLink, positionalOffset);
             } else {
-                keysetManager.buildKeysetPredicate(sbSelectFrom, positionalOffset);
+                keysetManager.buildKeysetPredicate(sbSelectFrom, keysetLink, positionalOffset);
             }
 
             if (whereManager.hasPredicates() || !whereClauseConjuncts.isEmpty()) {
@@ -1235,7 +1362,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             }
         }
 
-        boolean inverseOrder = keysetMode == KeysetMode.PREVIOUS;
+        boolean inverseOrder = keysetLink != null && keysetLink.getKeysetMode() == KeysetMode.PREVIOUS;
 
         // We could avoid rendering the group by clause if the collection joins aren't referenced
         // We could also build a minimal group by clause when hasGroupBy == false, otherwise we require the clause
@@ -1253,12 +1380,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return sbSelectFrom.toString();
     }
 
-    private void appendPageIdQueryLimit(StringBuilder sbSelectFrom, boolean externalRepresentation) {
+    private void appendPageIdQueryLimit(StringBuilder sbSelectFrom, boolean externalRepresentation, KeysetLink keysetLink) {
         if ((externalRepresentation || mainQuery.jpaProvider.supportsSubqueryLimitOffset()) && hasLimit()) {
             sbSelectFrom.append(" LIMIT ");
             sbSelectFrom.append(maxResults);
 
-            if (firstResult != 0 && (keysetMode == KeysetMode.NONE || keysetManager.getKeysetLink().getKeyset().getTuple() == null)) {
+            if (firstResult != 0 && (keysetLink == null || keysetLink.getKeyset().getTuple() == null)) {
                 sbSelectFrom.append(" OFFSET ");
                 sbSelectFrom.append(firstResult);
             }
@@ -1331,24 +1458,24 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         orderByManager.buildOrderBy(sbSelectFrom, false, false, false, false);
     }
 
-    private String buildObjectQueryString(boolean externalRepresentation) {
+    private String buildObjectQueryString(boolean externalRepresentation, KeysetLink keysetLink) {
         StringBuilder sbSelectFrom = new StringBuilder();
         if (externalRepresentation && isMainQuery) {
             mainQuery.cteManager.buildClause(sbSelectFrom);
         }
-        buildObjectQueryString(sbSelectFrom, externalRepresentation);
+        buildObjectQueryString(sbSelectFrom, externalRepresentation, keysetLink);
         return sbSelectFrom.toString();
     }
 
-    private void appendPageIdQueryAsSubquery(StringBuilder sbSelectFrom, boolean externalRepresentation) {
-        appendQueryAsSubquery(false, sbSelectFrom, externalRepresentation);
+    private void appendPageIdQueryAsSubquery(StringBuilder sbSelectFrom, boolean externalRepresentation, KeysetLink keysetLink) {
+        appendQueryAsSubquery(false, sbSelectFrom, externalRepresentation, keysetLink);
     }
 
     private void appendPageCountQueryAsSubquery(StringBuilder sbSelectFrom, boolean externalRepresentation) {
-        appendQueryAsSubquery(true, sbSelectFrom, externalRepresentation);
+        appendQueryAsSubquery(true, sbSelectFrom, externalRepresentation, null);
     }
 
-    private void appendQueryAsSubquery(boolean count, StringBuilder sbSelectFrom, boolean externalRepresentation) {
+    private void appendQueryAsSubquery(boolean count, StringBuilder sbSelectFrom, boolean externalRepresentation, KeysetLink keysetLink) {
         Set<JoinNode> keyRestrictedLeftJoins = getKeyRestrictedLeftJoins();
         Set<JoinNode> alwaysIncludedNodes = getIdentifierExpressionsToUseNonRootJoinNodes();
         Set<ClauseType> clauseExclusions = count ? COUNT_QUERY_GROUP_BY_CLAUSE_EXCLUSIONS : ID_QUERY_GROUP_BY_CLAUSE_EXCLUSIONS;
@@ -1371,8 +1498,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (count) {
                 buildPageCountQueryString(sbSelectFrom, externalRepresentation, false, maximumCount);
             } else {
-                buildPageIdQueryString(sbSelectFrom, true, externalRepresentation);
-                appendPageIdQueryLimit(sbSelectFrom, externalRepresentation);
+                buildPageIdQueryString(sbSelectFrom, true, externalRepresentation, keysetLink);
+                appendPageIdQueryLimit(sbSelectFrom, externalRepresentation, keysetLink);
             }
             sbSelectFrom.append(')');
             if (dualNode != null) {
@@ -1391,8 +1518,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 if (count) {
                     buildPageCountQueryString(sbSelectFrom, externalRepresentation, false, maximumCount);
                 } else {
-                    buildPageIdQueryString(sbSelectFrom, true, externalRepresentation);
-                    appendPageIdQueryLimit(sbSelectFrom, externalRepresentation);
+                    buildPageIdQueryString(sbSelectFrom, true, externalRepresentation, keysetLink);
+                    appendPageIdQueryLimit(sbSelectFrom, externalRepresentation, keysetLink);
                 }
                 sbSelectFrom.append(')');
             } else {
@@ -1405,8 +1532,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 if (count) {
                     buildPageCountQueryString(sbSelectFrom, externalRepresentation, false, maximumCount);
                 } else {
-                    buildPageIdQueryString(sbSelectFrom, true, externalRepresentation);
-                    appendPageIdQueryLimit(sbSelectFrom, externalRepresentation);
+                    buildPageIdQueryString(sbSelectFrom, true, externalRepresentation, keysetLink);
+                    appendPageIdQueryLimit(sbSelectFrom, externalRepresentation, keysetLink);
                 }
                 sbSelectFrom.append(')');
 
@@ -1415,10 +1542,10 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         }
     }
 
-    private String buildObjectQueryString(StringBuilder sbSelectFrom, boolean externalRepresentation) {
+    private String buildObjectQueryString(StringBuilder sbSelectFrom, boolean externalRepresentation, KeysetLink keysetLink) {
         selectManager.buildSelect(sbSelectFrom, false, externalRepresentation);
 
-        if (keysetExtraction) {
+        if (needsKeysetExtraction()) {
             if (selectManager.getSelectInfos().size() == 0 && isWithInlineIdQuery()) {
                 // We need to pass a null keysetToSelectIndexMapping in this case to force rendering the keyset relevant expressions to the object query
                 orderByManager.buildSelectClauses(sbSelectFrom, true, false, null);
@@ -1427,7 +1554,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             }
         }
 
-        if (firstResult < maximumCount && withCountQuery && withInlineCountQuery) {
+        if (firstResult < maximumCount && withCountQuery && withInlineCountQuery && !isSeparateCountQuery()) {
             sbSelectFrom.append(", ");
             appendPageCountQueryAsSubquery(sbSelectFrom, externalRepresentation);
         }
@@ -1446,7 +1573,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             }
 
             sbSelectFrom.append(" WHERE ");
-            appendPageIdPredicate(sbSelectFrom, externalRepresentation, identifierExpressions);
+            appendPageIdPredicate(sbSelectFrom, externalRepresentation, identifierExpressions, keysetLink);
 
             if (!whereClauseConjuncts.isEmpty()) {
                 sbSelectFrom.append(" AND ");
@@ -1460,16 +1587,16 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         } else {
             joinManager.buildClause(sbSelectFrom, hasGroupBy ? NO_CLAUSE_EXCLUSION : OBJECT_QUERY_WITHOUT_GROUP_BY_EXCLUSIONS, null, false, externalRepresentation, false, false, optionalWhereClauseConjuncts, whereClauseConjuncts, explicitVersionEntities, nodesToFetch, Collections.<JoinNode>emptySet(), null, true);
 
-            if (keysetMode == KeysetMode.NONE || keysetManager.getKeysetLink().getKeyset().getTuple() == null) {
+            if (keysetLink == null || keysetLink.getKeyset().getTuple() == null) {
                 whereManager.buildClause(sbSelectFrom, whereClauseConjuncts, optionalWhereClauseConjuncts);
             } else {
                 sbSelectFrom.append(" WHERE ");
 
                 int positionalOffset = parameterManager.getPositionalOffset();
                 if (mainQuery.getQueryConfiguration().isOptimizedKeysetPredicateRenderingEnabled()) {
-                    keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, positionalOffset);
+                    keysetManager.buildOptimizedKeysetPredicate(sbSelectFrom, keysetLink, positionalOffset);
                 } else {
-                    keysetManager.buildKeysetPredicate(sbSelectFrom, positionalOffset);
+                    keysetManager.buildKeysetPredicate(sbSelectFrom, keysetLink, positionalOffset);
                 }
 
                 if (whereManager.hasPredicates() || !whereClauseConjuncts.isEmpty()) {
@@ -1480,7 +1607,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             appendGroupByClause(sbSelectFrom);
         }
 
-        boolean inverseOrder = keysetMode == KeysetMode.PREVIOUS;
+        boolean inverseOrder = keysetLink != null && keysetLink.getKeysetMode() == KeysetMode.PREVIOUS;
 
         orderByManager.buildOrderBy(sbSelectFrom, inverseOrder, false, false, false);
 
@@ -1490,7 +1617,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return sbSelectFrom.toString();
     }
 
-    private void appendPageIdPredicate(StringBuilder sbSelectFrom, boolean externalRepresentation, ResolvedExpression[] identifierExpressions) {
+    private void appendPageIdPredicate(StringBuilder sbSelectFrom, boolean externalRepresentation, ResolvedExpression[] identifierExpressions, KeysetLink keysetLink) {
         StringBuilder original = queryGenerator.getQueryBuffer();
         queryGenerator.setQueryBuffer(sbSelectFrom);
         if (externalRepresentation) {
@@ -1506,7 +1633,7 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 sbSelectFrom.append(')');
             }
             sbSelectFrom.append(" IN ");
-            appendPageIdQueryAsSubquery(sbSelectFrom, true);
+            appendPageIdQueryAsSubquery(sbSelectFrom, true, keysetLink);
         } else {
             if (identifierExpressions.length == 1) {
                 identifierExpressions[0].getExpression().accept(queryGenerator);
@@ -1523,12 +1650,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 }
 
                 if (mainQuery.jpaProvider.supportsSubqueryLimitOffset()) {
-                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation);
+                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation, keysetLink);
                 } else {
                     sbSelectFrom.append(mainQuery.jpaProvider.getCustomFunctionInvocation(LimitFunction.FUNCTION_NAME, 1));
-                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation);
+                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation, keysetLink);
                     sbSelectFrom.append(',').append(maxResults);
-                    if (firstResult != 0 && (keysetMode == KeysetMode.NONE || keysetManager.getKeysetLink().getKeyset().getTuple() == null)) {
+                    if (firstResult != 0 && (keysetLink == null || keysetLink.getKeyset().getTuple() == null)) {
                         sbSelectFrom.append(',').append(firstResult);
                     }
                     sbSelectFrom.append(')');
@@ -1559,12 +1686,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 }
 
                 if (mainQuery.jpaProvider.supportsSubqueryLimitOffset()) {
-                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation);
+                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation, keysetLink);
                 } else {
                     sbSelectFrom.append(mainQuery.jpaProvider.getCustomFunctionInvocation(LimitFunction.FUNCTION_NAME, 1));
-                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation);
+                    appendPageIdQueryAsSubquery(sbSelectFrom, externalRepresentation, keysetLink);
                     sbSelectFrom.append(',').append(maxResults);
-                    if (firstResult != 0 && (keysetMode == KeysetMode.NONE || keysetManager.getKeysetLink().getKeyset().getTuple() == null)) {
+                    if (firstResult != 0 && (keysetLink == null || keysetLink.getKeyset().getTuple() == null)) {
                         sbSelectFrom.append(',').append(firstResult);
                     }
                     sbSelectFrom.append(')');
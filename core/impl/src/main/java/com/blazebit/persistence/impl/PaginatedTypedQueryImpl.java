@@ -18,6 +18,7 @@ package com.blazebit.persistence.impl;
 
 import com.blazebit.persistence.KeysetPage;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.PageWindowCache;
 import com.blazebit.persistence.PagedArrayList;
 import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.PaginatedTypedQuery;
@@ -27,6 +28,8 @@ import com.blazebit.persistence.impl.keyset.KeysetMode;
 import com.blazebit.persistence.DefaultKeysetPage;
 import com.blazebit.persistence.impl.keyset.KeysetPaginationHelper;
 import com.blazebit.persistence.impl.util.SetView;
+import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.ServiceProvider;
 
 import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
@@ -50,6 +53,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 
 /**
  * @author Christian Beikov
@@ -60,6 +64,10 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
     private final boolean withExtractAllKeysets;
     private final boolean withCount;
     private final boolean boundedCount;
+    private final ServiceProvider estimatedCountServiceProvider;
+    private final ConcurrentCountQuery concurrentCountQuery;
+    private final PageWindowCache pageWindowCache;
+    private final Object pageWindowCacheKey;
     private final int highestOffset;
     private final TypedQuery<?> countQuery;
     private final TypedQuery<?> idQuery;
@@ -82,11 +90,16 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
     private final boolean inlinedIdQuery;
     private final boolean inlinedCountQuery;
 
-    public PaginatedTypedQueryImpl(boolean withExtractAllKeysets, boolean withCount, boolean boundedCount, int highestOffset, TypedQuery<?> countQuery, TypedQuery<?> idQuery, TypedQuery<X> objectQuery, ObjectBuilder<X> objectBuilder, Collection<ParameterManager.ParameterImpl<?>> parameters, Map<ParameterExpression<?>, String> criteriaNameMapping,
+    public PaginatedTypedQueryImpl(boolean withExtractAllKeysets, boolean withCount, boolean boundedCount, ServiceProvider estimatedCountServiceProvider, ConcurrentCountQuery concurrentCountQuery,
+                                   PageWindowCache pageWindowCache, Object pageWindowCacheKey, int highestOffset, TypedQuery<?> countQuery, TypedQuery<?> idQuery, TypedQuery<X> objectQuery, ObjectBuilder<X> objectBuilder, Collection<ParameterManager.ParameterImpl<?>> parameters, Map<ParameterExpression<?>, String> criteriaNameMapping,
                                    Object entityId, int firstResult, int pageSize, int identifierCount, boolean needsNewIdList, int[] keysetToSelectIndexMapping, KeysetMode keysetMode, KeysetPage keysetPage, boolean forceFirstResult, boolean inlinedIdQuery, boolean inlinedCountQuery) {
         this.withExtractAllKeysets = withExtractAllKeysets;
         this.withCount = withCount;
         this.boundedCount = boundedCount;
+        this.estimatedCountServiceProvider = estimatedCountServiceProvider;
+        this.concurrentCountQuery = concurrentCountQuery;
+        this.pageWindowCache = pageWindowCache;
+        this.pageWindowCacheKey = pageWindowCacheKey;
         this.highestOffset = highestOffset;
         this.countQuery = countQuery;
         this.idQuery = idQuery;
@@ -179,22 +192,56 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
         return ((Number) countQuery.getSingleResult()).longValue();
     }
 
+    private long getEstimatedTotalCount() {
+        ExtendedQuerySupport extendedQuerySupport = estimatedCountServiceProvider.getService(ExtendedQuerySupport.class);
+        if (extendedQuerySupport == null || !extendedQuerySupport.supportsAdvancedSql()) {
+            return -1L;
+        }
+        return extendedQuerySupport.getEstimatedRowCount(estimatedCountServiceProvider, countQuery);
+    }
+
     @Override
     public List<X> getPageResultList() {
         int queryFirstResult = firstResult;
         int firstRow = firstResult;
-        return getResultList(queryFirstResult, firstRow, -1L);
+        return getResultList(queryFirstResult, firstRow, -1L, false, null);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public PagedList<X> getResultList() {
+        PagedList<X> pagedList = getPagedResultList();
+        if (pageWindowCache != null) {
+            pageWindowCache.put(pageWindowCacheKey, pagedList);
+        }
+        return pagedList;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PagedList<X> getPagedResultList() {
         int queryFirstResult = firstResult;
         int firstRow = firstResult;
         long totalSize = -1L;
+        boolean totalSizeEstimated = false;
+        boolean totalSizeCached = false;
+        Future<Long> totalCountFuture = null;
         if (withCount && !inlinedCountQuery) {
             if (entityId == null) {
-                totalSize = ((Number) countQuery.getSingleResult()).longValue();
+                // Navigating between pages of the same query doesn't need counting again
+                if (pageWindowCache != null) {
+                    totalSize = pageWindowCache.getTotalSize(pageWindowCacheKey);
+                    totalSizeCached = totalSize != -1L;
+                }
+                if (!totalSizeCached && estimatedCountServiceProvider != null) {
+                    totalSize = getEstimatedTotalCount();
+                    totalSizeEstimated = totalSize != -1L;
+                }
+                if (!totalSizeCached && !totalSizeEstimated) {
+                    if (concurrentCountQuery == null) {
+                        totalSize = ((Number) countQuery.getSingleResult()).longValue();
+                    } else {
+                        totalCountFuture = concurrentCountQuery.submit(countQuery);
+                    }
+                }
             } else {
                 Object[] result = (Object[]) countQuery.getSingleResult();
                 totalSize = ((Number) result[0]).longValue();
@@ -211,14 +258,30 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
             }
         }
 
-        if (totalSize == 0L) {
+        // An estimate or cached count of zero rows is not reliable enough to skip querying the page
+        if (totalSize == 0L && !totalSizeEstimated && !totalSizeCached) {
             return new PagedArrayList<X>(null, totalSize, queryFirstResult, pageSize);
         }
 
-        return getResultList(queryFirstResult, firstRow, totalSize);
+        if (totalCountFuture == null) {
+            return getResultList(queryFirstResult, firstRow, totalSize, totalSizeEstimated, null);
+        }
+        try {
+            return getResultList(queryFirstResult, firstRow, totalSize, totalSizeEstimated, totalCountFuture);
+        } finally {
+            // Stop the count query if the page queries failed, this is a no-op if the count query is done
+            totalCountFuture.cancel(true);
+        }
     }
 
-    private PagedList<X> getResultList(int queryFirstResult, int firstRow, long totalSize) {
+    private long getTotalCount(Future<Long> totalCountFuture) {
+        if (totalCountFuture == null) {
+            return getTotalCount();
+        }
+        return ConcurrentCountQuery.await(totalCountFuture);
+    }
+
+    private PagedList<X> getResultList(int queryFirstResult, int firstRow, long totalSize, boolean totalSizeEstimated, Future<Long> totalCountFuture) {
         if (idQuery != null) {
             idQuery.setMaxResults(pageSize);
 
@@ -238,7 +301,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                 }
                 long size;
                 if (withCount && totalSize == -1) {
-                    size = getTotalCount();
+                    size = getTotalCount(totalCountFuture);
                 } else {
                     size = totalSize;
                 }
@@ -249,7 +312,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                         size = Math.max(size, firstRow);
                     }
                 }
-                return new PagedArrayList<X>(newKeysetPage, size, queryFirstResult, pageSize);
+                return new PagedArrayList<X>(newKeysetPage, size, totalSizeEstimated, queryFirstResult, pageSize);
             }
 
             Serializable[] lowest = null;
@@ -384,10 +447,13 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                 newKeyset = new DefaultKeysetPage(firstRow, pageSize, lowest, highest, keysets);
             }
 
-            totalSize = Math.max(totalSize, firstRow + ids.size());
             List<X> queryResultList = objectQuery.getResultList();
+            if (totalCountFuture != null) {
+                totalSize = getTotalCount(totalCountFuture);
+            }
+            totalSize = Math.max(totalSize, firstRow + ids.size());
 
-            PagedList<X> pagedResultList = new PagedArrayList<X>(queryResultList, newKeyset, totalSize, queryFirstResult, pageSize);
+            PagedList<X> pagedResultList = new PagedArrayList<X>(queryResultList, newKeyset, totalSize, totalSizeEstimated, queryFirstResult, pageSize);
             return pagedResultList;
         } else {
             if (!inlinedIdQuery) {
@@ -413,7 +479,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                     if (inlinedCountQuery && firstRow == 0) {
                         totalSize = 0L;
                     } else if (withCount) {
-                        totalSize = getTotalCount();
+                        totalSize = getTotalCount(totalCountFuture);
                     }
                 }
                 if (boundedCount) {
@@ -424,7 +490,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                     }
                 }
 
-                return new PagedArrayList<X>(newKeysetPage, totalSize, queryFirstResult, pageSize);
+                return new PagedArrayList<X>(newKeysetPage, totalSize, totalSizeEstimated, queryFirstResult, pageSize);
             }
 
             if (keysetMode == KeysetMode.PREVIOUS) {
@@ -463,9 +529,12 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                 }
             }
 
+            if (totalCountFuture != null) {
+                totalSize = getTotalCount(totalCountFuture);
+            }
             totalSize = Math.max(totalSize, firstRow + result.size());
 
-            PagedList<X> pagedResultList = new PagedArrayList<X>(result, newKeyset, totalSize, queryFirstResult, pageSize);
+            PagedList<X> pagedResultList = new PagedArrayList<X>(result, newKeyset, totalSize, totalSizeEstimated, queryFirstResult, pageSize);
             return pagedResultList;
         }
     }
@@ -45,6 +45,8 @@ public interface QueryConfiguration {
 
     public boolean isParameterAsLiteralRenderingEnabled();
 
+    public int getParameterAsLiteralRenderingCardinalityLimit();
+
     public boolean isOptimizedKeysetPredicateRenderingEnabled();
 
     public Boolean getInlineIdQueryEnabled();
@@ -66,4 +68,8 @@ public interface QueryConfiguration {
     public boolean isCacheable();
 
     public boolean isQueryPlanCacheEnabled();
+
+    public boolean isQueryFingerprintCommentEnabled();
+
+    public boolean isUnusedJoinPruningEnabled();
 }
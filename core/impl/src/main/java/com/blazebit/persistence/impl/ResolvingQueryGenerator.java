@@ -105,6 +105,7 @@ public class ResolvingQueryGenerator extends SimpleQueryGenerator {
     private final DbmsDialect dbmsDialect;
     private final Map<String, JpqlFunction> registeredFunctions;
     private final Map<String, String> registeredFunctionNames;
+    private LiteralCardinalityTracker.Scope literalCardinalityScope;
 
     static {
         Set<String> functions = new HashSet<>();
@@ -778,6 +779,10 @@ public class ResolvingQueryGenerator extends SimpleQueryGenerator {
             ParameterRenderingMode oldParameterRenderingMode = setParameterRenderingMode(ParameterRenderingMode.LITERAL);
             super.visit(expression);
             setParameterRenderingMode(oldParameterRenderingMode);
+        } else if (getParameterRenderingMode() == ParameterRenderingMode.LITERAL && !isLiteralRenderingAllowed(expression)) {
+            ParameterRenderingMode oldParameterRenderingMode = setParameterRenderingMode(ParameterRenderingMode.PLACEHOLDER);
+            super.visit(expression);
+            setParameterRenderingMode(oldParameterRenderingMode);
         } else {
             super.visit(expression);
         }
@@ -786,6 +791,21 @@ public class ResolvingQueryGenerator extends SimpleQueryGenerator {
             sb.append(')');
         }
     }
+
+    private boolean isLiteralRenderingAllowed(ParameterExpression expression) {
+        if (literalCardinalityScope == null) {
+            return true;
+        }
+        Object value = expression.getValue();
+        if (value == null) {
+            value = parameterManager.getParameterValue(expression.getName());
+            if (value == null) {
+                return true;
+            }
+        }
+        return literalCardinalityScope.isLiteralRenderingAllowed(expression.getName(), value);
+    }
+
     @Override
     public void visit(DateLiteral expression) {
         if (jpaProvider.supportsTemporalLiteral()) {
@@ -848,6 +868,12 @@ public class ResolvingQueryGenerator extends SimpleQueryGenerator {
         return parameterManager.getLiteralParameterValue(expression, renderEnumAsLiteral);
     }
 
+    public LiteralCardinalityTracker.Scope setLiteralCardinalityScope(LiteralCardinalityTracker.Scope literalCardinalityScope) {
+        LiteralCardinalityTracker.Scope oldLiteralCardinalityScope = this.literalCardinalityScope;
+        this.literalCardinalityScope = literalCardinalityScope;
+        return oldLiteralCardinalityScope;
+    }
+
     public void setResolveSelectAliases(boolean replaceSelectAliases) {
         this.resolveSelectAliases = replaceSelectAliases;
     }
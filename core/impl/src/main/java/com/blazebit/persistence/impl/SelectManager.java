@@ -97,6 +97,7 @@ public class SelectManager<T> extends AbstractManager<SelectInfo> {
     private final Map<String, Integer> selectAliasToPositionMap = new HashMap<String, Integer>();
     private final SelectObjectBuilderEndedListenerImpl selectObjectBuilderEndedListener = new SelectObjectBuilderEndedListenerImpl();
     private CaseExpressionBuilderListener caseExpressionBuilderListener;
+    private Map<Object, Boolean> literalRenderingDecisions;
     private final AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder;
     private final GroupByExpressionGatheringVisitor groupByExpressionGatheringVisitor;
     private final JoinManager joinManager;
@@ -360,11 +361,21 @@ public class SelectManager<T> extends AbstractManager<SelectInfo> {
             queryGenerator.setQueryBuffer(sb);
             SimpleQueryGenerator.BooleanLiteralRenderingContext oldBooleanLiteralRenderingContext = queryGenerator.setBooleanLiteralRenderingContext(SimpleQueryGenerator.BooleanLiteralRenderingContext.CASE_WHEN);
             SimpleQueryGenerator.ParameterRenderingMode oldParameterRenderingMode;
+            LiteralCardinalityTracker.Scope oldLiteralCardinalityScope = null;
             if (!mainQuery.getQueryConfiguration().isParameterAsLiteralRenderingEnabled() || isInsertInto) {
                 // Insert into supports parameters
                 oldParameterRenderingMode = queryGenerator.setParameterRenderingMode(SimpleQueryGenerator.ParameterRenderingMode.PLACEHOLDER);
             } else {
                 oldParameterRenderingMode = queryGenerator.setParameterRenderingMode(SimpleQueryGenerator.ParameterRenderingMode.LITERAL);
+                int cardinalityLimit = mainQuery.getQueryConfiguration().getParameterAsLiteralRenderingCardinalityLimit();
+                if (cardinalityLimit > 0) {
+                    if (literalRenderingDecisions == null) {
+                        literalRenderingDecisions = new HashMap<>();
+                    }
+                    // Only the query that is built for execution records the rendered values
+                    LiteralCardinalityTracker.Scope scope = mainQuery.cbf.getLiteralCardinalityTracker().scope(getLiteralRenderingQueryShape(), cardinalityLimit, literalRenderingDecisions, !externalRepresentation);
+                    oldLiteralCardinalityScope = queryGenerator.setLiteralCardinalityScope(scope);
+                }
             }
 
             PathExpression pathExpression;
@@ -388,10 +399,23 @@ public class SelectManager<T> extends AbstractManager<SelectInfo> {
             }
             queryGenerator.setBooleanLiteralRenderingContext(oldBooleanLiteralRenderingContext);
             queryGenerator.setParameterRenderingMode(oldParameterRenderingMode);
+            queryGenerator.setLiteralCardinalityScope(oldLiteralCardinalityScope);
             queryGenerator.setClauseType(null);
         }
     }
 
+    private Object getLiteralRenderingQueryShape() {
+        // The query shape for the literal rendering of parameters is made up of the query roots and the select items
+        List<Object> queryShape = new ArrayList<>(joinManager.getRoots().size() + selectInfos.size());
+        for (JoinNode root : joinManager.getRoots()) {
+            queryShape.add(root.getJavaType());
+        }
+        for (SelectInfo selectInfo : selectInfos) {
+            queryShape.add(selectInfo.getExpression().toString());
+        }
+        return queryShape;
+    }
+
     private void emulateSelectCompositeId(StringBuilder sb, JoinNode rootNode, ExtendedManagedType<?> managedType) {
         boolean comma = false;
         for (SingularAttribute<?, ?> idAttribute : managedType.getIdAttributes()) {
@@ -570,6 +570,16 @@ public class DefaultDbmsDialect implements DbmsDialect {
         return ps.getGeneratedKeys();
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String sql) {
+        return null;
+    }
+
+    @Override
+    public long extractEstimatedRowCount(ResultSet rs) throws SQLException {
+        return -1L;
+    }
+
     public void appendLimit(StringBuilder sqlSb, boolean isSubquery, String limit, String offset) {
         createLimitHandler().applySql(sqlSb, isSubquery, limit, offset);
     }
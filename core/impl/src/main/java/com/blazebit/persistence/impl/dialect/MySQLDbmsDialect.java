@@ -23,6 +23,8 @@ import com.blazebit.persistence.spi.OrderByElement;
 import com.blazebit.persistence.spi.UpdateJoinStyle;
 import com.blazebit.persistence.spi.ValuesStrategy;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -198,4 +200,45 @@ public class MySQLDbmsDialect extends DefaultDbmsDialect {
         return false;
     }
 
+    @Override
+    public String getEstimatedRowCountSql(String sql) {
+        return "EXPLAIN " + sql;
+    }
+
+    @Override
+    public long extractEstimatedRowCount(ResultSet rs) throws SQLException {
+        // The plan contains a row per table access with the estimated rows and the percentage that is expected to remain after filtering
+        // The estimate for the outermost query block is the product of the rows of all its table accesses
+        boolean hasFiltered = false;
+        for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+            if ("filtered".equalsIgnoreCase(rs.getMetaData().getColumnLabel(i))) {
+                hasFiltered = true;
+                break;
+            }
+        }
+        long outermostId = -1L;
+        double estimate = -1d;
+        while (rs.next()) {
+            long id = rs.getLong("id");
+            if (outermostId == -1L) {
+                outermostId = id;
+            } else if (outermostId != id) {
+                continue;
+            }
+            long rows = rs.getLong("rows");
+            if (rs.wasNull()) {
+                continue;
+            }
+            double factor = rows;
+            if (hasFiltered) {
+                double filtered = rs.getDouble("filtered");
+                if (!rs.wasNull()) {
+                    factor = factor * filtered / 100d;
+                }
+            }
+            estimate = estimate == -1d ? factor : estimate * factor;
+        }
+        return estimate == -1d ? -1L : Math.round(estimate);
+    }
+
 }
@@ -16,11 +16,15 @@
 
 package com.blazebit.persistence.impl.dialect;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.spi.DbmsLimitHandler;
@@ -36,6 +40,11 @@ import com.blazebit.persistence.spi.UpdateJoinStyle;
  */
 public class PostgreSQLDbmsDialect extends DefaultDbmsDialect {
 
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("\\(cost=[^ ]+ rows=(\\d+)");
+    private static final String WORKERS_PLANNED_PREFIX = "Workers Planned: ";
+    private static final Pattern UNFILTERED_COUNT_PATTERN = Pattern.compile("select count\\((?:\\*|distinct [\\w.]+|[\\w.]+)\\)(?: as \\w+)? from ([\\w$.\"]+)(?: (?:as )?\\w+)?", Pattern.CASE_INSENSITIVE);
+    private static final String RELTUPLES_COLUMN = "reltuples";
+
     public PostgreSQLDbmsDialect() {
     }
 
@@ -298,4 +307,49 @@ public class PostgreSQLDbmsDialect extends DefaultDbmsDialect {
     public boolean supportsArbitraryLengthMultiset() {
         return true;
     }
+
+    @Override
+    public String getEstimatedRowCountSql(String sql) {
+        Matcher matcher = UNFILTERED_COUNT_PATTERN.matcher(sql.trim());
+        if (matcher.matches()) {
+            // Counting all rows of a table doesn't need planning, the statistics of the table contain the estimate
+            // Tables that were never analyzed have no statistics, so we fall back to the exact count for these
+            String table = matcher.group(1).replace("'", "''");
+            return "SELECT CASE WHEN c.relpages = 0 OR c.reltuples < 0 THEN -1 ELSE CAST(c.reltuples AS BIGINT) END AS " + RELTUPLES_COLUMN
+                    + " FROM pg_class c WHERE c.oid = to_regclass('" + table + "')";
+        }
+        return "EXPLAIN " + sql;
+    }
+
+    @Override
+    public long extractEstimatedRowCount(ResultSet rs) throws SQLException {
+        if (RELTUPLES_COLUMN.equalsIgnoreCase(rs.getMetaData().getColumnLabel(1))) {
+            return rs.next() ? rs.getLong(1) : -1L;
+        }
+        // The plan is a tree of nodes rendered one per line, e.g. "->  Seq Scan on tbl  (cost=0.00..35.50 rows=2550 width=4)"
+        // We skip the aggregate and gather nodes which are introduced by the count and take the row estimate of the first node below
+        int workersPlanned = 0;
+        while (rs.next()) {
+            String line = rs.getString(1).trim();
+            if (line.startsWith(WORKERS_PLANNED_PREFIX)) {
+                workersPlanned = Integer.parseInt(line.substring(WORKERS_PLANNED_PREFIX.length()).trim());
+                continue;
+            }
+            Matcher matcher = PLAN_ROWS_PATTERN.matcher(line);
+            if (!matcher.find()) {
+                continue;
+            }
+            String nodeName = line.substring(line.startsWith("->") ? 2 : 0, matcher.start()).trim();
+            if ("Aggregate".equals(nodeName) || "Finalize Aggregate".equals(nodeName) || "Partial Aggregate".equals(nodeName) || nodeName.startsWith("Gather")) {
+                continue;
+            }
+            long rows = Long.parseLong(matcher.group(1));
+            if (nodeName.startsWith("Parallel ")) {
+                // The estimate of parallel nodes is per worker, the leader also participates
+                rows *= workersPlanned + 1;
+            }
+            return rows;
+        }
+        return -1L;
+    }
 }
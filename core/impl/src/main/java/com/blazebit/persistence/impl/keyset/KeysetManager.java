@@ -29,7 +29,9 @@ import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.JpaProvider;
 
 import java.io.Serializable;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  *
@@ -46,6 +48,7 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
     private final ParameterManager parameterManager;
     private final JpaProvider jpaProvider;
     private final DbmsDialect dbmsDialect;
+    private final Set<String> keysetParameterNames = new HashSet<>();
     private List<OrderByExpression> orderByExpressions;
 
     public KeysetManager(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder, ResolvingQueryGenerator queryGenerator, ParameterManager parameterManager, JpaProvider jpaProvider, DbmsDialect dbmsDialect) {
@@ -60,16 +63,29 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
         return getKeysetLink() != null;
     }
 
+    public boolean isKeysetParameter(String parameterName) {
+        return keysetParameterNames.contains(parameterName);
+    }
+
     public void initialize(List<OrderByExpression> orderByExpressions) {
         this.orderByExpressions = orderByExpressions;
 
         KeysetLink keysetLink = getKeysetLink();
+        if (keysetLink != null) {
+            initialize(keysetLink);
+        }
+    }
+
+    public void initialize(KeysetLink keysetLink) {
         // Checks if keyset fits for order by expressions
         keysetLink.initialize(orderByExpressions);
     }
 
     public void buildOptimizedKeysetPredicate(StringBuilder sb, int positionalOffset) {
-        KeysetLink keysetLink = getKeysetLink();
+        buildOptimizedKeysetPredicate(sb, getKeysetLink(), positionalOffset);
+    }
+
+    public void buildOptimizedKeysetPredicate(StringBuilder sb, KeysetLink keysetLink, int positionalOffset) {
         KeysetMode keysetMode = keysetLink.getKeysetMode();
         Keyset keyset = keysetLink.getKeyset();
         Serializable[] key = keyset.getTuple();
@@ -151,7 +167,10 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
     }
 
     public void buildKeysetPredicate(StringBuilder sb, int positionalOffset) {
-        KeysetLink keysetLink = getKeysetLink();
+        buildKeysetPredicate(sb, getKeysetLink(), positionalOffset);
+    }
+
+    public void buildKeysetPredicate(StringBuilder sb, KeysetLink keysetLink, int positionalOffset) {
         KeysetMode keysetMode = keysetLink.getKeysetMode();
         Keyset keyset = keysetLink.getKeyset();
         Serializable[] key = keyset.getTuple();
@@ -402,11 +421,13 @@ public class KeysetManager extends AbstractKeysetBuilderEndedListener {
             sb.append('?');
             String parameterName = Integer.toString(position + positionalOffset);
             sb.append(parameterName);
+            keysetParameterNames.add(parameterName);
             parameterManager.addParameterMapping(parameterName, keyElement, ClauseType.WHERE, queryBuilder);
         } else {
             sb.append(":");
             String parameterName = new StringBuilder(KEY_SET_PARAMETER_NAME).append('_').append(position).toString();
             sb.append(parameterName);
+            keysetParameterNames.add(parameterName);
             parameterManager.addParameterMapping(parameterName, keyElement, ClauseType.WHERE, queryBuilder);
         }
     }
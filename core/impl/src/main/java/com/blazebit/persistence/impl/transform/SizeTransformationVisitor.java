@@ -182,7 +182,7 @@ public class SizeTransformationVisitor extends ExpressionModifierCollectingResul
     private boolean requiresBlacklistedNode(PathExpression sizeArg) {
         JoinNode sizeArgBaseNode = (JoinNode) sizeArg.getBaseNode();
         if (joinNodeBlacklist.contains(sizeArgBaseNode)) {
-            return sizeArgBaseNode.getNodes().keySet().contains(sizeArg.getField());
+            return sizeArgBaseNode.getNode(sizeArg.getField()) != null;
         } else {
             return false;
         }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Computes a fingerprint for JPQL query strings that identifies the shape of a query.
+ * The fingerprint is independent of parameter names, literal values, the size of literal lists and alias names.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public final class QueryFingerprintUtils {
+
+    private static final Set<String> ADDITIONAL_KEYWORDS = new HashSet<>(Arrays.asList(
+            "THEN", "NULLS", "FIRST", "LAST", "UNION", "INTERSECT", "EXCEPT", "WITH", "LIMIT", "OFFSET", "INSERT", "INTO",
+            "TRUE", "FALSE", "RIGHT", "FULL", "CROSS", "LATERAL", "OVER", "PARTITION", "FILTER", "ROWS", "RANGE", "RECURSIVE"
+    ));
+    private static final Set<String> FUNCTION_KEYWORDS = new HashSet<>(Arrays.asList(
+            "ABS", "AVG", "COALESCE", "CONCAT", "COUNT", "ENTRY", "FUNCTION", "INDEX", "KEY", "LENGTH", "LOCATE", "LOWER", "MAX", "MIN",
+            "MOD", "NULLIF", "OBJECT", "SIZE", "SQRT", "SUBSTRING", "SUM", "TREAT", "TRIM", "TYPE", "UPPER", "VALUE"
+    ));
+    private static final Pattern LITERAL_LIST_PATTERN = Pattern.compile("\\(\\?(?:\\s*,\\s*\\?)+\\)");
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private QueryFingerprintUtils() {
+    }
+
+    /**
+     * Returns a hex encoded 64 bit hash of the normalized query string.
+     *
+     * @param queryString The JPQL query string
+     * @return The fingerprint
+     */
+    public static String getFingerprint(String queryString) {
+        String normalized = normalize(queryString);
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+            hash ^= c & 0xFF;
+            hash *= FNV_PRIME;
+        }
+        String hex = Long.toHexString(hash);
+        StringBuilder sb = new StringBuilder(16);
+        for (int i = hex.length(); i < 16; i++) {
+            sb.append('0');
+        }
+        return sb.append(hex).toString();
+    }
+
+    /**
+     * Normalizes the given query string by replacing parameters and literals with <code>?</code>,
+     * literal lists with a single <code>?</code> and aliases by canonical names in the order of their appearance.
+     *
+     * @param queryString The JPQL query string
+     * @return The normalized query string
+     */
+    public static String normalize(String queryString) {
+        List<String> tokens = tokenize(queryString);
+        Set<String> aliases = collectAliases(tokens);
+        Map<String, String> canonicalAliases = new HashMap<>(aliases.size());
+        StringBuilder sb = new StringBuilder(queryString.length());
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (aliases.contains(token) && !isAttribute(tokens, i)) {
+                String canonicalAlias = canonicalAliases.get(token);
+                if (canonicalAlias == null) {
+                    canonicalAlias = "a" + canonicalAliases.size();
+                    canonicalAliases.put(token, canonicalAlias);
+                }
+                sb.append(canonicalAlias);
+            } else {
+                sb.append(token);
+            }
+        }
+        return LITERAL_LIST_PATTERN.matcher(sb).replaceAll("(?)");
+    }
+
+    private static List<String> tokenize(String queryString) {
+        List<String> tokens = new ArrayList<>();
+        int length = queryString.length();
+        int i = 0;
+        while (i < length) {
+            char c = queryString.charAt(i);
+            int end = i + 1;
+            if (Character.isWhitespace(c)) {
+                while (end < length && Character.isWhitespace(queryString.charAt(end))) {
+                    end++;
+                }
+                tokens.add(" ");
+            } else if (c == '\'') {
+                // String literal with '' as escape for the quote character
+                while (end < length) {
+                    if (queryString.charAt(end) == '\'') {
+                        if (end + 1 < length && queryString.charAt(end + 1) == '\'') {
+                            end++;
+                        } else {
+                            break;
+                        }
+                    }
+                    end++;
+                }
+                end = Math.min(end + 1, length);
+                // The function name of a function invocation is part of the query shape
+                if (isFunctionNamePosition(tokens)) {
+                    tokens.add(queryString.substring(i, end));
+                } else {
+                    tokens.add("?");
+                }
+            } else if ((c == ':' || c == '?') && end < length && Character.isJavaIdentifierPart(queryString.charAt(end))) {
+                // Named or positional parameter
+                while (end < length && Character.isJavaIdentifierPart(queryString.charAt(end))) {
+                    end++;
+                }
+                tokens.add("?");
+            } else if (Character.isDigit(c)) {
+                // Numeric literal including decimals, exponents and type suffixes
+                while (end < length) {
+                    char next = queryString.charAt(end);
+                    if (Character.isLetterOrDigit(next) || next == '.' || (next == '-' || next == '+') && Character.toUpperCase(queryString.charAt(end - 1)) == 'E') {
+                        end++;
+                    } else {
+                        break;
+                    }
+                }
+                tokens.add("?");
+            } else if (Character.isJavaIdentifierStart(c)) {
+                while (end < length && Character.isJavaIdentifierPart(queryString.charAt(end))) {
+                    end++;
+                }
+                tokens.add(queryString.substring(i, end));
+            } else {
+                tokens.add(Character.toString(c));
+            }
+            i = end;
+        }
+        return tokens;
+    }
+
+    private static boolean isFunctionNamePosition(List<String> tokens) {
+        int index = tokens.size() - 1;
+        if (index >= 0 && " ".equals(tokens.get(index))) {
+            index--;
+        }
+        if (index < 0 || !"(".equals(tokens.get(index))) {
+            return false;
+        }
+        index--;
+        if (index >= 0 && " ".equals(tokens.get(index))) {
+            index--;
+        }
+        return index >= 0 && "FUNCTION".equalsIgnoreCase(tokens.get(index));
+    }
+
+    private static Set<String> collectAliases(List<String> tokens) {
+        Set<String> aliases = new HashSet<>();
+        // Tracks for every open parenthesis whether it encloses function arguments
+        Deque<Boolean> functionArguments = new ArrayDeque<>();
+        String previousWord = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (!isWord(token)) {
+                if ("(".equals(token)) {
+                    functionArguments.push(previousWord != null && isFunctionName(previousWord));
+                } else if (")".equals(token) && !functionArguments.isEmpty()) {
+                    functionArguments.pop();
+                }
+                if (!" ".equals(token)) {
+                    previousWord = null;
+                }
+                continue;
+            }
+            if (!isKeyword(token) && !isAttribute(tokens, i)) {
+                if (i + 1 < tokens.size() && ".".equals(tokens.get(i + 1))) {
+                    // The start of a path is always an alias
+                    aliases.add(token);
+                } else if (previousWord != null && !isKeyword(previousWord)) {
+                    // A word following a path or entity name declares an alias
+                    aliases.add(token);
+                } else if ("AS".equalsIgnoreCase(previousWord) && (functionArguments.isEmpty() || !functionArguments.peek())) {
+                    // A word following AS declares an alias unless it is the type of e.g. a TREAT or CAST
+                    aliases.add(token);
+                }
+            }
+            previousWord = token;
+        }
+        return aliases;
+    }
+
+    private static boolean isAttribute(List<String> tokens, int index) {
+        return index > 0 && ".".equals(tokens.get(index - 1));
+    }
+
+    private static boolean isFunctionName(String word) {
+        return !isKeyword(word) || FUNCTION_KEYWORDS.contains(word.toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean isWord(String token) {
+        return Character.isJavaIdentifierStart(token.charAt(0));
+    }
+
+    private static boolean isKeyword(String word) {
+        String upperWord = word.toUpperCase(Locale.ROOT);
+        return Keywords.JPQL.contains(upperWord) || ADDITIONAL_KEYWORDS.contains(upperWord);
+    }
+}
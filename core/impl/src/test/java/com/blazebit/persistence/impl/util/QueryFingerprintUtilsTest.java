@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueryFingerprintUtilsTest {
+
+    @Test
+    public void normalizeAliases() {
+        Assert.assertEquals(
+                "SELECT a0 FROM Document a0 JOIN a0.owner a1 WHERE a1.name = ?",
+                QueryFingerprintUtils.normalize("SELECT d FROM Document d JOIN d.owner owner_1 WHERE owner_1.name = :param_0")
+        );
+        Assert.assertEquals(
+                QueryFingerprintUtils.normalize("SELECT d.name AS n FROM Document d ORDER BY n ASC"),
+                QueryFingerprintUtils.normalize("SELECT doc.name AS docName FROM Document doc ORDER BY docName ASC")
+        );
+    }
+
+    @Test
+    public void normalizeTypesNotAsAliases() {
+        Assert.assertEquals(
+                "SELECT TREAT(a0.owner AS Person) FROM Document a0",
+                QueryFingerprintUtils.normalize("SELECT TREAT(d.owner AS Person) FROM Document d")
+        );
+        Assert.assertNotEquals(
+                QueryFingerprintUtils.normalize("SELECT d FROM Animal d WHERE TREAT(d AS Cat).name = :name"),
+                QueryFingerprintUtils.normalize("SELECT d FROM Animal d WHERE TREAT(d AS Dog).name = :name")
+        );
+        Assert.assertNotEquals(
+                QueryFingerprintUtils.normalize("SELECT CAST(d.age AS Integer) FROM Document d"),
+                QueryFingerprintUtils.normalize("SELECT CAST(d.age AS String) FROM Document d")
+        );
+        Assert.assertEquals(
+                "SELECT a0 FROM Document a0 WHERE a0.id IN (SELECT a1.id AS a2 FROM Document a1 ORDER BY a2)",
+                QueryFingerprintUtils.normalize("SELECT d FROM Document d WHERE d.id IN (SELECT sub.id AS subId FROM Document sub ORDER BY subId)")
+        );
+    }
+
+    @Test
+    public void normalizeLiterals() {
+        Assert.assertEquals(
+                "SELECT a0 FROM Document a0 WHERE a0.name = ? AND a0.age > ? AND a0.id IN (?)",
+                QueryFingerprintUtils.normalize("SELECT d FROM Document d WHERE d.name = 'It''s' AND d.age > 10L AND d.id IN (1, 2, 3)")
+        );
+        Assert.assertEquals(
+                "SELECT FUNCTION('group_concat', a0.name) FROM Document a0 WHERE a0.age = ?",
+                QueryFingerprintUtils.normalize("SELECT FUNCTION('group_concat', d.name) FROM Document d WHERE d.age = ?1")
+        );
+    }
+
+    @Test
+    public void fingerprint() {
+        String fingerprint = QueryFingerprintUtils.getFingerprint("SELECT d FROM Document d WHERE d.id IN :ids");
+        Assert.assertEquals(16, fingerprint.length());
+        Assert.assertEquals(fingerprint, QueryFingerprintUtils.getFingerprint("SELECT x FROM Document x WHERE x.id IN :param_1"));
+        Assert.assertNotEquals(fingerprint, QueryFingerprintUtils.getFingerprint("SELECT d FROM Document d WHERE d.name IN :ids"));
+    }
+}
@@ -181,6 +181,10 @@ public class SimpleQueryGenerator implements Expression.Visitor {
         return oldParameterRenderingMode;
     }
 
+    public ParameterRenderingMode getParameterRenderingMode() {
+        return parameterRenderingMode;
+    }
+
     protected String getBooleanExpression(boolean value) {
         return value ? "TRUE" : "FALSE";
     }
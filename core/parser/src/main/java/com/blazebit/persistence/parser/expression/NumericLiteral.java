@@ -37,7 +37,8 @@ public class NumericLiteral extends AbstractNumericExpression implements Literal
 
     @Override
     public Expression copy(ExpressionCopyContext copyContext) {
-        return new NumericLiteral(value, getNumericType());
+        // We can do this since this is immutable
+        return this;
     }
 
     @Override
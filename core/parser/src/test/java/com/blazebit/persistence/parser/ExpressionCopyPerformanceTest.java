@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser;
+
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.parser.expression.ExpressionCopyContext;
+import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
+import com.blazebit.persistence.parser.expression.SimpleCachingExpressionFactory;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.HashMap;
+
+/**
+ * Benchmarks the copying of literal heavy expressions, which happens for every expression cache hit and query builder copy.
+ * The GC calls and times reported by the benchmark rule show the allocations of the copies.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class ExpressionCopyPerformanceTest {
+
+    private static final String LITERAL_EXPRESSION = "CASE WHEN d.age > 10 THEN 'old' WHEN d.age > 5 THEN 'middle' WHEN d.age > 1 THEN 'young' ELSE COALESCE(d.name, 'unknown', 'none', '') END";
+    private static final int COPIES = 1000;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+    private final ExpressionFactory cachingExpressionFactory = new SimpleCachingExpressionFactory(new ExpressionFactoryImpl(new HashMap<String, FunctionKind>(), true, true));
+    private final Expression expression = cachingExpressionFactory.createSimpleExpression(LITERAL_EXPRESSION, false, true, false, null, null);
+
+    @BenchmarkOptions(benchmarkRounds = 1000, warmupRounds = 500)
+    @Test
+    public void testCopyLiteralExpression() {
+        Expression copy = null;
+        for (int i = 0; i < COPIES; i++) {
+            copy = expression.copy(ExpressionCopyContext.EMPTY);
+        }
+        Assert.assertEquals(expression, copy);
+    }
+
+    @BenchmarkOptions(benchmarkRounds = 1000, warmupRounds = 500)
+    @Test
+    public void testCreateCachedLiteralExpression() {
+        Expression copy = null;
+        for (int i = 0; i < COPIES; i++) {
+            copy = cachingExpressionFactory.createSimpleExpression(LITERAL_EXPRESSION, false, true, false, null, null);
+        }
+        Assert.assertEquals(expression, copy);
+    }
+}
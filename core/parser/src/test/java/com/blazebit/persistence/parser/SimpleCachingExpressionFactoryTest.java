@@ -20,6 +20,7 @@ import com.blazebit.persistence.parser.expression.ArrayExpression;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
+import com.blazebit.persistence.parser.expression.FunctionExpression;
 import com.blazebit.persistence.parser.expression.MacroConfiguration;
 import com.blazebit.persistence.parser.expression.MacroFunction;
 import com.blazebit.persistence.parser.expression.PathElementExpression;
@@ -104,4 +105,18 @@ public class SimpleCachingExpressionFactoryTest {
         Assert.assertFalse(expr1 == expr2);
         Assert.assertEquals(expr1, expr2);
     }
+
+    @Test
+    public void testCreateSimpleExpressionCacheSharesImmutableNodes() {
+        ExpressionFactory ef = new SimpleCachingExpressionFactory(new ExpressionFactoryImpl(new HashMap<String, FunctionKind>(), true, true));
+        String expressionString = "COALESCE(Hello.world, 'abc', 1)";
+
+        FunctionExpression expr1 = (FunctionExpression) ef.createSimpleExpression(expressionString, false, true, false, null, null);
+        FunctionExpression expr2 = (FunctionExpression) ef.createSimpleExpression(expressionString, false, true, false, null, null);
+
+        Assert.assertFalse(expr1 == expr2);
+        Assert.assertFalse(expr1.getExpressions().get(0) == expr2.getExpressions().get(0));
+        Assert.assertSame(expr1.getExpressions().get(1), expr2.getExpressions().get(1));
+        Assert.assertSame(expr1.getExpressions().get(2), expr2.getExpressions().get(2));
+    }
 }
@@ -301,4 +301,14 @@ public class DelegatingDbmsDialect implements DbmsDialect {
     public ResultSet extractReturningResult(PreparedStatement ps) throws SQLException {
         return delegate.extractReturningResult(ps);
     }
+
+    @Override
+    public String getEstimatedRowCountSql(String sql) {
+        return delegate.getEstimatedRowCountSql(sql);
+    }
+
+    @Override
+    public long extractEstimatedRowCount(ResultSet rs) throws SQLException {
+        return delegate.extractEstimatedRowCount(rs);
+    }
 }
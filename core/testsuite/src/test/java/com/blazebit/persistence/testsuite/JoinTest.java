@@ -39,6 +39,7 @@ import com.blazebit.persistence.testsuite.tx.TxVoidWork;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.JoinType;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
@@ -594,4 +595,129 @@ public class JoinTest extends AbstractCoreTest {
         final String expected = "SELECT name.name FROM Document name";
         assertEquals(expected, crit.getQueryString());
     }
+
+    @Test
+    public void testUnusedJoinPruning() {
+        CriteriaBuilder<Document> crit = cbf.create(em, Document.class, "d")
+                .setProperty(ConfigurationProperties.UNUSED_JOIN_PRUNING, "true")
+                .leftJoin("owner", "o")
+                .leftJoin("o.partnerDocument", "pd")
+                .leftJoin("versions", "v")
+                .where("d.name").eq("doc1");
+        // Assert that the unused single valued left joins are omitted, but not the collection join
+        final String expected = "SELECT d FROM Document d LEFT JOIN d.versions v WHERE d.name = :param_0";
+        assertEquals(expected, crit.getQueryString());
+        crit.getResultList();
+    }
+
+    @Test
+    public void testUnusedJoinPruningKeepsReferencedJoins() {
+        CriteriaBuilder<Document> crit = cbf.create(em, Document.class, "d")
+                .setProperty(ConfigurationProperties.UNUSED_JOIN_PRUNING, "true")
+                .leftJoin("owner", "o")
+                .leftJoin("o.partnerDocument", "pd")
+                .whereExists()
+                    .from(Person.class, "p")
+                    .where("p.id").eqExpression("pd.owner.id")
+                .end();
+        // Assert that joins referenced in subqueries are retained
+        final String expected = "SELECT d FROM Document d LEFT JOIN d.owner o LEFT JOIN o.partnerDocument pd WHERE EXISTS (SELECT 1 FROM Person p WHERE p.id = pd.owner.id)";
+        assertEquals(expected, crit.getQueryString());
+        crit.getResultList();
+    }
+
+    @Test
+    public void testUnusedJoinPruningResultEquivalence() {
+        // Given
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person p1 = new Person("P1");
+                Person p2 = new Person("P2");
+                em.persist(p1);
+                em.persist(p2);
+
+                Document d1 = new Document("D1", p1, new Version(1), new Version(2));
+                d1.setResponsiblePerson(p1);
+                Document d2 = new Document("D2", p2);
+                d2.setParent(d1);
+                Document d3 = new Document("D3", p1, new Version(1));
+                d3.setParent(d2);
+                d3.setResponsiblePerson(p2);
+                em.persist(d1);
+                em.persist(d2);
+                em.persist(d3);
+
+                p1.setPartnerDocument(d1);
+                p2.setPartnerDocument(d1);
+                em.merge(p1);
+                em.merge(p2);
+            }
+        });
+
+        // When
+        CriteriaBuilder<String> withoutPruning = createUnusedJoinPruningCriteria(false);
+        CriteriaBuilder<String> withPruning = createUnusedJoinPruningCriteria(true);
+
+        // Then
+        // Assert that only the unused single valued left joins are omitted, but not the left joins over collections
+        assertEquals("SELECT d.name FROM Document d LEFT JOIN d.parent parentDocument LEFT JOIN parentDocument.responsiblePerson parentResponsible LEFT JOIN d.responsiblePerson responsible"
+                + " LEFT JOIN d.versions v LEFT JOIN d.partners partner ORDER BY d.name ASC", withoutPruning.getQueryString());
+        assertEquals("SELECT d.name FROM Document d LEFT JOIN d.versions v LEFT JOIN d.partners partner ORDER BY d.name ASC", withPruning.getQueryString());
+        List<String> expected = withoutPruning.getResultList();
+        // D1 is multiplied by its two versions and two partners
+        assertEquals(6, expected.size());
+        assertEquals(expected, withPruning.getResultList());
+    }
+
+    @Test
+    public void testUnusedJoinPruningResultEquivalenceWithCollectionPredicate() {
+        // Given
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                Person p1 = new Person("P1");
+                em.persist(p1);
+
+                Document d1 = new Document("D1", p1, new Version(1), new Version(2));
+                Document d2 = new Document("D2", p1);
+                d2.setParent(d1);
+                em.persist(d1);
+                em.persist(d2);
+            }
+        });
+
+        // When
+        List<String> withoutPruning = createUnusedJoinPruningCriteria(false).where("v.versionIdx").isNull().getResultList();
+        List<String> withPruning = createUnusedJoinPruningCriteria(true).where("v.versionIdx").isNull().getResultList();
+
+        // Then
+        // Only D2 has no version, so the left join over the collection must still produce its null row
+        assertEquals(1, withoutPruning.size());
+        assertEquals("D2", withoutPruning.get(0));
+        assertEquals(withoutPruning, withPruning);
+    }
+
+    private CriteriaBuilder<String> createUnusedJoinPruningCriteria(boolean pruning) {
+        return cbf.create(em, String.class)
+                .setProperty(ConfigurationProperties.UNUSED_JOIN_PRUNING, Boolean.toString(pruning))
+                .from(Document.class, "d")
+                .leftJoin("d.parent", "parentDocument")
+                .leftJoin("parentDocument.responsiblePerson", "parentResponsible")
+                .leftJoin("d.responsiblePerson", "responsible")
+                .leftJoin("d.versions", "v")
+                .leftJoin("d.partners", "partner")
+                .select("d.name")
+                .orderByAsc("d.name");
+    }
+
+    @Test
+    public void testUnusedJoinPruningDisabledByDefault() {
+        CriteriaBuilder<Document> crit = cbf.create(em, Document.class, "d")
+                .leftJoin("owner", "o");
+        final String expected = "SELECT d FROM Document d LEFT JOIN d.owner o";
+        assertEquals(expected, crit.getQueryString());
+    }
 }
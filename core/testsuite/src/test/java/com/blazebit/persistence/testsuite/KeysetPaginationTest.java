@@ -17,6 +17,7 @@
 package com.blazebit.persistence.testsuite;
 
 import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.DefaultPageWindowCache;
 import com.blazebit.persistence.KeysetPage;
 import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.PagedList;
@@ -36,6 +37,8 @@ import javax.persistence.Tuple;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 
 /**
  * @author Christian Beikov
@@ -118,6 +121,154 @@ public class KeysetPaginationTest extends AbstractCoreTest {
         assertEquals("doc5", result.getKeysetPage().getHighest().getTuple()[1]);
     }
 
+    @Test
+    public void testPageWindowCache() {
+        CriteriaBuilder<Tuple> crit = cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name").select("d.owner.name");
+        crit.orderByDesc("d.owner.name")
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+        CountingPageWindowCache cache = new CountingPageWindowCache();
+
+        PagedList<Tuple> expected = crit.page(2, 2).getResultList();
+        PagedList<Tuple> result = crit.page(0, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(6, result.getTotalSize());
+        assertEquals(0, cache.keysetPageHits);
+
+        // The cached key set of the first page allows to navigate to the next page through key set pagination
+        PaginatedCriteriaBuilder<Tuple> pcb = crit.page(2, 2).withPageWindowCache(cache);
+        String queryString = pcb.getQueryString();
+        result = pcb.getResultList();
+        assertEquals(1, cache.keysetPageHits);
+        // The cached key set page must not alter the builder
+        assertEquals(queryString, pcb.getQueryString());
+        assertEquals(6, result.getTotalSize());
+        assertEquals(2, result.size());
+        assertEquals(expected.get(0).get(0), result.get(0).get(0));
+        assertEquals(expected.get(1).get(0), result.get(1).get(0));
+        assertNotNull(result.getKeysetPage());
+    }
+
+    @Test
+    public void testPageWindowCacheDisabled() {
+        CriteriaBuilder<Tuple> crit = cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name").select("d.owner.name");
+        crit.orderByDesc("d.owner.name")
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+
+        String expectedQueryString = crit.page(2, 2).getQueryString();
+        PaginatedCriteriaBuilder<Tuple> pcb = crit.page(2, 2).withPageWindowCache(new DefaultPageWindowCache()).withPageWindowCache(null);
+        assertFalse(pcb.isKeysetExtraction());
+        assertEquals(expectedQueryString, pcb.getQueryString());
+    }
+
+    @Test
+    public void testPageWindowCacheParameterValues() {
+        CriteriaBuilder<Tuple> crit = cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name").select("d.owner.name")
+                .where("d.name").notEq().parameter("name");
+        crit.orderByDesc("d.owner.name")
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+        CountingPageWindowCache cache = new CountingPageWindowCache();
+
+        PagedList<Tuple> result = crit.setParameter("name", "doc1").page(0, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(5, result.getTotalSize());
+
+        // Different parameter values of the count query result in a different cache entry
+        result = crit.setParameter("name", "doc2").page(2, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(0, cache.keysetPageHits);
+        assertEquals(5, result.getTotalSize());
+
+        result = crit.setParameter("name", "doc1").page(2, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(1, cache.keysetPageHits);
+        assertEquals(5, result.getTotalSize());
+    }
+
+    @Test
+    public void testPageWindowCacheOrderBy() {
+        CriteriaBuilder<Tuple> crit = cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name").select("d.owner.name");
+        crit.orderByDesc("d.owner.name")
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+        CountingPageWindowCache cache = new CountingPageWindowCache();
+        crit.page(0, 2).withPageWindowCache(cache).getResultList();
+
+        CriteriaBuilder<Tuple> reversedCrit = cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name").select("d.owner.name");
+        reversedCrit.orderByAsc("d.owner.name")
+                .orderByDesc("d.name")
+                .orderByAsc("d.id");
+        PagedList<Tuple> expected = reversedCrit.page(2, 2).getResultList();
+
+        // A different sort order must not reuse the key sets of the cached pages
+        PagedList<Tuple> result = reversedCrit.page(2, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(0, cache.keysetPageHits);
+        assertEquals(6, result.getTotalSize());
+        assertEquals(2, result.size());
+        assertEquals(expected.get(0).get(0), result.get(0).get(0));
+        assertEquals(expected.get(1).get(0), result.get(1).get(0));
+
+        // Navigating with the original sort order again still uses the cached key sets
+        result = crit.page(2, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(1, cache.keysetPageHits);
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    public void testPageWindowCacheExpiration() {
+        CriteriaBuilder<Tuple> crit = cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name").select("d.owner.name");
+        crit.orderByDesc("d.owner.name")
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+        final long[] time = { 0L };
+        CountingPageWindowCache cache = new CountingPageWindowCache(1000L) {
+            @Override
+            protected long currentTimeMillis() {
+                return time[0];
+            }
+        };
+
+        crit.page(0, 2).withPageWindowCache(cache).getResultList();
+        time[0] = 1000L;
+        crit.page(2, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(0, cache.keysetPageHits);
+
+        cache.clear();
+        crit.page(0, 2).withPageWindowCache(cache).getResultList();
+        crit.page(2, 2).withPageWindowCache(cache).getResultList();
+        assertEquals(1, cache.keysetPageHits);
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static class CountingPageWindowCache extends DefaultPageWindowCache {
+
+        private int keysetPageHits;
+
+        public CountingPageWindowCache() {
+            super();
+        }
+
+        public CountingPageWindowCache(long timeToLiveMillis) {
+            super(16, 8, timeToLiveMillis);
+        }
+
+        @Override
+        public KeysetPage getKeysetPage(Object queryKey, int firstResult, int maxResults) {
+            KeysetPage keysetPage = super.getKeysetPage(queryKey, firstResult, maxResults);
+            if (keysetPage != null) {
+                keysetPageHits++;
+            }
+            return keysetPage;
+        }
+    }
+
     @Test
     // Test for #641
     public void testChangingLimit() {
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import javax.persistence.Tuple;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures building and rendering a query with more than 50 joins, which is dominated by the join node lookups during path resolution.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class ManyJoinsBenchmarkTest extends AbstractCoreTest {
+
+    private static final int EXPLICIT_JOINS = 64;
+
+    @Rule
+    public TestRule benchmarkRun = new BenchmarkRule();
+
+    @Test
+    @BenchmarkOptions(benchmarkRounds = 50, warmupRounds = 20)
+    public void testBuildQueryWithManyJoins() {
+        CriteriaBuilder<Tuple> criteria = cbf.create(em, Tuple.class).from(Document.class, "d");
+        for (int i = 0; i < EXPLICIT_JOINS; i++) {
+            criteria.leftJoin("d.partners", "p" + i);
+        }
+        for (int i = 0; i < EXPLICIT_JOINS; i++) {
+            // Every select item adds two implicit joins below an explicit join
+            criteria.select("p" + i + ".friend.partnerDocument.name");
+        }
+
+        String queryString = criteria.getQueryString();
+        assertEquals(EXPLICIT_JOINS * 3, countOccurrences(queryString, " JOIN "));
+    }
+
+    private static int countOccurrences(String string, String needle) {
+        int count = 0;
+        int index = string.indexOf(needle);
+        while (index != -1) {
+            count++;
+            index = string.indexOf(needle, index + needle.length());
+        }
+        return count;
+    }
+}
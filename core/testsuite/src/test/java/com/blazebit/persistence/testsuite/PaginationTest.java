@@ -22,6 +22,7 @@ import com.blazebit.persistence.DefaultKeyset;
 import com.blazebit.persistence.DefaultKeysetPage;
 import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.spi.ExtendedQuerySupport;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
@@ -41,9 +42,13 @@ import org.junit.experimental.categories.Category;
 import javax.persistence.EntityManager;
 import javax.persistence.Tuple;
 import java.io.Serializable;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -1268,6 +1273,103 @@ public class PaginationTest extends AbstractCoreTest {
         assertEquals(2, result.getTotalSize());
     }
 
+    @Test
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    public void testEstimatedCount() {
+        analyzeTables();
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .where("owner.name").eq("Karl1")
+                .orderByAsc("id")
+                .page(0, 1)
+                .withEstimatedCount(true);
+        // The count query must not be inlined as that would count exactly
+        assertFalse(cb.getQueryString().contains("COUNT"));
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(1, result.size());
+        assertEquals("doc1", result.get(0).getName());
+        if (dbmsDialect.getEstimatedRowCountSql("select 1") == null) {
+            // Falls back to the exact count
+            assertFalse(result.isTotalSizeEstimated());
+            assertEquals(3, result.getTotalSize());
+        } else {
+            assertTrue(result.isTotalSizeEstimated());
+            assertEstimate(3, result.getTotalSize());
+        }
+    }
+
+    @Test
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    public void testEstimatedCountUnfiltered() {
+        analyzeTables();
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .orderByAsc("id")
+                .page(0, 1)
+                .withEstimatedCount(true);
+        ExtendedQuerySupport extendedQuerySupport = cb.getService(ExtendedQuerySupport.class);
+        long estimate = extendedQuerySupport.getEstimatedRowCount(cb, cb.getCountQuery());
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(1, result.size());
+        if (dbmsDialect.getEstimatedRowCountSql("select 1") == null) {
+            assertEquals(-1L, estimate);
+            assertFalse(result.isTotalSizeEstimated());
+            assertEquals(7, result.getTotalSize());
+        } else {
+            assertEstimate(7, estimate);
+            assertTrue(result.isTotalSizeEstimated());
+            assertEstimate(7, result.getTotalSize());
+        }
+    }
+
+    private void assertEstimate(long expected, long estimate) {
+        assertTrue("Estimate " + estimate + " is too far off from " + expected, Math.abs(estimate - expected) <= Math.max(2L, expected / 2));
+    }
+
+    private void analyzeTables() {
+        // Without statistics, the estimates of the query planner are way off for small tables
+        if (!"postgresql".equals(dbms) && !dbms.startsWith("mysql")) {
+            return;
+        }
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                try (Statement statement = getConnection(em).createStatement()) {
+                    if ("postgresql".equals(dbms)) {
+                        statement.execute("ANALYZE document");
+                        statement.execute("ANALYZE person");
+                    } else {
+                        statement.execute("ANALYZE TABLE document, person");
+                    }
+                } catch (SQLException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testConcurrentCount() {
+        final AtomicInteger executions = new AtomicInteger();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                executions.incrementAndGet();
+                new Thread(command).start();
+            }
+        };
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .where("owner.name").eq("Karl1")
+                .orderByAsc("id")
+                .page(0, 1)
+                .withCountQueryExecutor(executor);
+        // The count query must not be inlined as it is executed separately
+        assertFalse(cb.getQueryString().contains("COUNT"));
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(1, executions.get());
+        assertEquals(1, result.size());
+        assertEquals("doc1", result.get(0).getName());
+        assertEquals(3, result.getTotalSize());
+    }
+
     // Test for #1209
     // NOTE: DataNucleus renders the literal `(1)` for the byte array parameter on PostgreSQL which is wrong
     @Test
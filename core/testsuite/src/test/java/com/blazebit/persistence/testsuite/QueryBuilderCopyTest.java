@@ -16,10 +16,14 @@
 
 package com.blazebit.persistence.testsuite;
 
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.testsuite.entity.Document;
 import com.blazebit.persistence.testsuite.entity.Person;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * @author Christian Beikov
  * @since 1.3.0
@@ -50,4 +54,20 @@ public class QueryBuilderCopyTest extends AbstractCoreTest {
                 .select("name")
                 .getResultList();
     }
+
+    @Test
+    public void testQueryCopyingConfiguration() {
+        CriteriaBuilder<Document> original = cbf.create(em, Document.class)
+                .setProperty(ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED, "false");
+        CriteriaBuilder<Document> copy = original.copy(Document.class)
+                .setProperty(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_SELECT, "false");
+        original.setProperty(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING, "false");
+
+        // The configuration is shared by the copy until one of the builders alters it
+        assertEquals("false", copy.getProperty(ConfigurationProperties.QUERY_PLAN_CACHE_ENABLED));
+        assertEquals("false", copy.getProperty(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_SELECT));
+        assertEquals("true", copy.getProperty(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING));
+        assertEquals("true", original.getProperty(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_SELECT));
+        assertEquals("false", original.getProperty(ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING));
+    }
 }
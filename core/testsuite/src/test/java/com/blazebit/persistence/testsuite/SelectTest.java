@@ -17,6 +17,7 @@
 package com.blazebit.persistence.testsuite;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 import java.util.Calendar;
 import java.util.List;
@@ -71,7 +72,41 @@ public class SelectTest extends AbstractCoreTest {
         assertEquals("SELECT :param FROM Document d", criteria.getQueryString());
         criteria.getResultList();
     }
-    
+
+    @Test
+    public void testSelectParameterLiteralRenderingCardinalityLimit() {
+        String[] values = { "a", "b", "a", "c", "a" };
+        String[] expectedQueries = {
+                "SELECT 'a' FROM Person p",
+                "SELECT 'b' FROM Person p",
+                "SELECT 'a' FROM Person p",
+                "SELECT :value FROM Person p",
+                "SELECT :value FROM Person p"
+        };
+        for (int i = 0; i < values.length; i++) {
+            CriteriaBuilder<String> criteria = cbf.create(em, String.class).from(Person.class, "p")
+                    .setProperty(ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT, "2")
+                    .select(":value")
+                    .setParameter("value", values[i]);
+
+            assertEquals(expectedQueries[i], criteria.getQueryString());
+            criteria.getResultList();
+        }
+    }
+
+    @Test
+    public void testSelectParameterLiteralRenderingCardinalityLimitIgnoresQueryStringRendering() {
+        // Only queries that are built for execution count the values
+        for (String value : new String[]{ "a", "b", "c" }) {
+            CriteriaBuilder<String> criteria = cbf.create(em, String.class).from(Document.class, "d")
+                    .setProperty(ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING_CARDINALITY_LIMIT, "1")
+                    .select(":value")
+                    .setParameter("value", value);
+
+            assertEquals("SELECT '" + value + "' FROM Document d", criteria.getQueryString());
+        }
+    }
+
     @Test
     public void testSelectNonEntity() {
         CriteriaBuilder<Integer> criteria = cbf.create(em, Integer.class).from(Document.class, "d");
@@ -557,4 +592,23 @@ public class SelectTest extends AbstractCoreTest {
         assertEquals("SELECT SUM(d.age) AS age, SUM(d.age) + 1 AS age2 FROM Document d", cb.getQueryString());
         cb.getResultList();
     }
+
+    @Test
+    public void testQueryFingerprint() {
+        CriteriaBuilder<Document> cb1 = cbf.create(em, Document.class, "d")
+                .innerJoin("d.owner", "o")
+                .where("o.name").eq("Karl")
+                .whereExpression("d.age > 10");
+        CriteriaBuilder<Document> cb2 = cbf.create(em, Document.class, "doc")
+                .innerJoin("doc.owner", "owner")
+                .where("owner.name").eq("Hans")
+                .whereExpression("doc.age > 20");
+
+        String fingerprint = cb1.getQueryFingerprint();
+        assertEquals(fingerprint, cb2.getQueryFingerprint());
+
+        cb1.orderByAsc("d.id");
+        assertNotEquals(fingerprint, cb1.getQueryFingerprint());
+        cb1.getResultList();
+    }
 }
@@ -167,6 +167,16 @@ public final class ConfigurationProperties {
      */
     public static final String UPDATER_ERROR_ON_INVALID_PLURAL_SETTER = "com.blazebit.persistence.view.updater.error_on_invalid_plural_setter";
 
+    /**
+     * The maximum number of collection elements that are inserted or deleted by a single collection DML statement when flushing collection changes.
+     * Larger changes are split into multiple statements with at most this many elements, to stay below the parameter limits of the databases.
+     * By default the batch size is <code>1000</code>.
+     * Valid values for this property are positive integers.
+     *
+     * @since 1.6.13
+     */
+    public static final String UPDATER_COLLECTION_DML_BATCH_SIZE = "com.blazebit.persistence.view.updater.collection_dml_batch_size";
+
     /**
      * A boolean flag that allows to disable a count query for a paginated criteria builder.
      *
@@ -257,6 +267,20 @@ public final class ConfigurationProperties {
      */
     public static final String CREATE_EMPTY_FLAT_VIEWS = "com.blazebit.persistence.view.create_empty_flat_views";
 
+    /**
+     * A boolean flag that allows to materialize the result list of a read-only flat view with only basic attributes in a compact columnar form.
+     * The values of every attribute are stored in a primitive array if possible and entity view objects are only created when accessing list elements.
+     * This is useful for keeping results of many rows as it reduces the retained heap usage, but every access to an element creates a new object.
+     * The peak heap usage is not reduced as the JPA provider materializes all tuples of the query result before they are converted.
+     * The compact form is not applied for paginated queries and can not be used for result streams.
+     *
+     * By default the compact result list is disabled i.e. the default value is <code>false</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.13
+     */
+    public static final String COMPACT_RESULT_LIST = "com.blazebit.persistence.view.compact_result_list";
+
     private ConfigurationProperties() {
     }
 }
@@ -24,6 +24,7 @@ import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -103,6 +104,20 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public <T> T getEntityReference(EntityManager entityManager, Object entityView);
 
+    /**
+     * Loads the entities for the given entity view ids into the persistence context of the given entity manager,
+     * fetching the same associations that are fetched when the entities are loaded for flushing entity views of the given type.
+     * Only entities of updatable entity views that are flushed via entities and are identified by their primary key are loaded,
+     * as the flush of other entity views does not look up entities in the persistence context.
+     * Loading the entities for many entity views up front, e.g. after deserializing them, avoids loading every entity with a separate query during the flush.
+     *
+     * @param entityManager The entity manager into which to load the entities
+     * @param entityViewClass The entity view class
+     * @param ids The ids of the entity views
+     * @since 1.6.13
+     */
+    public void loadEntities(EntityManager entityManager, Class<?> entityViewClass, Collection<?> ids);
+
     /**
      * Gives access to the change model of the entity view instance.
      *
@@ -441,6 +456,24 @@ public interface EntityViewManager extends ServiceProvider {
      */
     public FlushOperationBuilder saveFullWithTo(EntityManager entityManager, Object view, Object entity);
 
+    /**
+     * Checks that the versions of the given versioned entity views still match the versions of the entities they map to
+     * and increments the versions of the entities and views, like a save of every view would.
+     * Instead of a round trip per view, a batched update statement per entity view type is used,
+     * and only if a version doesn't match, an additional query determines the stale views.
+     * New views are skipped as they have no persistent state yet.
+     *
+     * Since the versions are incremented through update statements, the versions of entities that are already managed
+     * by the entity manager are not refreshed. This method requires an active transaction and the version changes are
+     * only applied to the views if all versions match.
+     *
+     * @param entityManager The entity manager to use for the version increment
+     * @param views The views for which to increment the versions
+     * @throws OptimisticLockException If the version of at least one view is stale, reporting the entity ids of the stale views
+     * @since 1.6.13
+     */
+    public void incrementVersions(EntityManager entityManager, Collection<?> views);
+
     /**
      * Removes the entity represented by the given view.
      * Also cascades deletes to attributes that have {@link CascadeType#DELETE} enabled.
@@ -24,6 +24,7 @@ import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import javax.persistence.EntityManager;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -95,6 +96,11 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().getEntityReference(entityManager, entityView);
     }
 
+    @Override
+    public void loadEntities(EntityManager entityManager, Class<?> entityViewClass, Collection<?> ids) {
+        getEvm().loadEntities(entityManager, entityViewClass, ids);
+    }
+
     @Override
     public <T> SingularChangeModel<T> getChangeModel(T entityView) {
         return getEvm().getChangeModel(entityView);
@@ -242,6 +248,11 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().saveFullWithTo(entityManager, view, entity);
     }
 
+    @Override
+    public void incrementVersions(EntityManager entityManager, Collection<?> views) {
+        getEvm().incrementVersions(entityManager, views);
+    }
+
     @Override
     public void remove(EntityManager entityManager, Object view) {
         getEvm().remove(entityManager, view);
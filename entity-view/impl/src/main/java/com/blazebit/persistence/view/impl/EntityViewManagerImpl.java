@@ -125,6 +125,7 @@ import com.blazebit.persistence.view.metamodel.AttributePath;
 import com.blazebit.persistence.view.metamodel.AttributePaths;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
 import com.blazebit.persistence.view.metamodel.MapAttribute;
+import com.blazebit.persistence.view.metamodel.MappingAttribute;
 import com.blazebit.persistence.view.metamodel.MappingConstructor;
 import com.blazebit.persistence.view.metamodel.MethodAttribute;
 import com.blazebit.persistence.view.metamodel.MethodMultiListAttribute;
@@ -152,11 +153,14 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -212,6 +216,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final Map<ViewBuilderKey, Constructor<? extends EntityViewBuilder<?>>> viewBuilderClasses;
     private final boolean unsafeDisabled;
     private final boolean strictCascadingCheck;
+    private final int collectionDmlBatchSize;
 
     public EntityViewManagerImpl(EntityViewConfigurationImpl config, CriteriaBuilderFactory cbf) {
         this.cbf = cbf;
@@ -223,6 +228,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         this.entityIdAccessor = new EntityIdAttributeAccessor(jpaProvider);
         this.unsafeDisabled = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED)));
         this.strictCascadingCheck = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK)));
+        this.collectionDmlBatchSize = getPositiveIntProperty(config, ConfigurationProperties.UPDATER_COLLECTION_DML_BATCH_SIZE);
         this.proxyFactory = new ProxyFactory(unsafeDisabled, strictCascadingCheck, packageOpener);
         this.transactionSupport = config.getTransactionSupport();
         this.optionalParameters = Collections.unmodifiableMap(new HashMap<>(config.getOptionalParameters()));
@@ -460,6 +466,19 @@ public class EntityViewManagerImpl implements EntityViewManager {
         }
     }
 
+    private static int getPositiveIntProperty(EntityViewConfigurationImpl config, String propertyName) {
+        String value = String.valueOf(config.getProperty(propertyName));
+        try {
+            int intValue = Integer.parseInt(value);
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException ex) {
+            // Fall through
+        }
+        throw new IllegalArgumentException("Invalid value '" + value + "' for positive integer property: " + propertyName);
+    }
+
     private static String getMetamodelClassName(Class<?> javaType) {
         return getGeneratedClassName(javaType, META_MODEL_CLASS_NAME_SUFFIX);
     }
@@ -842,6 +861,21 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return (T) entityManager.getReference(proxy.$$_getJpaManagedClass(), getEntityId(entityManager, proxy));
     }
 
+    @Override
+    public void loadEntities(EntityManager entityManager, Class<?> entityViewClass, Collection<?> ids) {
+        ViewTypeImpl<?> viewType = metamodel.viewOrError(entityViewClass);
+        // The flush only looks up entities of updatable views in the persistence context and only by primary key
+        if (ids.isEmpty() || !viewType.isUpdatable() || !(viewType.getIdAttribute() instanceof MappingAttribute<?, ?>)) {
+            return;
+        }
+        Set<javax.persistence.metamodel.SingularAttribute<?, ?>> jpaIdAttributes = JpaMetamodelUtils.getIdAttributes(metamodel.getEntityMetamodel().entity(viewType.getEntityClass()));
+        if (jpaIdAttributes.size() != 1 || !jpaIdAttributes.iterator().next().getName().equals(((MappingAttribute<?, ?>) viewType.getIdAttribute()).getMapping())) {
+            return;
+        }
+        EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
+        ((CompositeAttributeFlusher) updater.getFullGraphNode()).loadEntities(new SimpleUpdateContext(this, entityManager), new ArrayList<Object>(ids));
+    }
+
     @Override
     public <T> T create(Class<T> entityViewClass) {
         return create0(entityViewClass, optionalParameters);
@@ -1177,6 +1211,33 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return new DefaultUpdateContext(this, em, true, true, false, null, view, entity);
     }
     
+    @Override
+    public void incrementVersions(EntityManager em, Collection<?> views) {
+        // Group the views by type, so that the versions of every type can be incremented with batched update statements
+        Map<Class<?>, List<MutableStateTrackable>> viewsByType = new LinkedHashMap<>();
+        for (Object view : views) {
+            if (!(view instanceof MutableStateTrackable)) {
+                throw new IllegalArgumentException("Can't increment the version of non-updatable entity views: " + view);
+            }
+            MutableStateTrackable updatableProxy = (MutableStateTrackable) view;
+            // New views have no persistent state that could have been changed concurrently
+            if (!updatableProxy.$$_isNew()) {
+                List<MutableStateTrackable> typeViews = viewsByType.get(updatableProxy.$$_getEntityViewClass());
+                if (typeViews == null) {
+                    typeViews = new ArrayList<>();
+                    viewsByType.put(updatableProxy.$$_getEntityViewClass(), typeViews);
+                }
+                typeViews.add(updatableProxy);
+            }
+        }
+        UpdateContext context = new SimpleUpdateContext(this, em);
+        for (Map.Entry<Class<?>, List<MutableStateTrackable>> entry : viewsByType.entrySet()) {
+            ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(entry.getKey());
+            EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
+            updater.incrementVersions(context, entry.getValue());
+        }
+    }
+
     public void update(UpdateContext context, Object view) {
         if (!(view instanceof MutableStateTrackable)) {
             throw new IllegalArgumentException("Can't update non-updatable entity views: " + view);
@@ -1244,6 +1305,10 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return unsafeDisabled;
     }
 
+    public int getCollectionDmlBatchSize() {
+        return collectionDmlBatchSize;
+    }
+
     public boolean supportsTransientReference() {
         return supportsTransientReference;
     }
@@ -75,6 +75,15 @@ public abstract class AbstractEntityLoader implements EntityLoader {
         }
     }
 
+    protected AbstractEntityLoader(AbstractEntityLoader original) {
+        this.entityClass = original.entityClass;
+        this.viewIdMapper = original.viewIdMapper;
+        this.entityConstructor = original.entityConstructor;
+        this.idAttributeName = original.idAttributeName;
+        this.entityIdAccessor = original.entityIdAccessor;
+        this.primaryKeyId = original.primaryKeyId;
+    }
+
     protected static javax.persistence.metamodel.SingularAttribute<?, ?> jpaIdOf(EntityViewManagerImpl evm, ManagedViewType<?> subviewType) {
         if (subviewType instanceof ViewType<?>) {
             return JpaMetamodelUtils.getSingleIdAttribute(evm.getMetamodel().getEntityMetamodel().entity(subviewType.getEntityClass()));
@@ -24,6 +24,7 @@ import com.blazebit.persistence.view.impl.update.flush.DirtyAttributeFlusher;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,10 +41,15 @@ public class FlusherBasedEntityLoader extends AbstractEntityLoader {
     public FlusherBasedEntityLoader(EntityViewManagerImpl evm, Class<?> entityClass, SingularAttribute<?, ?> jpaIdAttribute, ViewToEntityMapper viewIdMapper, AttributeAccessor entityIdAccessor, DirtyAttributeFlusher<?, Object, Object>[] flushers) {
         super(evm, entityClass, jpaIdAttribute, null, viewIdMapper, entityIdAccessor);
         this.flushers = flushers;
-        // TODO: optimize by copying more from existing loaders and avoid object allocations
         // TODO: consider constructing query eagerly,
     }
 
+    public FlusherBasedEntityLoader(FlusherBasedEntityLoader original, DirtyAttributeFlusher<?, Object, Object>[] flushers) {
+        super(original);
+        // The loader of dirty flushers only fetches the graph of the dirty attributes
+        this.flushers = flushers;
+    }
+
     private String getQueryString() {
         String query = queryString;
         if (query != null) {
@@ -106,6 +112,28 @@ public class FlusherBasedEntityLoader extends AbstractEntityLoader {
         }
     }
 
+    public void loadEntities(UpdateContext context, List<Object> ids) {
+        if (entityIdAccessor == null) {
+            return;
+        }
+        List<Object> idsToQuery = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Object id = ids.get(i);
+            if (id != null) {
+                id = getEntityId(context, null, id);
+                if (!context.containsEntity(entityClass, id)) {
+                    idsToQuery.add(id);
+                }
+            }
+        }
+        if (!idsToQuery.isEmpty()) {
+            // Entities that don't exist are reported by the flush, so we only load what we find
+            context.getEntityManager().createQuery(getQueryStringMultiple())
+                .setParameter("entityIds", idsToQuery)
+                .getResultList();
+        }
+    }
+
     @Override
     protected Object queryEntity(EntityManager em, Object id) {
         @SuppressWarnings("unchecked")
@@ -412,6 +412,9 @@ public abstract class AbstractAttribute<X, Y> implements Attribute<X, Y> {
         if (limitExpression != null && fetchStrategy == FetchStrategy.MULTISET && context.getDbmsDialect().getLateralStyle() == LateralStyle.NONE && !context.getDbmsDialect().supportsWindowFunctions()) {
             context.addError("The use of the MULTISET fetch strategy with a limit in the '" + mapping.getErrorLocation() + "' requires lateral joins or window functions which are unsupported by the DBMS!");
         }
+        if (limitExpression != null && !limitOne && fetchStrategy == FetchStrategy.JOIN && context.getDbmsDialect().getLateralStyle() == LateralStyle.NONE && !context.getDbmsDialect().supportsLimitInQuantifiedPredicateSubquery()) {
+            context.addError("The use of the JOIN fetch strategy with a limit in the '" + mapping.getErrorLocation() + "' requires lateral joins or the use of LIMIT in quantified predicates which are unsupported by the DBMS! Use the SELECT fetch strategy with batch size 1 instead.");
+        }
 
         this.mapping = mappingString;
         this.mappingExpression = mappingExpression;
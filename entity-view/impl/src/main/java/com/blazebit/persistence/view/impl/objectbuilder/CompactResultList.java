@@ -0,0 +1,234 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list that stores the tuples of a flat view result column wise.
+ * Columns that only contain values of a primitive wrapper type are stored as primitive arrays,
+ * other columns are stored as object arrays. The view objects are created on every access.
+ * Like for non-compact results, an element is <code>null</code> if all its columns are <code>null</code> and the view should be <code>null</code> when empty.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class CompactResultList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final byte NULL = 0;
+    private static final byte OBJECT = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte SHORT = 4;
+    private static final byte BYTE = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte BOOLEAN = 8;
+    private static final byte CHARACTER = 9;
+
+    private final ObjectInstantiator<T> objectInstantiator;
+    private final boolean nullIfEmpty;
+    private final int size;
+    private final byte[] columnKinds;
+    private final Object[] columns;
+    private final BitSet[] nullColumns;
+
+    /**
+     * Creates a compact list from the given tuples in a single pass.
+     * Every tuple is released from the given list as soon as its values are stored column wise.
+     *
+     * @param objectInstantiator The instantiator for the view objects
+     * @param tuples The tuples to compact
+     * @param nullIfEmpty Whether elements whose columns are all <code>null</code> should be <code>null</code>
+     */
+    public CompactResultList(ObjectInstantiator<T> objectInstantiator, List<Object[]> tuples, boolean nullIfEmpty) {
+        this.objectInstantiator = objectInstantiator;
+        this.nullIfEmpty = nullIfEmpty;
+        this.size = tuples.size();
+        int columnCount = size == 0 ? 0 : tuples.get(0).length;
+        this.columnKinds = new byte[columnCount];
+        this.columns = new Object[columnCount];
+        this.nullColumns = new BitSet[columnCount];
+        for (int i = 0; i < size; i++) {
+            Object[] tuple = tuples.get(i);
+            for (int j = 0; j < columnCount; j++) {
+                setValue(j, i, tuple[j]);
+            }
+            tuples.set(i, null);
+        }
+    }
+
+    private void setValue(int column, int index, Object value) {
+        if (value == null) {
+            if (columnKinds[column] != OBJECT) {
+                BitSet nulls = nullColumns[column];
+                if (nulls == null) {
+                    nulls = nullColumns[column] = new BitSet(size);
+                }
+                nulls.set(index);
+            }
+            return;
+        }
+        byte kind = columnKinds[column];
+        if (kind == NULL) {
+            kind = columnKinds[column] = determineKind(value.getClass());
+            columns[column] = createColumn(kind, size);
+            if (kind == OBJECT) {
+                nullColumns[column] = null;
+            }
+        } else if (kind != OBJECT && kind != determineKind(value.getClass())) {
+            // A column with values of different types can only be stored as object array
+            Object[] objects = new Object[size];
+            for (int i = 0; i < index; i++) {
+                objects[i] = getValue(column, i);
+            }
+            kind = columnKinds[column] = OBJECT;
+            columns[column] = objects;
+            nullColumns[column] = null;
+        }
+        switch (kind) {
+            case LONG:
+                ((long[]) columns[column])[index] = (Long) value;
+                break;
+            case INTEGER:
+                ((int[]) columns[column])[index] = (Integer) value;
+                break;
+            case SHORT:
+                ((short[]) columns[column])[index] = (Short) value;
+                break;
+            case BYTE:
+                ((byte[]) columns[column])[index] = (Byte) value;
+                break;
+            case DOUBLE:
+                ((double[]) columns[column])[index] = (Double) value;
+                break;
+            case FLOAT:
+                ((float[]) columns[column])[index] = (Float) value;
+                break;
+            case BOOLEAN:
+                ((boolean[]) columns[column])[index] = (Boolean) value;
+                break;
+            case CHARACTER:
+                ((char[]) columns[column])[index] = (Character) value;
+                break;
+            default:
+                ((Object[]) columns[column])[index] = value;
+                break;
+        }
+    }
+
+    private static byte determineKind(Class<?> valueClass) {
+        if (valueClass == Long.class) {
+            return LONG;
+        } else if (valueClass == Integer.class) {
+            return INTEGER;
+        } else if (valueClass == Short.class) {
+            return SHORT;
+        } else if (valueClass == Byte.class) {
+            return BYTE;
+        } else if (valueClass == Double.class) {
+            return DOUBLE;
+        } else if (valueClass == Float.class) {
+            return FLOAT;
+        } else if (valueClass == Boolean.class) {
+            return BOOLEAN;
+        } else if (valueClass == Character.class) {
+            return CHARACTER;
+        }
+        return OBJECT;
+    }
+
+    private static Object createColumn(byte kind, int size) {
+        switch (kind) {
+            case LONG:
+                return new long[size];
+            case INTEGER:
+                return new int[size];
+            case SHORT:
+                return new short[size];
+            case BYTE:
+                return new byte[size];
+            case DOUBLE:
+                return new double[size];
+            case FLOAT:
+                return new float[size];
+            case BOOLEAN:
+                return new boolean[size];
+            case CHARACTER:
+                return new char[size];
+            default:
+                return new Object[size];
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Object[] tuple = new Object[columns.length];
+        boolean empty = true;
+        for (int i = 0; i < columns.length; i++) {
+            Object value = getValue(i, index);
+            tuple[i] = value;
+            empty = empty && value == null;
+        }
+        if (empty && nullIfEmpty) {
+            return null;
+        }
+        return objectInstantiator.newInstance(tuple);
+    }
+
+    private Object getValue(int column, int index) {
+        BitSet nulls = nullColumns[column];
+        if (nulls != null && nulls.get(index)) {
+            return null;
+        }
+        switch (columnKinds[column]) {
+            case NULL:
+                return null;
+            case LONG:
+                return ((long[]) columns[column])[index];
+            case INTEGER:
+                return ((int[]) columns[column])[index];
+            case SHORT:
+                return ((short[]) columns[column])[index];
+            case BYTE:
+                return ((byte[]) columns[column])[index];
+            case DOUBLE:
+                return ((double[]) columns[column])[index];
+            case FLOAT:
+                return ((float[]) columns[column])[index];
+            case BOOLEAN:
+                return ((boolean[]) columns[column])[index];
+            case CHARACTER:
+                return ((char[]) columns[column])[index];
+            default:
+                return ((Object[]) columns[column])[index];
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
+
+import java.util.List;
+
+/**
+ * An object builder for read-only flat views with only basic attributes that returns a {@link CompactResultList}.
+ * The tuples are collected as they are and converted in a single pass that releases every tuple right after it was stored column wise.
+ * The view objects are only created when accessing elements of the list.
+ * Since the tuples are only converted when building the list, this object builder doesn't support streaming results.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class CompactViewTypeObjectBuilder<T> extends DelegatingObjectBuilder<T> {
+
+    private final ObjectInstantiator<T> objectInstantiator;
+    private final boolean nullIfEmpty;
+
+    public CompactViewTypeObjectBuilder(ObjectBuilder<T> delegate, ObjectInstantiator<T> objectInstantiator, boolean nullIfEmpty) {
+        super(delegate);
+        this.objectInstantiator = objectInstantiator;
+        this.nullIfEmpty = nullIfEmpty;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T build(Object[] tuple) {
+        return (T) tuple;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<T> buildList(List<T> list) {
+        return new CompactResultList<>(objectInstantiator, (List<Object[]>) (List<?>) list, nullIfEmpty);
+    }
+
+    @Override
+    public String toString() {
+        // Streaming a query fails with a message containing the object builder, so we explain how to get around that
+        return "CompactViewTypeObjectBuilder that only supports result lists. Disable the compact result list setting to stream results";
+    }
+}
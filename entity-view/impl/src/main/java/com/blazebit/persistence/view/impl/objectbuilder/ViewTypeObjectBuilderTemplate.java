@@ -18,6 +18,7 @@ package com.blazebit.persistence.view.impl.objectbuilder;
 
 import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.ParameterHolder;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
 import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
@@ -87,6 +88,7 @@ import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
 import com.blazebit.persistence.view.impl.type.IntegerBasicUserType;
 import com.blazebit.persistence.view.metamodel.Attribute;
 import com.blazebit.persistence.view.metamodel.BasicType;
+import com.blazebit.persistence.view.metamodel.FlatViewType;
 import com.blazebit.persistence.view.metamodel.ListAttribute;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
 import com.blazebit.persistence.view.metamodel.MapAttribute;
@@ -1450,11 +1452,21 @@ public class ViewTypeObjectBuilderTemplate<T> {
             } else {
                 result = new ChainingObjectBuilder<T>(tupleTransformatorFactory, result, parameterHolder, optionalParameters, entityViewConfiguration);
             }
+        } else if (!isSubview && result instanceof ViewTypeObjectBuilder<?> && isCompactResultListApplicable(entityViewConfiguration)) {
+            result = new CompactViewTypeObjectBuilder<T>(result, objectInstantiator, nullFlatViewIfEmpty);
         }
 
         return result;
     }
 
+    private boolean isCompactResultListApplicable(EntityViewConfiguration entityViewConfiguration) {
+        // Only read-only flat views with basic attributes can be created from the columns on access
+        // A paginated criteria builder copies the result list anyway, so there is no point in a compact list
+        return entityViewConfiguration != null && entityViewConfiguration.isCompactResultList()
+                && viewType instanceof FlatViewType<?> && !viewType.isUpdatable() && !viewType.isCreatable()
+                && !(entityViewConfiguration.getCriteriaBuilder() instanceof PaginatedCriteriaBuilder<?>);
+    }
+
     public Class<?> getViewClass() {
         return viewType.getJavaType();
     }
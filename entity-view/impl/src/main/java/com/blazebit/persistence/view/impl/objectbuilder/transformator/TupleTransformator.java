@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.RandomAccess;
 import java.util.Set;
 
 /**
@@ -32,29 +33,46 @@ import java.util.Set;
  */
 public class TupleTransformator {
 
-    private final List<TupleTransformatorLevel> transformatorLevels;
+    // The transformers per level are flattened into arrays once, so that transforming a tuple doesn't go through lists
+    private final TupleTransformer[][] tupleTransformers;
+    private final TupleListTransformer[] tupleListTransformers;
 
     public TupleTransformator(List<TupleTransformatorLevel> transformatorLevels) {
-        this.transformatorLevels = transformatorLevels;
+        int size = transformatorLevels.size();
+        this.tupleTransformers = new TupleTransformer[size][];
+        this.tupleListTransformers = new TupleListTransformer[size];
+        for (int i = 0; i < size; i++) {
+            TupleTransformatorLevel level = transformatorLevels.get(i);
+            tupleTransformers[i] = level.tupleTransformers;
+            tupleListTransformers[i] = level.tupleListTransformer;
+        }
     }
 
     public List<Object[]> transformAll(List<Object[]> tupleList) {
         UpdatableViewMap updatableViewMap = new UpdatableViewMap();
 
-        for (int i = 0; i < transformatorLevels.size(); i++) {
-            if (transformatorLevels.get(i).tupleTransformers.length != 0) {
-                ListIterator<Object[]> newTupleListIter = tupleList.listIterator();
-
-                while (newTupleListIter.hasNext()) {
-                    Object[] tuple = newTupleListIter.next();
-                    newTupleListIter.set(transform(i, tuple, updatableViewMap));
+        for (int i = 0; i < tupleTransformers.length; i++) {
+            if (tupleTransformers[i].length != 0) {
+                // The transformers operate in place on the tuple array, so we can avoid the list iterator for random access lists
+                if (tupleList instanceof RandomAccess) {
+                    int size = tupleList.size();
+                    for (int j = 0; j < size; j++) {
+                        tupleList.set(j, transform(i, tupleList.get(j), updatableViewMap));
+                    }
+                } else {
+                    ListIterator<Object[]> newTupleListIter = tupleList.listIterator();
+
+                    while (newTupleListIter.hasNext()) {
+                        Object[] tuple = newTupleListIter.next();
+                        newTupleListIter.set(transform(i, tuple, updatableViewMap));
+                    }
                 }
             }
             tupleList = transform(i, tupleList);
         }
 
         // if we have multiple levels, we must filter duplicates afterwards
-        if (transformatorLevels.size() > 1) {
+        if (tupleTransformers.length > 1) {
             Set<TupleRest> tupleSet = new HashSet<>(tupleList.size());
 
             Iterator<Object[]> tupleListIter = tupleList.iterator();
@@ -70,7 +88,7 @@ public class TupleTransformator {
     }
 
     public Object[] transform(Object[] tuple) {
-        if (transformatorLevels.size() != 1) {
+        if (tupleTransformers.length != 1) {
             throw new IllegalStateException("Can only do single transformations if there is only a single level");
         }
         UpdatableViewMap updatableViewMap = new UpdatableViewMap();
@@ -78,7 +96,7 @@ public class TupleTransformator {
     }
 
     private Object[] transform(int level, Object[] tuple, UpdatableViewMap updatableViewMap) {
-        TupleTransformer[] tupleTransformers = transformatorLevels.get(level).tupleTransformers;
+        TupleTransformer[] tupleTransformers = this.tupleTransformers[level];
         Object[] currentTuple = tuple;
         for (int i = 0; i < tupleTransformers.length; i++) {
             currentTuple = tupleTransformers[i].transform(currentTuple, updatableViewMap);
@@ -87,10 +105,10 @@ public class TupleTransformator {
     }
 
     private List<Object[]> transform(int level, List<Object[]> tupleList) {
-        TupleListTransformer tupleListTransformer = transformatorLevels.get(level).tupleListTransformer;
+        TupleListTransformer tupleListTransformer = tupleListTransformers[level];
         if (tupleListTransformer == null) {
             return tupleList;
         }
         return tupleListTransformer.transform(tupleList);
     }
-}
\ No newline at end of file
+}
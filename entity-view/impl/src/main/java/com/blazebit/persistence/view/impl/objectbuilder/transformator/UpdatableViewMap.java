@@ -25,13 +25,20 @@ import java.util.Map;
  */
 public class UpdatableViewMap {
 
-    private final Map<UpdatableViewKey, Object> objectMap = new HashMap<>();
+    // Most views have no updatable subviews, so we only allocate the map when needed
+    private Map<UpdatableViewKey, Object> objectMap;
 
     public Object get(UpdatableViewKey key) {
+        if (objectMap == null) {
+            return null;
+        }
         return objectMap.get(key);
     }
 
     public void put(UpdatableViewKey key, Object object) {
+        if (objectMap == null) {
+            objectMap = new HashMap<>();
+        }
         objectMap.put(key, object);
     }
 
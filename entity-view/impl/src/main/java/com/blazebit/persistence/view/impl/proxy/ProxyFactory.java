@@ -134,6 +134,7 @@ public class ProxyFactory {
     private final ConcurrentMap<Class<?>, Class<?>> proxyClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Class<?>> unsafeProxyClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Class<?>> proxyClassesToViewClasses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TupleConstructorInvoker> tupleConstructorInvokers = new ConcurrentHashMap<>();
     private final Object proxyLock = new Object();
     private final ClassPool pool;
     private final boolean unsafeDisabled;
@@ -270,6 +271,104 @@ public class ProxyFactory {
         return proxyClass;
     }
 
+    public TupleConstructorInvoker getTupleConstructorInvoker(Class<?> proxyClass, MappingConstructorImpl<?> mappingConstructor, Class<?>[] constructorParameterTypes) {
+        // The class name must be deterministic, as other proxy factories for the same class loader could already have defined it
+        StringBuilder invokerClassNameSb = new StringBuilder(proxyClass.getName()).append("_$$_tupleinvoker");
+        if (mappingConstructor != null) {
+            invokerClassNameSb.append('_');
+            appendEscapedIdentifier(invokerClassNameSb, mappingConstructor.getName());
+        }
+        String invokerClassName = invokerClassNameSb.toString();
+        TupleConstructorInvoker invoker = tupleConstructorInvokers.get(invokerClassName);
+
+        // Double checked locking since we can only define the class once
+        if (invoker == null) {
+            synchronized (proxyLock) {
+                invoker = tupleConstructorInvokers.get(invokerClassName);
+                if (invoker == null) {
+                    invoker = createTupleConstructorInvoker(invokerClassName, proxyClass, constructorParameterTypes);
+                    tupleConstructorInvokers.put(invokerClassName, invoker);
+                }
+            }
+        }
+
+        return invoker;
+    }
+
+    private TupleConstructorInvoker createTupleConstructorInvoker(String invokerClassName, Class<?> proxyClass, Class<?>[] constructorParameterTypes) {
+        ClassPath classPath = new ClassClassPath(proxyClass);
+        pool.insertClassPath(classPath);
+        try {
+            CtClass cc = pool.makeClass(invokerClassName);
+            cc.addInterface(pool.get(TupleConstructorInvoker.class.getName()));
+
+            StringBuilder sb = new StringBuilder();
+            sb.append("public Object newInstance(Object[] tuple) {\n");
+            sb.append("\treturn new ").append(proxyClass.getName()).append("((").append(proxyClass.getName()).append(") null, 0, $1");
+            // The mapping constructor parameters are passed as default values, the tuple constructor reads the actual values from the tuple
+            for (Class<?> parameterType : constructorParameterTypes) {
+                sb.append(", ");
+                appendDefaultValue(sb, parameterType);
+            }
+            sb.append(");\n");
+            sb.append("}");
+            cc.addMethod(CtMethod.make(sb.toString(), cc));
+
+            Class<?> invokerClass = defineOrGetClass(proxyClass, proxyClass, cc);
+            return (TupleConstructorInvoker) invokerClass.getDeclaredConstructor().newInstance();
+        } catch (Exception ex) {
+            throw new RuntimeException("Probably we did something wrong, please contact us if you see this message.", ex);
+        } finally {
+            pool.removeClassPath(classPath);
+        }
+    }
+
+    private static void appendEscapedIdentifier(StringBuilder sb, String name) {
+        // The constructor name is user defined, so we escape every character that is not an ASCII letter or digit
+        // Since the escape character is escaped as well, distinct names result in distinct identifiers
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9') {
+                sb.append(c);
+            } else {
+                sb.append('_').append(Integer.toHexString(c)).append('_');
+            }
+        }
+    }
+
+    private static void appendDefaultValue(StringBuilder sb, Class<?> parameterType) {
+        if (parameterType == boolean.class) {
+            sb.append("false");
+        } else if (parameterType == byte.class) {
+            sb.append("(byte) 0");
+        } else if (parameterType == char.class) {
+            sb.append("(char) 0");
+        } else if (parameterType == short.class) {
+            sb.append("(short) 0");
+        } else if (parameterType == int.class) {
+            sb.append("0");
+        } else if (parameterType == long.class) {
+            sb.append("0L");
+        } else if (parameterType == float.class) {
+            sb.append("0F");
+        } else if (parameterType == double.class) {
+            sb.append("0D");
+        } else {
+            sb.append("(");
+            appendTypeName(sb, parameterType);
+            sb.append(") null");
+        }
+    }
+
+    private static void appendTypeName(StringBuilder sb, Class<?> type) {
+        if (type.isArray()) {
+            appendTypeName(sb, type.getComponentType());
+            sb.append("[]");
+        } else {
+            sb.append(type.getName());
+        }
+    }
+
     private Class<?> getProxyBase(Class<?> baseClass) {
         if (baseClass.isInterface() || !java.lang.reflect.Modifier.isAbstract(baseClass.getSuperclass().getModifiers())) {
             return baseClass;
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.proxy;
+
+/**
+ * Invokes the tuple constructor of a proxy class directly, which is generated per proxy class and mapping constructor,
+ * so that the JIT can inline the object construction instead of going through reflection.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public interface TupleConstructorInvoker {
+
+    public Object newInstance(Object[] tuple);
+}
@@ -32,19 +32,19 @@ import java.util.List;
 public class TupleConstructorReflectionInstantiator<T> extends AbstractReflectionInstantiator<T> {
 
     private final Constructor<T> constructor;
-    private final Object[] defaultObject;
+    private final TupleConstructorInvoker invoker;
 
     public TupleConstructorReflectionInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> viewType, Class<?>[] parameterTypes,
                                                   EntityViewManager entityViewManager, List<MutableBasicUserTypeEntry> mutableBasicUserTypes, List<TypeConverterEntry> typeConverterEntries) {
         super(mutableBasicUserTypes, typeConverterEntries, parameterTypes);
         Class<T> proxyClazz = (Class<T>) proxyFactory.getProxy(entityViewManager, viewType);
         Constructor<T> javaConstructor;
-        Object[] defaultObject;
+        Class<?>[] constructorParameterTypes;
 
         try {
             if (mappingConstructor == null) {
                 javaConstructor = proxyClazz.getDeclaredConstructor(proxyClazz, int.class, Object[].class);
-                defaultObject = new Object[] { null, 0, null };
+                constructorParameterTypes = new Class[0];
             } else {
                 int parameterSize = mappingConstructor.getParameterAttributes().size();
                 Class[] types = new Class[parameterSize + 3];
@@ -53,8 +53,7 @@ public class TupleConstructorReflectionInstantiator<T> extends AbstractReflectio
                 types[2] = Object[].class;
                 System.arraycopy(parameterTypes, parameterTypes.length - parameterSize, types, 3, parameterSize);
                 javaConstructor = proxyClazz.getDeclaredConstructor(types);
-                defaultObject = AbstractReflectionInstantiator.createDefaultObject(3, parameterTypes, parameterSize);
-                defaultObject[1] = 0;
+                constructorParameterTypes = Arrays.copyOfRange(types, 3, types.length);
             }
         } catch (NoSuchMethodException | SecurityException ex) {
             throw new IllegalArgumentException("The given mapping constructor '" + mappingConstructor + "' does not map to a constructor of the proxy class: " + proxyClazz
@@ -67,16 +66,16 @@ public class TupleConstructorReflectionInstantiator<T> extends AbstractReflectio
         }
 
         this.constructor = javaConstructor;
-        this.defaultObject = defaultObject;
+        // Instead of invoking the constructor reflectively, we use a generated invoker that calls the constructor directly
+        this.invoker = proxyFactory.getTupleConstructorInvoker(proxyClazz, mappingConstructor, constructorParameterTypes);
     }
 
     @Override
     public T newInstance(Object[] tuple) {
         try {
             prepareTuple(tuple);
-            Object[] array = Arrays.copyOf(defaultObject, defaultObject.length);
-            array[2] = tuple;
-            T instance = constructor.newInstance(array);
+            @SuppressWarnings("unchecked")
+            T instance = (T) invoker.newInstance(tuple);
             finalizeInstance(instance);
             return instance;
         } catch (Exception ex) {
@@ -108,6 +108,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *
@@ -117,6 +119,9 @@ import java.util.TreeMap;
 public class EntityViewUpdaterImpl implements EntityViewUpdater {
 
     public static final String WHERE_CLAUSE_PREFIX = "_";
+    private static final int MAX_UPDATE_QUERY_CACHE_SIZE = 128;
+    private static final String NEXT_VERSION_PARAMETER_PREFIX = "_next";
+    private static final int VERSION_INCREMENT_BATCH_SIZE = 100;
 
     private final boolean rootUpdateAllowed;
     private final ManagedViewTypeImplementor<?> managedViewType;
@@ -129,6 +134,10 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
     private final String updatePostfixString;
     private final String versionedUpdatePostfixString;
     private final String fullUpdateQueryString;
+    private final String versionIncrementPrefixString;
+    private final String versionIncrementInfixString;
+    private final String staleVersionQueryInfixString;
+    private final ConcurrentMap<Long, String> updateQueryCache = new ConcurrentHashMap<>();
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public EntityViewUpdaterImpl(EntityViewManagerImpl evm, Map<Object, EntityViewUpdaterImpl> localCache, ManagedViewTypeImplementor<?> viewType, ManagedViewTypeImplementor<?> declaredViewType, EntityViewUpdaterImpl owner, String ownerMapping) {
@@ -224,6 +233,15 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             versionAttribute = null;
             versionFlusher = null;
         }
+        if (versionAttribute != null && idFlusher != null && entityType != null) {
+            this.versionIncrementPrefixString = "UPDATE " + entityType.getName() + " e SET e." + versionAttribute.getMapping() + " = CASE";
+            this.versionIncrementInfixString = " ELSE e." + versionAttribute.getMapping() + " END WHERE ";
+            this.staleVersionQueryInfixString = " END FROM " + entityType.getName() + " e WHERE ";
+        } else {
+            this.versionIncrementPrefixString = null;
+            this.versionIncrementInfixString = null;
+            this.staleVersionQueryInfixString = null;
+        }
 
         // Flushers are ordered like the dirty and initial state array and have matching indexes
         // Since attributes for which pass through flushers are created are not updatable and not mutable, they must come last, as there is no dirty state index for them
@@ -654,26 +672,19 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
             queryString = fullUpdateQueryString;
             needsOptimisticLocking = fullFlusher.hasVersionFlusher();
         } else {
-            StringBuilder sb = new StringBuilder(updatePrefixString.length() + updatePostfixString.length() + 250);
-            sb.append(updatePrefixString);
-            int initialLength = sb.length();
-            flusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
-            if (sb.length() == initialLength) {
-                // If we still need optimistic locking, we just append a flush for the version increment
-                if (needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected()) {
-                    versionFlusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
-                    sb.append(versionedUpdatePostfixString);
-                    queryString = sb.toString();
-                } else {
-                    queryString = null;
-                }
+            needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected();
+            // Partial updates of the same attributes render the same query, so we reuse it to avoid rendering and preparing a new query
+            long updateQueryMask = flusher instanceof CompositeAttributeFlusher ? ((CompositeAttributeFlusher) flusher).getUpdateQueryFragmentMask() : -1L;
+            if (updateQueryMask == -1L) {
+                queryString = createUpdateQueryString(context, flusher, needsOptimisticLocking);
             } else {
-                if (needsOptimisticLocking = fullFlusher.hasVersionFlusher() && flusher.isOptimisticLockProtected()) {
-                    sb.append(versionedUpdatePostfixString);
-                } else {
-                    sb.append(updatePostfixString);
+                queryString = updateQueryCache.get(updateQueryMask);
+                if (queryString == null) {
+                    queryString = createUpdateQueryString(context, flusher, needsOptimisticLocking);
+                    if (queryString != null && updateQueryCache.size() < MAX_UPDATE_QUERY_CACHE_SIZE) {
+                        updateQueryCache.putIfAbsent(updateQueryMask, queryString);
+                    }
                 }
-                queryString = sb.toString();
             }
         }
 
@@ -691,6 +702,123 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
         return query;
     }
 
+    @Override
+    public void incrementVersions(UpdateContext context, List<MutableStateTrackable> views) {
+        if (versionIncrementPrefixString == null) {
+            throw new IllegalArgumentException("Can't increment the versions of entity views of the type [" + managedViewType.getJavaType().getName() + "] because it has no version attribute!");
+        }
+        Object[] nextVersions = new Object[views.size()];
+        // We chunk the views to stay below the parameter limits of DBMS, and render chunk relative parameter names so that the query strings can be reused
+        for (int start = 0; start < views.size(); start += VERSION_INCREMENT_BATCH_SIZE) {
+            int end = Math.min(start + VERSION_INCREMENT_BATCH_SIZE, views.size());
+            StringBuilder sb = new StringBuilder(versionIncrementPrefixString.length() + versionIncrementInfixString.length() + (end - start) * 150);
+            sb.append(versionIncrementPrefixString);
+            for (int i = 0; i < end - start; i++) {
+                sb.append(" WHEN ");
+                idFlusher.appendUpdateQueryFragment(null, sb, "e.", WHERE_CLAUSE_PREFIX + i + "_", " AND ");
+                sb.append(" THEN ");
+                versionFlusher.appendParameter(sb, NEXT_VERSION_PARAMETER_PREFIX + i + "_");
+            }
+            sb.append(versionIncrementInfixString);
+            appendVersionPredicates(sb, end - start, WHERE_CLAUSE_PREFIX);
+
+            Query query = context.getEntityManager().createQuery(sb.toString());
+            for (int i = start; i < end; i++) {
+                MutableStateTrackable view = views.get(i);
+                String parameterPrefix = WHERE_CLAUSE_PREFIX + (i - start) + "_";
+                idFlusher.flushQuery(context, parameterPrefix, null, query, view, view, view.$$_getId(), null, null);
+                versionFlusher.flushQueryInitialVersion(context, parameterPrefix, query, view, view.$$_getVersion());
+                // We don't use flushQuery as that would set the next version on the view before we know that all versions match
+                nextVersions[i] = versionFlusher.nextValue(view.$$_getVersion());
+                versionFlusher.flushQueryInitialVersion(context, NEXT_VERSION_PARAMETER_PREFIX + (i - start) + "_", query, view, nextVersions[i]);
+            }
+
+            int updated = query.executeUpdate();
+            if (updated != end - start) {
+                throw createStaleVersionException(context, views, start, end, nextVersions, updated);
+            }
+        }
+
+        for (int i = 0; i < nextVersions.length; i++) {
+            views.get(i).$$_setVersion(nextVersions[i]);
+        }
+    }
+
+    private OptimisticLockException createStaleVersionException(UpdateContext context, List<MutableStateTrackable> views, int start, int end, Object[] nextVersions, int updated) {
+        // We select the chunk relative indexes of the views for which the entity now has the next version, all other views are stale or their entity was deleted
+        // Note that an entity which was concurrently changed to exactly the next version can't be distinguished from one that we incremented
+        StringBuilder sb = new StringBuilder(staleVersionQueryInfixString.length() + (end - start) * 150);
+        sb.append("SELECT CASE");
+        for (int i = 0; i < end - start; i++) {
+            sb.append(" WHEN ");
+            idFlusher.appendUpdateQueryFragment(null, sb, "e.", WHERE_CLAUSE_PREFIX + i + "_", " AND ");
+            sb.append(" THEN ").append(i);
+        }
+        sb.append(staleVersionQueryInfixString);
+        appendVersionPredicates(sb, end - start, NEXT_VERSION_PARAMETER_PREFIX);
+
+        Query query = context.getEntityManager().createQuery(sb.toString());
+        for (int i = start; i < end; i++) {
+            MutableStateTrackable view = views.get(i);
+            idFlusher.flushQuery(context, WHERE_CLAUSE_PREFIX + (i - start) + "_", null, query, view, view, view.$$_getId(), null, null);
+            versionFlusher.flushQueryInitialVersion(context, NEXT_VERSION_PARAMETER_PREFIX + (i - start) + "_", query, view, nextVersions[i]);
+        }
+        boolean[] incremented = new boolean[end - start];
+        for (Object index : query.getResultList()) {
+            incremented[((Number) index).intValue()] = true;
+        }
+
+        List<Object> staleEntityIds = new ArrayList<>(end - start - updated);
+        MutableStateTrackable firstStaleView = null;
+        for (int i = start; i < end; i++) {
+            if (!incremented[i - start]) {
+                MutableStateTrackable view = views.get(i);
+                if (firstStaleView == null) {
+                    firstStaleView = view;
+                }
+                staleEntityIds.add(fullFlusher.getEntityIdCopy(context, view));
+            }
+        }
+        return new OptimisticLockException("The version values of the views of the type [" + managedViewType.getJavaType().getName() + "] with the entity ids " + staleEntityIds + " do not match the entities!", null, firstStaleView);
+    }
+
+    private void appendVersionPredicates(StringBuilder sb, int size, String versionParameterPrefix) {
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                sb.append(" OR ");
+            }
+            sb.append('(');
+            idFlusher.appendUpdateQueryFragment(null, sb, "e.", WHERE_CLAUSE_PREFIX + i + "_", " AND ");
+            sb.append(" AND ");
+            versionFlusher.appendUpdateQueryFragment(null, sb, "e.", versionParameterPrefix + i + "_", " AND ");
+            sb.append(')');
+        }
+    }
+
+    private String createUpdateQueryString(UpdateContext context, DirtyAttributeFlusher<?, ?, ?> flusher, boolean needsOptimisticLocking) {
+        StringBuilder sb = new StringBuilder(updatePrefixString.length() + updatePostfixString.length() + 250);
+        sb.append(updatePrefixString);
+        int initialLength = sb.length();
+        flusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
+        if (sb.length() == initialLength) {
+            // If we still need optimistic locking, we just append a flush for the version increment
+            if (needsOptimisticLocking) {
+                versionFlusher.appendUpdateQueryFragment(context, sb, "e.", "", ", ");
+                sb.append(versionedUpdatePostfixString);
+                return sb.toString();
+            } else {
+                return null;
+            }
+        } else {
+            if (needsOptimisticLocking) {
+                sb.append(versionedUpdatePostfixString);
+            } else {
+                sb.append(updatePostfixString);
+            }
+            return sb.toString();
+        }
+    }
+
     private boolean update(UpdateContext context, Object entity, MutableStateTrackable updatableProxy) {
         if (!rootUpdateAllowed && entity == null) {
             throw new IllegalArgumentException("Updating instances of the view type [" + updatableProxy.getClass().getName() + "] is not allowed because no entity id is known!");
@@ -63,6 +63,7 @@ import java.util.Set;
  */
 public class CollectionAttributeFlusher<E, V extends Collection<?>> extends AbstractPluralAttributeFlusher<CollectionAttributeFlusher<E, V>, CollectionAction<?>, RecordingCollection<?, ?>, E, V> implements DirtyAttributeFlusher<CollectionAttributeFlusher<E, V>, E, V> {
 
+    protected static final String REMOVED_ELEMENTS_PARAMETER = "removedElements";
     private static final Object REMOVED_MARKER = new Object();
     private final CollectionInstantiatorImplementor<?, ?> collectionInstantiator;
     private final InverseFlusher<E> inverseFlusher;
@@ -368,10 +369,24 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
     }
 
     protected Collection<Object> appendRemoveSpecific(UpdateContext context, DeleteCriteriaBuilder<?> deleteCb, FusedCollectionActions fusedCollectionActions) {
-        deleteCb.where("e." + getMapping()).in(fusedCollectionActions.getRemoved(context));
+        deleteCb.where("e." + getMapping()).inExpressions(":" + REMOVED_ELEMENTS_PARAMETER);
         return new HashSet<>(fusedCollectionActions.getRemoved());
     }
 
+    protected static void executeUpdateBatched(Query query, String parameterName, Collection<Object> values, int batchSize) {
+        if (values.size() <= batchSize) {
+            query.setParameter(parameterName, values);
+            query.executeUpdate();
+        } else {
+            List<Object> list = values instanceof List<?> ? (List<Object>) values : new ArrayList<>(values);
+            int size = list.size();
+            for (int i = 0; i < size; i += batchSize) {
+                query.setParameter(parameterName, list.subList(i, Math.min(i + batchSize, size)));
+                query.executeUpdate();
+            }
+        }
+    }
+
     protected List<Object> getEntityReferencesForCollectionOperation(UpdateContext context, Collection<Object> objects) {
         List<Object> entityReferences = new ArrayList<>(objects.size());
         ViewToEntityMapper loadOnlyViewToEntityMapper = elementDescriptor.getLoadOnlyViewToEntityMapper();
@@ -388,6 +403,7 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
         DeleteCriteriaBuilder<?> deleteCb = null;
         boolean removedAll = true;
         Collection<Object> removedObjects = Collections.emptyList();
+        Collection<Object> removedValues = null;
         if (!deleteAll && fusedCollectionActions != null) {
             if (fusedCollectionActions.getRemoveCount() > 0) {
                 if (inverseFlusher == null) {
@@ -398,8 +414,9 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
                         String entityIdAttributeName = elementDescriptor.getAttributeIdAttributeName();
                         if (entityIdAttributeName != null) {
                             removedObjects = appendRemoveSpecific(context, deleteCb, fusedCollectionActions);
+                            removedValues = fusedCollectionActions.getRemoved(context);
                             removedAll = false;
-                            if (removedObjects.isEmpty()) {
+                            if (removedObjects.isEmpty() || removedValues.isEmpty()) {
                                 deleteCb = null;
                             }
                         }
@@ -454,7 +471,11 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
         if (deleteCb != null) {
             Query deleteQuery = deleteCb.getQuery();
             ownerIdFlusher.flushQuery(context, null, null, deleteQuery, ownerView, view, ownerIdFlusher.getViewAttributeAccessor().getValue(ownerView), null, null);
-            deleteQuery.executeUpdate();
+            if (removedValues == null) {
+                deleteQuery.executeUpdate();
+            } else {
+                executeUpdateBatched(deleteQuery, REMOVED_ELEMENTS_PARAMETER, removedValues, context.getEntityViewManager().getCollectionDmlBatchSize());
+            }
             if (removedAll) {
                 return true;
             }
@@ -491,36 +512,7 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
             return;
         }
 
-        String mapping = getMapping();
         if (inverseFlusher == null) {
-            InsertCriteriaBuilder<?> insertCb = context.getEntityViewManager().getCriteriaBuilderFactory().insertCollection(context.getEntityManager(), ownerEntityClass, mapping);
-
-            String entityIdAttributeName = elementDescriptor.getEntityIdAttributeName();
-            String attributeIdAttributeName = elementDescriptor.getAttributeIdAttributeName();
-            if (flushAtOnce) {
-                if (entityIdAttributeName == null) {
-                    insertCb.fromValues(ownerEntityClass, mapping, "val", elementsToAdd);
-                } else if (attributeIdAttributeName.equals(entityIdAttributeName)) {
-                    insertCb.fromIdentifiableValues((Class<Object>) elementDescriptor.getJpaType(), "val", elementsToAdd);
-                } else {
-                    insertCb.fromIdentifiableValues((Class<Object>) elementDescriptor.getJpaType(), attributeIdAttributeName, "val", elementsToAdd);
-                }
-            } else {
-                if (entityIdAttributeName == null) {
-                    insertCb.fromValues(ownerEntityClass, mapping, "val", 1);
-                } else if (attributeIdAttributeName.equals(entityIdAttributeName)) {
-                    insertCb.fromIdentifiableValues((Class<Object>) elementDescriptor.getJpaType(), "val", 1);
-                } else {
-                    insertCb.fromIdentifiableValues((Class<Object>) elementDescriptor.getJpaType(), attributeIdAttributeName, "val", 1);
-                }
-            }
-            for (int i = 0; i < ownerIdBindFragments.length; i += 2) {
-                insertCb.bind(ownerIdBindFragments[i]).select(ownerIdBindFragments[i + 1]);
-            }
-            insertCb.bind(mapping).select("val");
-            Query insertQuery = insertCb.getQuery();
-            ownerIdFlusher.flushQuery(context, null, null, insertQuery, ownerView, view, ownerIdFlusher.getViewAttributeAccessor().getValue(ownerView), null, null);
-
             boolean checkTransient = elementDescriptor.isJpaEntity() && !elementDescriptor.shouldJpaPersist();
             if (flushAtOnce) {
                 if (checkTransient) {
@@ -530,8 +522,26 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
                         }
                     }
                 }
-                insertQuery.executeUpdate();
+                // Insert the elements through a multi-row VALUES clause, split into batches of the configured size
+                int batchSize = context.getEntityViewManager().getCollectionDmlBatchSize();
+                int size = elementsToAdd.size();
+                Query insertQuery = createInsertQuery(context, ownerView, view, Math.min(size, batchSize));
+                if (size <= batchSize) {
+                    insertQuery.setParameter("val", elementsToAdd);
+                    insertQuery.executeUpdate();
+                } else {
+                    List<Object> elementList = elementsToAdd instanceof List<?> ? (List<Object>) elementsToAdd : new ArrayList<>(elementsToAdd);
+                    for (int i = 0; i < size; i += batchSize) {
+                        int end = Math.min(i + batchSize, size);
+                        if (end - i != batchSize) {
+                            insertQuery = createInsertQuery(context, ownerView, view, end - i);
+                        }
+                        insertQuery.setParameter("val", elementList.subList(i, end));
+                        insertQuery.executeUpdate();
+                    }
+                }
             } else {
+                Query insertQuery = createInsertQuery(context, ownerView, view, 1);
                 // TODO: Use batching when we implement #657
                 Object[] singletonArray = new Object[1];
                 List<Object> singletonList = Arrays.asList(singletonArray);
@@ -561,6 +571,28 @@ public class CollectionAttributeFlusher<E, V extends Collection<?>> extends Abst
         }
     }
 
+    private Query createInsertQuery(UpdateContext context, Object ownerView, Object view, int valueCount) {
+        String mapping = getMapping();
+        InsertCriteriaBuilder<?> insertCb = context.getEntityViewManager().getCriteriaBuilderFactory().insertCollection(context.getEntityManager(), ownerEntityClass, mapping);
+
+        String entityIdAttributeName = elementDescriptor.getEntityIdAttributeName();
+        String attributeIdAttributeName = elementDescriptor.getAttributeIdAttributeName();
+        if (entityIdAttributeName == null) {
+            insertCb.fromValues(ownerEntityClass, mapping, "val", valueCount);
+        } else if (attributeIdAttributeName.equals(entityIdAttributeName)) {
+            insertCb.fromIdentifiableValues((Class<Object>) elementDescriptor.getJpaType(), "val", valueCount);
+        } else {
+            insertCb.fromIdentifiableValues((Class<Object>) elementDescriptor.getJpaType(), attributeIdAttributeName, "val", valueCount);
+        }
+        for (int i = 0; i < ownerIdBindFragments.length; i += 2) {
+            insertCb.bind(ownerIdBindFragments[i]).select(ownerIdBindFragments[i + 1]);
+        }
+        insertCb.bind(mapping).select("val");
+        Query insertQuery = insertCb.getQuery();
+        ownerIdFlusher.flushQuery(context, null, null, insertQuery, ownerView, view, ownerIdFlusher.getViewAttributeAccessor().getValue(ownerView), null, null);
+        return insertQuery;
+    }
+
     @Override
     protected boolean canFlushSeparateCollectionOperations() {
         return !collectionInstantiator.allowsDuplicates();
@@ -154,7 +154,7 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         this.flushMode = original.flushMode;
         this.flushStrategy = original.flushStrategy;
         this.lockOwner = original.lockOwner;
-        this.entityLoader = new FlusherBasedEntityLoader(evm, entityClass, jpaIdAttribute, viewIdMapper, entityIdAccessor, flushers);
+        this.entityLoader = new FlusherBasedEntityLoader((FlusherBasedEntityLoader) original.entityLoader, flushers);
         this.referenceEntityLoader = original.referenceEntityLoader;
         this.deleteQuery = original.deleteQuery;
         int features = determineFeatures(flushStrategy, flushers);
@@ -294,6 +294,31 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         return currentValue;
     }
 
+    // Returns a bitmask that identifies the update query fragment appended by this flusher or -1 if that isn't possible
+    public long getUpdateQueryFragmentMask() {
+        // The highest bit encodes whether the version is incremented, so we can handle at most 62 flushers
+        if (flushers.length > 62) {
+            return -1L;
+        }
+        long mask = 0L;
+        for (int i = 0; i < flushers.length; i++) {
+            DirtyAttributeFlusher<?, Object, Object> flusher = flushers[i];
+            if (flusher != null) {
+                // Only basic attribute flushers append a fragment that is independent of the flushed values
+                if (!(flusher instanceof BasicAttributeFlusher<?, ?>)) {
+                    return -1L;
+                }
+                if (((BasicAttributeFlusher<?, ?>) flusher).appendsUpdateQueryFragment()) {
+                    mask |= 1L << i;
+                }
+            }
+        }
+        if (isOptimisticLockProtected()) {
+            mask |= 1L << 63;
+        }
+        return mask;
+    }
+
     @Override
     public boolean appendUpdateQueryFragment(UpdateContext context, StringBuilder sb, String mappingPrefix, String parameterPrefix, String separator) {
         int clauseEndIndex = sb.length();
@@ -527,6 +552,14 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         return query;
     }
 
+    public void loadEntities(UpdateContext context, List<Object> ids) {
+        // Flushing with queries doesn't need the entities
+        if (supportsQueryFlush()) {
+            return;
+        }
+        ((FlusherBasedEntityLoader) entityLoader).loadEntities(context, ids);
+    }
+
     public Object getEntityIdCopy(UpdateContext context, EntityViewProxy updatableProxy) {
         if (jpaIdInstantiator != null) {
             Object oldId = jpaIdInstantiator.toEntity(context, null, null);
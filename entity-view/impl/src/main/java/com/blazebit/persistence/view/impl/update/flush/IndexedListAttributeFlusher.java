@@ -180,7 +180,7 @@ public class IndexedListAttributeFlusher<E, V extends List<?>> extends Collectio
 
     @Override
     protected Collection<Object> appendRemoveSpecific(UpdateContext context, DeleteCriteriaBuilder<?> deleteCb, FusedCollectionActions fusedCollectionActions) {
-        deleteCb.where("INDEX(e." + getMapping() + ")").in(fusedCollectionActions.getRemoved(context));
+        deleteCb.where("INDEX(e." + getMapping() + ")").inExpressions(":" + REMOVED_ELEMENTS_PARAMETER);
         return fusedCollectionActions.getRemoved();
     }
 
@@ -79,6 +79,18 @@ public class VersionAttributeFlusher<E, V> extends BasicAttributeFlusher<E, V> {
         return query;
     }
 
+    public final boolean isVersionMatching(Object value, Object entityValue) {
+        return value == entityValue || elementDescriptor.getBasicUserType().isDeepEqual(value, entityValue);
+    }
+
+    public void appendParameter(StringBuilder sb, String parameterPrefix) {
+        sb.append(':');
+        if (parameterPrefix != null) {
+            sb.append(parameterPrefix);
+        }
+        sb.append(parameterName);
+    }
+
     public void flushQueryInitialVersion(UpdateContext context, String parameterPrefix, Query query, Object view, V value) {
         if (query != null) {
             String parameter;
@@ -116,7 +128,7 @@ public class VersionAttributeFlusher<E, V> extends BasicAttributeFlusher<E, V> {
     public List<PostFlushDeleter> remove(UpdateContext context, E entity, Object view, V value) {
         if (entity != null) {
             Object entityValue = entityAttributeAccessor.getValue(entity);
-            if (value != entityValue && !elementDescriptor.getBasicUserType().isDeepEqual(value, entityValue)) {
+            if (!isVersionMatching(value, entityValue)) {
                 throw new OptimisticLockException("The version value of the loaded entity [" + entityValue + "] and the view [" + value + "] do not match!", entity, view);
             }
         }
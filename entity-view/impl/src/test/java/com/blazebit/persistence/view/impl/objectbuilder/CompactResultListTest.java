@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import com.blazebit.persistence.view.impl.proxy.ObjectInstantiator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class CompactResultListTest {
+
+    private static final ObjectInstantiator<Object[]> TUPLE_INSTANTIATOR = new ObjectInstantiator<Object[]>() {
+        @Override
+        public Object[] newInstance(Object[] tuple) {
+            return tuple;
+        }
+    };
+
+    @Test
+    public void emptyElementIsNullIfEmpty() {
+        CompactResultList<Object[]> list = new CompactResultList<>(TUPLE_INSTANTIATOR, tuples(), true);
+
+        assertEquals(3, list.size());
+        assertArrayEquals(new Object[]{ 1L, "a" }, list.get(0));
+        assertNull(list.get(1));
+        assertArrayEquals(new Object[]{ null, "c" }, list.get(2));
+    }
+
+    @Test
+    public void emptyElementIsCreatedIfNotNullIfEmpty() {
+        CompactResultList<Object[]> list = new CompactResultList<>(TUPLE_INSTANTIATOR, tuples(), false);
+
+        assertEquals(3, list.size());
+        assertArrayEquals(new Object[]{ 1L, "a" }, list.get(0));
+        assertArrayEquals(new Object[]{ null, null }, list.get(1));
+        assertArrayEquals(new Object[]{ null, "c" }, list.get(2));
+    }
+
+    private static List<Object[]> tuples() {
+        return new ArrayList<>(Arrays.asList(
+                new Object[]{ 1L, "a" },
+                new Object[]{ null, null },
+                new Object[]{ null, "c" }
+        ));
+    }
+}
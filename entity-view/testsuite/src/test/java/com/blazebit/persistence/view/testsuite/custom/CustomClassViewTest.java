@@ -101,6 +101,12 @@ public class CustomClassViewTest extends AbstractEntityViewTest {
             this.age = age;
         }
 
+        @ViewConstructor("init without-idx")
+        public CustomSubDocumentView(@IdMapping("id") Long id, @Mapping("name") String name, long age) {
+            super(name, id, -1);
+            this.age = age;
+        }
+
         public long age() {
             return age;
         }
@@ -179,4 +185,24 @@ public class CustomClassViewTest extends AbstractEntityViewTest {
         assertEquals(doc2.getName(), results.get(1).getName());
         assertEquals(doc2.getAge(), results.get(1).age());
     }
+
+    @Test
+    public void testCustomSubClassConstructorWithNonIdentifierName() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d")
+                .orderByAsc("id");
+        CriteriaBuilder<CustomSubDocumentView> cb = evm.applySetting(EntityViewSetting.create(CustomSubDocumentView.class, "init without-idx"), criteria);
+        List<CustomSubDocumentView> results = cb.getResultList();
+
+        assertEquals(2, results.size());
+        // Doc1
+        assertEquals(doc1.getId(), results.get(0).getId());
+        assertEquals(doc1.getName(), results.get(0).getName());
+        assertEquals(-1, results.get(0).getIdx());
+        assertEquals(doc1.getAge(), results.get(0).age());
+        // Doc2
+        assertEquals(doc2.getId(), results.get(1).getId());
+        assertEquals(doc2.getName(), results.get(1).getName());
+        assertEquals(-1, results.get(1).getIdx());
+        assertEquals(doc2.getAge(), results.get(1).age());
+    }
 }
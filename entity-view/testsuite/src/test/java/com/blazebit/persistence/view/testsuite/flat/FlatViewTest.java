@@ -18,9 +18,11 @@ package com.blazebit.persistence.view.testsuite.flat;
 
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViewSetting;
 import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.impl.objectbuilder.CompactResultList;
 import com.blazebit.persistence.view.metamodel.FlatViewType;
 import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import com.blazebit.persistence.view.metamodel.ViewType;
@@ -29,6 +31,7 @@ import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
 import com.blazebit.persistence.testsuite.entity.Document;
 import com.blazebit.persistence.testsuite.entity.Person;
 import com.blazebit.persistence.view.testsuite.flat.model.DocumentFlatEmbeddingView;
+import com.blazebit.persistence.view.testsuite.flat.model.PersonCompactFlatView;
 import com.blazebit.persistence.view.testsuite.flat.model.PersonFlatView;
 import com.blazebit.persistence.view.testsuite.flat.model.UpdatableDocumentFlatView;
 import org.junit.Before;
@@ -39,6 +42,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -55,7 +59,8 @@ public class FlatViewTest extends AbstractEntityViewTest {
         evm = build(
                 UpdatableDocumentFlatView.class,
                 DocumentFlatEmbeddingView.class,
-                PersonFlatView.class
+                PersonFlatView.class,
+                PersonCompactFlatView.class
         );
     }
 
@@ -77,6 +82,9 @@ public class FlatViewTest extends AbstractEntityViewTest {
                 o2.getLocalized().put(1, "localized2");
                 o1.setPartnerDocument(doc1);
                 o2.setPartnerDocument(doc2);
+                o1.setAge(10L);
+                o2.setAge(20L);
+                o1.setDefaultLanguage(1);
 
                 doc1.setOwner(o1);
                 doc2.setOwner(o2);
@@ -126,6 +134,45 @@ public class FlatViewTest extends AbstractEntityViewTest {
         assertEquals(doc2.getOwner().getName(), results.get(1).getName());
     }
 
+    @Test
+    public void queryFlatViewCompactResultList() {
+        CriteriaBuilder<Person> criteria = cbf.create(em, Person.class, "p")
+                .orderByAsc("id");
+        EntityViewSetting<PersonFlatView, CriteriaBuilder<PersonFlatView>> setting = EntityViewSetting.create(PersonFlatView.class);
+        setting.setProperty(ConfigurationProperties.COMPACT_RESULT_LIST, true);
+        CriteriaBuilder<PersonFlatView> cb = evm.applySetting(setting, criteria);
+        List<PersonFlatView> results = cb.getResultList();
+
+        assertTrue(results instanceof CompactResultList<?>);
+        assertEquals(2, results.size());
+
+        assertEquals(doc1.getOwner().getName(), results.get(0).getName());
+        assertEquals(doc2.getOwner().getName(), results.get(1).getName());
+    }
+
+    @Test
+    public void queryFlatViewCompactResultListWithPrimitiveAndNullColumns() {
+        CriteriaBuilder<Person> criteria = cbf.create(em, Person.class, "p")
+                .orderByAsc("id");
+        EntityViewSetting<PersonCompactFlatView, CriteriaBuilder<PersonCompactFlatView>> setting = EntityViewSetting.create(PersonCompactFlatView.class);
+        setting.setProperty(ConfigurationProperties.COMPACT_RESULT_LIST, true);
+        CriteriaBuilder<PersonCompactFlatView> cb = evm.applySetting(setting, criteria);
+        List<PersonCompactFlatView> results = cb.getResultList();
+
+        assertTrue(results instanceof CompactResultList<?>);
+        assertEquals(2, results.size());
+
+        assertEquals(doc1.getOwner().getName(), results.get(0).getName());
+        assertEquals(10L, results.get(0).getAge());
+        assertEquals(Integer.valueOf(1), results.get(0).getDefaultLanguage());
+        assertNull(results.get(0).getFriendName());
+
+        assertEquals(doc2.getOwner().getName(), results.get(1).getName());
+        assertEquals(20L, results.get(1).getAge());
+        assertNull(results.get(1).getDefaultLanguage());
+        assertNull(results.get(1).getFriendName());
+    }
+
     @Test
     public void queryFlatEmbeddingView() {
         CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "p")
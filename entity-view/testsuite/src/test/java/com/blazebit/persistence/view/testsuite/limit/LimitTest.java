@@ -16,6 +16,10 @@
 
 package com.blazebit.persistence.view.testsuite.limit;
 
+import com.blazebit.persistence.Criteria;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.impl.dialect.MySQLDbmsDialect;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoH2;
@@ -37,6 +41,7 @@ import com.blazebit.persistence.view.spi.EntityViewConfiguration;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
 import com.blazebit.persistence.view.testsuite.limit.model.DocumentLimitView;
 import com.blazebit.persistence.view.testsuite.limit.model.PersonLimitJoinExpressionView;
+import com.blazebit.persistence.view.testsuite.limit.model.PersonLimitJoinMultipleView;
 import com.blazebit.persistence.view.testsuite.limit.model.PersonLimitJoinView;
 import com.blazebit.persistence.view.testsuite.limit.model.PersonLimitMultisetView;
 import com.blazebit.persistence.view.testsuite.limit.model.PersonLimitSelectView;
@@ -49,6 +54,7 @@ import javax.persistence.EntityManager;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -142,6 +148,32 @@ public class LimitTest extends AbstractEntityViewTest {
         test(PersonLimitSubselectView.class, null);
     }
 
+    @Test
+    public void testLimitJoinValidationWithoutLateralAndLimitInSubquery() {
+        // MySQL before 8 supports neither lateral joins nor correlated LIMIT subqueries in quantified predicates
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.registerDialect(config.getEntityManagerIntegrators().get(0).getDbms(emf), new MySQLDbmsDialect());
+        CriteriaBuilderFactory mySqlCbf = config.createCriteriaBuilderFactory(emf);
+
+        // A limit of 1 is rendered as correlated scalar subquery which is supported
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.addEntityView(DocumentLimitView.class);
+        cfg.addEntityView(PersonLimitJoinView.class);
+        cfg.createEntityViewManager(mySqlCbf);
+
+        cfg = EntityViews.createDefaultConfiguration();
+        cfg.addEntityView(DocumentLimitView.class);
+        cfg.addEntityView(PersonLimitJoinMultipleView.class);
+        try {
+            cfg.createEntityViewManager(mySqlCbf);
+            fail("Expected validation exception!");
+        } catch (IllegalArgumentException ex) {
+            if (!ex.getMessage().contains("The use of the JOIN fetch strategy with a limit in the")) {
+                throw ex;
+            }
+        }
+    }
+
     private void test(Class<? extends PersonLimitView> clazz, Integer batchSize) {
         EntityViewManager evm = build(DocumentLimitView.class, clazz);
         if (batchSize == null) {
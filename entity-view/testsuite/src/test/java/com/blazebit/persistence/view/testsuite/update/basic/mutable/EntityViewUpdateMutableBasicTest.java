@@ -20,19 +20,24 @@ import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuil
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
 import com.blazebit.persistence.view.FlushMode;
 import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.OptimisticLockException;
 import com.blazebit.persistence.view.change.ChangeModel;
 import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 import com.blazebit.persistence.view.testsuite.update.basic.AbstractEntityViewUpdateBasicTest;
 import com.blazebit.persistence.view.testsuite.update.basic.mutable.model.UpdatableDocumentBasicView;
+import org.junit.Assume;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import javax.persistence.EntityManager;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 
 import static org.junit.Assert.*;
@@ -189,6 +194,51 @@ public class EntityViewUpdateMutableBasicTest extends AbstractEntityViewUpdateBa
         assertNoUpdateAndReload(docView);
     }
 
+    @Test
+    public void testIncrementVersions() {
+        Assume.assumeTrue("Version increments require a versioned view", version);
+        // Given
+        final UpdatableDocumentBasicView doc1View = getDoc1View();
+        final UpdatableDocumentBasicView doc2View = getDoc2View();
+        final Long doc1Version = doc1View.getVersion();
+
+        // When
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                evm.incrementVersions(em, Arrays.asList(doc1View, doc2View));
+                em.createQuery("UPDATE Document d SET d.version = d.version + 1 WHERE d.id = :id")
+                        .setParameter("id", doc2.getId())
+                        .executeUpdate();
+            }
+        });
+
+        // Then
+        assertEquals(doc1Version + 1, (long) doc1View.getVersion());
+        try {
+            transactional(new TxVoidWork() {
+                @Override
+                public void work(EntityManager em) {
+                    evm.incrementVersions(em, Arrays.asList(doc1View, doc2View));
+                }
+            });
+            fail("Expected an optimistic lock exception");
+        } catch (OptimisticLockException ex) {
+            assertSame(doc2View, ex.getEntityView());
+            assertTrue(ex.getMessage().contains("[" + doc2.getId() + "]"));
+        }
+        assertEquals(doc1Version + 1, (long) doc1View.getVersion());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                evm.incrementVersions(em, Collections.singletonList(doc1View));
+            }
+        });
+        assertEquals(doc1Version + 2, (long) doc1View.getVersion());
+        clearPersistenceContextAndReload();
+        assertEquals(doc1View.getVersion(), doc1.getVersion());
+    }
+
     @Override
     protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
         return builder.assertSelect()
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.update.elementcollection;
+
+import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.FlushMode;
+import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.collections.entity.simple.DocumentForElementCollections;
+import com.blazebit.persistence.view.testsuite.collections.entity.simple.PersonForElementCollections;
+import com.blazebit.persistence.view.testsuite.update.AbstractEntityViewUpdateTest;
+import com.blazebit.persistence.view.testsuite.update.elementcollection.model.DocumentForElementCollectionsEmbeddableElementsView;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Uses a collection DML batch size of 2 so that the insertion of 3 elements requires two statements.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+@RunWith(Parameterized.class)
+// NOTE: No EclipseLink and Datanucleus support yet
+@Category({ NoDatanucleus.class, NoEclipselink.class})
+public class ElementCollectionUpdateReferenceBatchedTest extends AbstractEntityViewUpdateTest<DocumentForElementCollectionsEmbeddableElementsView> {
+
+    private DocumentForElementCollections doc1;
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return new Class<?>[] {
+            DocumentForElementCollections.class,
+            PersonForElementCollections.class
+        };
+    }
+
+    @Override
+    protected void registerViewTypes(EntityViewConfiguration cfg) {
+        cfg.setProperty(ConfigurationProperties.UPDATER_COLLECTION_DML_BATCH_SIZE, "2");
+        cfg.addEntityView(DocumentForElementCollectionsEmbeddableElementsView.class);
+    }
+
+    public ElementCollectionUpdateReferenceBatchedTest(FlushMode mode, FlushStrategy strategy, boolean version) {
+        super(mode, strategy, version, DocumentForElementCollectionsEmbeddableElementsView.class);
+    }
+
+    @Parameterized.Parameters(name = "{0} - {1} - VERSIONED={2}")
+    public static Object[][] combinations() {
+        return MODE_STRATEGY_VERSION_COMBINATIONS;
+    }
+
+    @Override
+    protected void prepareData(EntityManager em) {
+        doc1 = new DocumentForElementCollections("doc1");
+
+        PersonForElementCollections o1 = new PersonForElementCollections("pers1");
+
+        doc1.getPartners().add(o1);
+
+        em.persist(doc1);
+    }
+
+    @Test
+    public void testUpdateReferenceEmbeddableBatched() {
+        DocumentForElementCollectionsEmbeddableElementsView doc1View = evm.getReference(DocumentForElementCollectionsEmbeddableElementsView.class, doc1.getId());
+        doc1View.getPartners().add(new PersonForElementCollections("Test1"));
+        doc1View.getPartners().add(new PersonForElementCollections("Test2"));
+        doc1View.getPartners().add(new PersonForElementCollections("Test3"));
+
+        clearQueries();
+        update(doc1View);
+
+        if (isQueryStrategy()) {
+            // The three elements are inserted with two statements due to the batch size of 2
+            assertUnorderedQuerySequence()
+                    .delete(DocumentForElementCollections.class, "partners")
+                    .insert(DocumentForElementCollections.class, "partners")
+                    .insert(DocumentForElementCollections.class, "partners")
+                    .validate();
+        }
+
+        List<DocumentForElementCollections> entities = cbf.create(em, DocumentForElementCollections.class, "d")
+                .where("id").eq(doc1.getId())
+                .getResultList();
+
+        // The contents of the reference replace the existing elements
+        List<PersonForElementCollections> partners = new ArrayList<>(entities.get(0).getPartners());
+        partners.sort(Comparator.comparing(PersonForElementCollections::getFullname));
+        assertEquals(3, partners.size());
+        assertEquals("Test1", partners.get(0).getFullname());
+        assertEquals("Test2", partners.get(1).getFullname());
+        assertEquals("Test3", partners.get(2).getFullname());
+    }
+
+    @Override
+    protected void reload() {
+
+    }
+
+    @Override
+    protected AssertStatementBuilder fullFetch(AssertStatementBuilder builder) {
+        return builder;
+    }
+
+    @Override
+    protected AssertStatementBuilder versionUpdate(AssertStatementBuilder builder) {
+        return builder;
+    }
+}
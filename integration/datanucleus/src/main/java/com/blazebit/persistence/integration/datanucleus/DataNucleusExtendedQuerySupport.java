@@ -133,6 +133,12 @@ public class DataNucleusExtendedQuerySupport implements ExtendedQuerySupport {
         // TODO: implement
         throw new UnsupportedOperationException("Not yet implemeneted!");
     }
+
+    @Override
+    public long getEstimatedRowCount(com.blazebit.persistence.spi.ServiceProvider serviceProvider, Query query) {
+        // TODO: implement
+        return -1L;
+    }
     
     private void applySql(Query query, String sqlOverride) {
         // TODO: parameter handling
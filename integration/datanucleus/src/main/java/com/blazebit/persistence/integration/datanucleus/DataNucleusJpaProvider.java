@@ -562,6 +562,11 @@ public class DataNucleusJpaProvider implements JpaProvider {
         query.setHint("datanucleus.query.results.cached", true);
     }
 
+    @Override
+    public void setComment(Query query, String comment) {
+        // DataNucleus has no support for SQL comments
+    }
+
     @Override
     public void setSingularParameter(Query query, String name, Object value) {
         query.setParameter(name, value);
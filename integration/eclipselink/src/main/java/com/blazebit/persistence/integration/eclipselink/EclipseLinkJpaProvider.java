@@ -659,6 +659,11 @@ public class EclipseLinkJpaProvider implements JpaProvider {
         query.setHint("eclipselink.query-results-cache", true);
     }
 
+    @Override
+    public void setComment(Query query, String comment) {
+        // EclipseLink has no support for SQL comments
+    }
+
     @Override
     public void setSingularParameter(Query query, String name, Object value) {
         query.setParameter(name, value);
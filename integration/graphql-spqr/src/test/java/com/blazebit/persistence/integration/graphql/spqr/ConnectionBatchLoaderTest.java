@@ -0,0 +1,193 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql.spqr;
+
+import com.blazebit.persistence.Criteria;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.impl.dialect.H2DbmsDialect;
+import com.blazebit.persistence.integration.graphql.GraphQLEntityViewConnectionBatchLoader;
+import com.blazebit.persistence.integration.graphql.GraphQLRelayConnection;
+import com.blazebit.persistence.integration.graphql.GraphQLRelayEdge;
+import com.blazebit.persistence.integration.graphql.spqr.model.Cat;
+import com.blazebit.persistence.integration.graphql.spqr.model.Person;
+import com.blazebit.persistence.integration.graphql.spqr.view.CatSimpleView;
+import com.blazebit.persistence.integration.graphql.spqr.view.CatWithOwnerAndAgeView;
+import com.blazebit.persistence.integration.graphql.spqr.view.CatWithOwnerView;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.metamodel.OrderByItem;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest
+public class ConnectionBatchLoaderTest {
+
+    @Autowired
+    AbstractSampleTest.DataInitializer dataInitializer;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    EntityManagerFactory emf;
+    @Autowired
+    CriteriaBuilderFactory cbf;
+    @Autowired
+    EntityViewManager evm;
+    @Autowired
+    EntityViewConfiguration entityViewConfiguration;
+
+    private Long personWithThreeCats;
+    private Long personWithOneCat;
+    private Long personWithoutCats;
+
+    @Before
+    public void init() {
+        dataInitializer.run(em -> {
+            Person p1 = new Person("Batch Person 1");
+            Person p2 = new Person("Batch Person 2");
+            Person p3 = new Person("Batch Person 3");
+            em.persist(p1);
+            em.persist(p2);
+            em.persist(p3);
+            em.persist(new Cat("Batch Cat 1", 3, p1));
+            em.persist(new Cat("Batch Cat 2", 1, p1));
+            em.persist(new Cat("Batch Cat 3", 2, p1));
+            em.persist(new Cat("Batch Cat 4", 5, p2));
+            em.flush();
+            personWithThreeCats = p1.getId();
+            personWithOneCat = p2.getId();
+            personWithoutCats = p3.getId();
+        });
+    }
+
+    @Test
+    public void testGroupByParentInRequestOrder() {
+        List<GraphQLRelayConnection<CatWithOwnerView>> connections = loader(cbf, evm, null).loadConnections(Arrays.asList(personWithoutCats, personWithThreeCats, personWithOneCat));
+
+        assertEquals(3, connections.size());
+        assertEquals(Collections.emptyList(), names(connections.get(0)));
+        assertEquals(0L, connections.get(0).getTotalCount());
+        assertEquals(Arrays.asList("Batch Cat 2", "Batch Cat 3", "Batch Cat 1"), names(connections.get(1)));
+        assertEquals(3L, connections.get(1).getTotalCount());
+        assertEquals(Collections.singletonList("Batch Cat 4"), names(connections.get(2)));
+        assertEquals(1L, connections.get(2).getTotalCount());
+        for (GraphQLRelayEdge<CatWithOwnerView> edge : connections.get(1).getEdges()) {
+            assertEquals(personWithThreeCats, edge.getNode().getOwner().getId());
+        }
+    }
+
+    @Test
+    public void testFirstPerParent() {
+        assertFirstPerParent(loader(cbf, evm, 2));
+    }
+
+    @Test
+    public void testFirstPerParentWithoutLimitInSubquery() {
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.registerDialect("h2", new H2DbmsDialect() {
+            @Override
+            public boolean supportsLimitInQuantifiedPredicateSubquery() {
+                return false;
+            }
+        });
+        CriteriaBuilderFactory perParentCbf = config.createCriteriaBuilderFactory(emf);
+        assertFirstPerParent(loader(perParentCbf, entityViewConfiguration.createEntityViewManager(perParentCbf), 2));
+    }
+
+    @Test
+    public void testFirstPerParentWithFilter() {
+        GraphQLEntityViewConnectionBatchLoader<Long, CatWithOwnerAndAgeView> loader = new GraphQLEntityViewConnectionBatchLoader<>(
+                cbf,
+                em,
+                evm,
+                () -> EntityViewSetting.create(CatWithOwnerAndAgeView.class).withAttributeFilter("age", 1),
+                "owner.id",
+                view -> view.getOwner().getId(),
+                1,
+                Collections.singletonList(new OrderByItem("age", true, false))
+        );
+        List<GraphQLRelayConnection<CatWithOwnerAndAgeView>> connections = loader.loadConnections(Arrays.asList(personWithThreeCats, personWithOneCat, personWithoutCats));
+
+        // The filter must be applied before the first elements per parent are determined
+        assertEquals(3, connections.size());
+        assertEquals(Collections.singletonList("Batch Cat 3"), names(connections.get(0)));
+        assertTrue(connections.get(0).getPageInfo().isHasNextPage());
+        assertEquals(2L, connections.get(0).getTotalCount());
+        assertEquals(Collections.singletonList("Batch Cat 4"), names(connections.get(1)));
+        assertFalse(connections.get(1).getPageInfo().isHasNextPage());
+        assertEquals(1L, connections.get(1).getTotalCount());
+        assertEquals(Collections.emptyList(), names(connections.get(2)));
+        assertFalse(connections.get(2).getPageInfo().isHasNextPage());
+    }
+
+    private void assertFirstPerParent(GraphQLEntityViewConnectionBatchLoader<Long, CatWithOwnerView> loader) {
+        List<GraphQLRelayConnection<CatWithOwnerView>> connections = loader.loadConnections(Arrays.asList(personWithThreeCats, personWithOneCat, personWithoutCats));
+
+        assertEquals(3, connections.size());
+        assertEquals(Arrays.asList("Batch Cat 2", "Batch Cat 3"), names(connections.get(0)));
+        assertTrue(connections.get(0).getPageInfo().isHasNextPage());
+        assertEquals(3L, connections.get(0).getTotalCount());
+        assertEquals(Collections.singletonList("Batch Cat 4"), names(connections.get(1)));
+        assertFalse(connections.get(1).getPageInfo().isHasNextPage());
+        assertEquals(1L, connections.get(1).getTotalCount());
+        assertEquals(Collections.emptyList(), names(connections.get(2)));
+        assertFalse(connections.get(2).getPageInfo().isHasNextPage());
+        assertEquals(0L, connections.get(2).getTotalCount());
+    }
+
+    private GraphQLEntityViewConnectionBatchLoader<Long, CatWithOwnerView> loader(CriteriaBuilderFactory cbf, EntityViewManager evm, Integer first) {
+        return new GraphQLEntityViewConnectionBatchLoader<>(
+                cbf,
+                em,
+                evm,
+                () -> EntityViewSetting.create(CatWithOwnerView.class),
+                "owner.id",
+                view -> view.getOwner().getId(),
+                first,
+                Collections.singletonList(new OrderByItem("age", true, false))
+        );
+    }
+
+    private static <T extends CatSimpleView> List<String> names(GraphQLRelayConnection<T> connection) {
+        List<String> names = new ArrayList<>();
+        for (GraphQLRelayEdge<T> edge : connection.getEdges()) {
+            names.add(edge.getNode().getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.OrderByBuilder;
+import com.blazebit.persistence.PagedArrayList;
+import com.blazebit.persistence.SubqueryBuilder;
+import com.blazebit.persistence.spi.DbmsDialect;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.MappingAttribute;
+import com.blazebit.persistence.view.metamodel.OrderByItem;
+import com.blazebit.persistence.view.metamodel.ViewType;
+import org.dataloader.BatchLoader;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link BatchLoader} that loads the child connections of many parents with a single entity view query,
+ * instead of issuing one paginated query per parent.
+ *
+ * The children are restricted to the given parent ids and, if a page size is given, to the first elements per parent
+ * through a correlated subquery that is limited per parent. The children are then grouped by the parent id as
+ * extracted from the entity view, so the entity view must expose the parent id. Many parent ids are split into batches.
+ * If the DBMS doesn't support a LIMIT in quantified predicate subqueries, like MySQL before version 8,
+ * or if the entity view setting contains filters, which can't be applied to the limited subquery,
+ * the children are loaded with one query per parent instead.
+ *
+ * The total count of a connection that has more elements than requested is determined with a single grouped count query,
+ * or with one count query per parent if the entity view setting contains filters.
+ *
+ * @param <K> The parent id type
+ * @param <T> The child entity view type
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class GraphQLEntityViewConnectionBatchLoader<K, T> implements BatchLoader<K, GraphQLRelayConnection<T>> {
+
+    private static final String ROOT_ALIAS = "batchRoot";
+    private static final String SUBQUERY_ALIAS = "batchSub";
+    private static final int PARENT_ID_BATCH_SIZE = 100;
+
+    private final CriteriaBuilderFactory criteriaBuilderFactory;
+    private final EntityManager entityManager;
+    private final EntityViewManager entityViewManager;
+    private final Supplier<EntityViewSetting<T, CriteriaBuilder<T>>> settingSupplier;
+    private final String parentIdPath;
+    private final Function<T, K> parentIdExtractor;
+    private final Integer first;
+    private final List<OrderByItem> orderByItems;
+
+    /**
+     * Creates a new batch loader for child connections.
+     *
+     * @param criteriaBuilderFactory The criteria builder factory
+     * @param entityManager The entity manager
+     * @param entityViewManager The entity view manager
+     * @param settingSupplier The supplier for a non-paginated entity view setting of the child entity view
+     * @param parentIdPath The path relative to the child entity that refers to the parent id
+     * @param parentIdExtractor The function to extract the parent id from a child entity view
+     * @param first The maximum number of children to load per parent or <code>null</code> to load all
+     * @param orderByItems The order of the children by entity attribute paths relative to the child entity
+     */
+    public GraphQLEntityViewConnectionBatchLoader(CriteriaBuilderFactory criteriaBuilderFactory, EntityManager entityManager, EntityViewManager entityViewManager, Supplier<EntityViewSetting<T, CriteriaBuilder<T>>> settingSupplier,
+                                                  String parentIdPath, Function<T, K> parentIdExtractor, Integer first, List<OrderByItem> orderByItems) {
+        if (first != null && first < 0) {
+            throw new IllegalArgumentException("Illegal negative first parameter: " + first);
+        }
+        this.criteriaBuilderFactory = criteriaBuilderFactory;
+        this.entityManager = entityManager;
+        this.entityViewManager = entityViewManager;
+        this.settingSupplier = settingSupplier;
+        this.parentIdPath = parentIdPath;
+        this.parentIdExtractor = parentIdExtractor;
+        this.first = first;
+        this.orderByItems = orderByItems == null ? Collections.<OrderByItem>emptyList() : orderByItems;
+    }
+
+    @Override
+    public CompletionStage<List<GraphQLRelayConnection<T>>> load(List<K> parentIds) {
+        // The query is executed synchronously as the entity manager is usually bound to the current thread
+        return CompletableFuture.completedFuture(loadConnections(parentIds));
+    }
+
+    /**
+     * Loads the child connections for the given parent ids with a single query per batch of parent ids.
+     *
+     * @param parentIds The parent ids
+     * @return the child connections in the order of the given parent ids
+     */
+    public List<GraphQLRelayConnection<T>> loadConnections(List<K> parentIds) {
+        if (parentIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        EntityViewSetting<T, CriteriaBuilder<T>> setting = settingSupplier.get();
+        if (setting.isPaginated()) {
+            throw new IllegalArgumentException("The entity view setting for batch loading must not be paginated as the pagination is applied per parent!");
+        }
+        ManagedViewType<T> managedViewType = entityViewManager.getMetamodel().managedView(setting.getEntityViewClass());
+        if (!(managedViewType instanceof ViewType<?>)) {
+            throw new IllegalArgumentException("Batch loading is only supported for entity views with an id but got: " + setting.getEntityViewClass().getName());
+        }
+        Class<?> entityClass = managedViewType.getEntityClass();
+        String idPath = ((MappingAttribute<?, ?>) ((ViewType<T>) managedViewType).getIdAttribute()).getMapping();
+        List<K> distinctParentIds = new ArrayList<>(new LinkedHashSet<>(parentIds));
+
+        Map<K, List<T>> childrenByParentId = new HashMap<>(distinctParentIds.size());
+        boolean hasFilters = setting.hasAttributeFilters() || setting.hasViewFilters();
+        if (first != null && (hasFilters || !criteriaBuilderFactory.getService(DbmsDialect.class).supportsLimitInQuantifiedPredicateSubquery())) {
+            // Without LIMIT support in the IN subquery, the first elements per parent can only be determined with a query per parent
+            // The filters of the setting are only applied to the outer query, so the limited subquery would select elements that are filtered out
+            for (K parentId : distinctParentIds) {
+                CriteriaBuilder<?> criteriaBuilder = criteriaBuilderFactory.create(entityManager, entityClass, ROOT_ALIAS);
+                criteriaBuilder.where(ROOT_ALIAS + "." + parentIdPath).eq(parentId);
+                applyOrderBy(criteriaBuilder, ROOT_ALIAS, idPath);
+                criteriaBuilder.setMaxResults(first + 1);
+                childrenByParentId.put(parentId, entityViewManager.applySetting(setting, criteriaBuilder).getResultList());
+                setting = settingSupplier.get();
+            }
+        } else {
+            // We chunk the parent ids to stay below the limits of DBMS for the IN predicate
+            for (int start = 0; start < distinctParentIds.size(); start += PARENT_ID_BATCH_SIZE) {
+                List<K> batchParentIds = distinctParentIds.subList(start, Math.min(start + PARENT_ID_BATCH_SIZE, distinctParentIds.size()));
+                CriteriaBuilder<?> criteriaBuilder = criteriaBuilderFactory.create(entityManager, entityClass, ROOT_ALIAS);
+                criteriaBuilder.where(ROOT_ALIAS + "." + parentIdPath).in(batchParentIds);
+                if (first != null) {
+                    // Fetch one more element per parent to determine if there is a next page
+                    SubqueryBuilder<?> subquery = criteriaBuilder.where(ROOT_ALIAS + "." + idPath).in()
+                            .from(entityClass, SUBQUERY_ALIAS)
+                            .select(SUBQUERY_ALIAS + "." + idPath)
+                            .where(SUBQUERY_ALIAS + "." + parentIdPath).eqExpression(ROOT_ALIAS + "." + parentIdPath);
+                    applyOrderBy(subquery, SUBQUERY_ALIAS, idPath);
+                    subquery.setMaxResults(first + 1);
+                    subquery.end();
+                }
+                applyOrderBy(criteriaBuilder, ROOT_ALIAS, idPath);
+
+                List<T> children = entityViewManager.applySetting(setting, criteriaBuilder).getResultList();
+                for (T child : children) {
+                    K parentId = parentIdExtractor.apply(child);
+                    List<T> parentChildren = childrenByParentId.get(parentId);
+                    if (parentChildren == null) {
+                        parentChildren = new ArrayList<>();
+                        childrenByParentId.put(parentId, parentChildren);
+                    }
+                    parentChildren.add(child);
+                }
+                setting = settingSupplier.get();
+            }
+        }
+
+        Map<K, Long> totalCounts = Collections.emptyMap();
+        if (first != null) {
+            List<K> truncatedParentIds = new ArrayList<>();
+            for (Map.Entry<K, List<T>> entry : childrenByParentId.entrySet()) {
+                if (entry.getValue().size() > first) {
+                    truncatedParentIds.add(entry.getKey());
+                }
+            }
+            if (!truncatedParentIds.isEmpty()) {
+                totalCounts = countChildren(entityClass, truncatedParentIds);
+            }
+        }
+
+        List<GraphQLRelayConnection<T>> connections = new ArrayList<>(parentIds.size());
+        for (K parentId : parentIds) {
+            List<T> parentChildren = childrenByParentId.get(parentId);
+            if (parentChildren == null) {
+                parentChildren = Collections.emptyList();
+            }
+            connections.add(createConnection(parentChildren, totalCounts.get(parentId)));
+        }
+        return connections;
+    }
+
+    private void applyOrderBy(OrderByBuilder<?> orderByBuilder, String alias, String idPath) {
+        for (OrderByItem orderByItem : orderByItems) {
+            orderByBuilder.orderBy(alias + "." + orderByItem.getExpression(), orderByItem.isAscending(), orderByItem.isNullsFirst());
+        }
+        orderByBuilder.orderByAsc(alias + "." + idPath);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<K, Long> countChildren(Class<?> entityClass, List<K> parentIds) {
+        Map<K, Long> totalCounts = new HashMap<>(parentIds.size());
+        EntityViewSetting<T, CriteriaBuilder<T>> setting = settingSupplier.get();
+        if (setting.hasAttributeFilters() || setting.hasViewFilters()) {
+            // Filters are applied through the entity view setting, so we have to count per parent
+            for (K parentId : parentIds) {
+                CriteriaBuilder<?> criteriaBuilder = criteriaBuilderFactory.create(entityManager, entityClass, ROOT_ALIAS);
+                criteriaBuilder.where(ROOT_ALIAS + "." + parentIdPath).eq(parentId);
+                totalCounts.put(parentId, entityViewManager.applySetting(setting, criteriaBuilder).getCountQuery().getSingleResult());
+                setting = settingSupplier.get();
+            }
+        } else {
+            // We chunk the parent ids to stay below the limits of DBMS for the IN predicate
+            for (int start = 0; start < parentIds.size(); start += PARENT_ID_BATCH_SIZE) {
+                CriteriaBuilder<Object[]> criteriaBuilder = criteriaBuilderFactory.create(entityManager, Object[].class)
+                        .from(entityClass, ROOT_ALIAS)
+                        .select(ROOT_ALIAS + "." + parentIdPath)
+                        .select("COUNT(*)")
+                        .where(ROOT_ALIAS + "." + parentIdPath).in(parentIds.subList(start, Math.min(start + PARENT_ID_BATCH_SIZE, parentIds.size())))
+                        .groupBy(ROOT_ALIAS + "." + parentIdPath);
+                for (Object[] tuple : criteriaBuilder.getResultList()) {
+                    totalCounts.put((K) tuple[0], ((Number) tuple[1]).longValue());
+                }
+            }
+        }
+        return totalCounts;
+    }
+
+    private GraphQLRelayConnection<T> createConnection(List<T> children, Long totalCount) {
+        if (first == null) {
+            return new GraphQLRelayConnection<>(children);
+        }
+        boolean hasNextPage = children.size() > first;
+        List<T> page = hasNextPage ? children.subList(0, first) : children;
+        return new GraphQLRelayConnection<>(new PagedArrayList<>(page, null, hasNextPage ? totalCount : page.size(), 0, first));
+    }
+}
@@ -35,7 +35,6 @@ import graphql.relay.DefaultPageInfo;
 import graphql.relay.Edge;
 import graphql.relay.PageInfo;
 import graphql.schema.DataFetchingEnvironment;
-import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.GraphQLFieldsContainer;
 import graphql.schema.GraphQLType;
 import graphql.schema.GraphQLUnmodifiedType;
@@ -52,6 +51,7 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -105,6 +105,12 @@ public class GraphQLEntityViewSupport {
      * Default name for the total count field.
      */
     public static final String TOTAL_COUNT_NAME = "totalCount";
+    /**
+     * Default maximum number of selection sets for which the fetches are cached.
+     *
+     * @since 1.6.13
+     */
+    public static final int DEFAULT_FETCH_PLAN_CACHE_SIZE = 1024;
 
     // GraphQL defines meta fields that can be used on any type: https://graphql.org/learn/queries/#meta-fields
     private static final Set<String> META_FIELDS = new HashSet<>(Arrays.asList("__typename"));
@@ -114,6 +120,8 @@ public class GraphQLEntityViewSupport {
     private final Set<String> serializableBasicTypes;
     private final ConcurrentMap<TypeRootCacheKey, GraphQLUnmodifiedType> typeReferenceCache = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, String> selectedFieldCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<FetchPlanCacheKey, Set<String>> fetchPlanCache = new ConcurrentHashMap<>();
+    private final int fetchPlanCacheSize;
 
     private final String pageSizeName;
     private final String offsetName;
@@ -188,6 +196,27 @@ public class GraphQLEntityViewSupport {
      * @param elementCursorName The name of the cursor field within elements
      */
     public GraphQLEntityViewSupport(Map<String, ManagedViewType<?>> typeNameToViewType, Map<String, Map<String, String>> typeNameToFieldMapping, Set<String> serializableBasicTypes, String pageSizeName, String offsetName, String beforeCursorName, String afterCursorName, String totalCountName, String pageElementsName, String pageElementObjectName, String elementCursorName) {
+        this(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes, pageSizeName, offsetName, beforeCursorName, afterCursorName, totalCountName, pageElementsName, pageElementObjectName, elementCursorName, DEFAULT_FETCH_PLAN_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new {@link GraphQLEntityViewSupport} instance with the given type name to class mapping and serializable basic type whitelist.
+     *
+     * @param typeNameToViewType The mapping from GraphQL type names to entity view metamodels
+     * @param typeNameToFieldMapping The mapping from GraphQL type names to a map from GraphQL field name to entity view attribute name
+     * @param serializableBasicTypes The whitelist of allowed serializable basic types to use for cursor deserialization
+     * @param pageSizeName The name of the page size field
+     * @param offsetName The name of the offset field
+     * @param beforeCursorName The name of the beforeCursor field
+     * @param afterCursorName The name of the afterCursor field
+     * @param totalCountName The name of the totalCount field
+     * @param pageElementsName The name of the elements field
+     * @param pageElementObjectName The name of the element object field within elements
+     * @param elementCursorName The name of the cursor field within elements
+     * @param fetchPlanCacheSize The maximum number of selection sets for which to cache the fetches, or <code>0</code> to disable the cache
+     * @since 1.6.13
+     */
+    public GraphQLEntityViewSupport(Map<String, ManagedViewType<?>> typeNameToViewType, Map<String, Map<String, String>> typeNameToFieldMapping, Set<String> serializableBasicTypes, String pageSizeName, String offsetName, String beforeCursorName, String afterCursorName, String totalCountName, String pageElementsName, String pageElementObjectName, String elementCursorName, int fetchPlanCacheSize) {
         this.pageSizeName = pageSizeName;
         this.offsetName = offsetName;
         this.beforeCursorName = beforeCursorName;
@@ -199,6 +228,7 @@ public class GraphQLEntityViewSupport {
         this.serializableBasicTypes = serializableBasicTypes;
         this.pageElementObjectName = pageElementObjectName;
         this.elementCursorName = elementCursorName;
+        this.fetchPlanCacheSize = fetchPlanCacheSize;
     }
 
     /**
@@ -605,13 +635,61 @@ public class GraphQLEntityViewSupport {
      * @param elementRoot The field at which to find the elements for fetch extraction
      */
     public void applyFetches(DataFetchingEnvironment dataFetchingEnvironment, EntityViewSetting<?, ?> setting, String elementRoot) {
-        DataFetchingFieldSelectionSet selectionSet = dataFetchingEnvironment.getSelectionSet();
+        for (String fetch : getFetches(dataFetchingEnvironment, elementRoot)) {
+            setting.fetch(fetch);
+        }
+    }
+
+    /**
+     * Returns the entity view attribute paths to fetch as requested by the selection set of {@link DataFetchingEnvironment}
+     * and interpreting the only paths below the given element root.
+     * The result is cached for the normalized selection set, so that repeated GraphQL operations don't have to map
+     * the selected fields to entity view attribute paths again.
+     *
+     * @param dataFetchingEnvironment The GraphQL data fetching environment
+     * @param elementRoot The field at which to find the elements for fetch extraction
+     * @return the unmodifiable set of entity view attribute paths to fetch
+     * @since 1.6.13
+     */
+    public Set<String> getFetches(DataFetchingEnvironment dataFetchingEnvironment, String elementRoot) {
+        List<SelectedField> fields = dataFetchingEnvironment.getSelectionSet().getFields();
+        if (fetchPlanCacheSize <= 0) {
+            return computeFetches(fields, elementRoot);
+        }
+        String[] fieldNames = new String[fields.size()];
+        for (int i = 0; i < fieldNames.length; i++) {
+            fieldNames[i] = fields.get(i).getFullyQualifiedName();
+        }
+        // Normalize the selection set, as the order of the selected fields doesn't matter for the fetches
+        Arrays.sort(fieldNames);
+        FetchPlanCacheKey cacheKey = new FetchPlanCacheKey(elementRoot, fieldNames);
+        Set<String> fetches = fetchPlanCache.get(cacheKey);
+        if (fetches == null) {
+            fetches = computeFetches(fields, elementRoot);
+            if (fetchPlanCache.size() < fetchPlanCacheSize) {
+                fetchPlanCache.putIfAbsent(cacheKey, fetches);
+            }
+        }
+        return fetches;
+    }
+
+    /**
+     * Clears the cached fetches of selection sets.
+     *
+     * @since 1.6.13
+     */
+    public void clearFetchPlanCache() {
+        fetchPlanCache.clear();
+    }
+
+    private Set<String> computeFetches(List<SelectedField> fields, String elementRoot) {
+        Set<String> fetches = new LinkedHashSet<>();
         OUTER:
-        for (SelectedField field : selectionSet.getFields()) {
+        for (SelectedField field : fields) {
             String fqFieldName = field.getFullyQualifiedName();
             String resolvedField = selectedFieldCache.get(fqFieldName);
             if (resolvedField != null) {
-                setting.fetch(resolvedField);
+                fetches.add(resolvedField);
                 continue;
             }
             if (!isLeaf(field.getType())) {
@@ -660,10 +738,11 @@ public class GraphQLEntityViewSupport {
             }
             if (!mappedFields.isEmpty()) {
                 resolvedField = String.join(".", mappedFields);
-                setting.fetch(resolvedField);
+                fetches.add(resolvedField);
                 selectedFieldCache.putIfAbsent(fqFieldName, resolvedField);
             }
         }
+        return Collections.unmodifiableSet(fetches);
     }
 
     /**
@@ -728,7 +807,10 @@ public class GraphQLEntityViewSupport {
 
         @Override
         public boolean equals(Object o) {
-            if (getClass() != o.getClass()) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
                 return false;
             }
             TypeRootCacheKey that = (TypeRootCacheKey) o;
@@ -743,6 +825,39 @@ public class GraphQLEntityViewSupport {
         }
     }
 
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static class FetchPlanCacheKey {
+        private final String root;
+        private final String[] fieldNames;
+        private final int hashCode;
+
+        public FetchPlanCacheKey(String root, String[] fieldNames) {
+            this.root = root;
+            this.fieldNames = fieldNames;
+            this.hashCode = 31 * root.hashCode() + Arrays.hashCode(fieldNames);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FetchPlanCacheKey that = (FetchPlanCacheKey) o;
+            return root.equals(that.root) && Arrays.equals(fieldNames, that.fieldNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     /**
      * Returns a relay connection from the given result list.
      *
@@ -160,6 +160,7 @@ public class GraphQLEntityViewSupportFactory {
     private Pattern typeFilterPattern;
     private Map<String, GraphQLScalarType> scalarTypeMap;
     private Set<String> registeredScalarTypeNames;
+    private int fetchPlanCacheSize = GraphQLEntityViewSupport.DEFAULT_FETCH_PLAN_CACHE_SIZE;
 
     /**
      * Creates a new entity view support factory with the given configuration.
@@ -328,6 +329,27 @@ public class GraphQLEntityViewSupportFactory {
         this.typeFilterPattern = typeFilterPattern;
     }
 
+    /**
+     * Returns the maximum number of selection sets for which the created {@link GraphQLEntityViewSupport} caches the fetches.
+     *
+     * @return the maximum number of cached selection sets
+     * @since 1.6.13
+     */
+    public int getFetchPlanCacheSize() {
+        return fetchPlanCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of selection sets for which the created {@link GraphQLEntityViewSupport} caches the fetches.
+     * A value of <code>0</code> disables the cache.
+     *
+     * @param fetchPlanCacheSize the maximum number of cached selection sets
+     * @since 1.6.13
+     */
+    public void setFetchPlanCacheSize(int fetchPlanCacheSize) {
+        this.fetchPlanCacheSize = fetchPlanCacheSize;
+    }
+
     /**
      * Returns a new {@link GraphQLEntityViewSupport} after registering the entity view types from {@link EntityViewManager}
      * on the given {@link TypeDefinitionRegistry}.
@@ -465,7 +487,7 @@ public class GraphQLEntityViewSupportFactory {
 
         serializableBasicTypes.add(Serializable[].class.getName());
         serializableBasicTypes.add(GraphQLCursor.class.getName());
-        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
+        return createSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
     }
 
     /**
@@ -664,7 +686,24 @@ public class GraphQLEntityViewSupportFactory {
                 schemaBuilder.additionalType(additionalType);
             }
         }
-        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
+        return createSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
+    }
+
+    private GraphQLEntityViewSupport createSupport(Map<String, ManagedViewType<?>> typeNameToViewType, Map<String, Map<String, String>> typeNameToFieldMapping, Set<String> serializableBasicTypes) {
+        return new GraphQLEntityViewSupport(
+                typeNameToViewType,
+                typeNameToFieldMapping,
+                serializableBasicTypes,
+                GraphQLEntityViewSupport.PAGE_SIZE_NAME,
+                GraphQLEntityViewSupport.OFFSET_NAME,
+                GraphQLEntityViewSupport.BEFORE_CURSOR_NAME,
+                GraphQLEntityViewSupport.AFTER_CURSOR_NAME,
+                GraphQLEntityViewSupport.TOTAL_COUNT_NAME,
+                GraphQLEntityViewSupport.EDGES_NAME,
+                GraphQLEntityViewSupport.EDGE_NODE_NAME,
+                GraphQLEntityViewSupport.EDGE_CURSOR_NAME,
+                fetchPlanCacheSize
+        );
     }
 
     private GraphQLList getListType(GraphQLType elementType) {
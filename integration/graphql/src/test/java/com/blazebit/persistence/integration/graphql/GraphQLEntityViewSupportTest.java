@@ -25,6 +25,7 @@ import com.blazebit.persistence.view.EntityViewSetting;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.SelectedField;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -39,6 +40,8 @@ import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.mak
 import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.makeMockSelectionSet;
 import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.makeRelayConnection;
 import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.personObjectType;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * @author David Kubecka
@@ -98,4 +101,20 @@ public class GraphQLEntityViewSupportTest {
 
         Assert.assertEquals(new HashSet<>(Arrays.asList("name", "animal.name")), setting.getFetches());
     }
+
+    @Test
+    public void testFetchesAreCachedForNormalizedSelectionSet() {
+        GraphQLFieldDefinition rootFieldDefinition = makeFieldDefinition("getDocument", documentObjectType);
+        DataFetchingFieldSelectionSet selectionSet = makeMockSelectionSet("Document", "name", "owner", "owner/name");
+        DataFetchingFieldSelectionSet reorderedSelectionSet = makeMockSelectionSet("Document", "owner/name", "owner", "name");
+
+        EntityViewSetting<DocumentView, CriteriaBuilder<DocumentView>> setting = graphQLEntityViewSupport.createSetting(makeMockDataFetchingEnvironment(rootFieldDefinition, selectionSet));
+        EntityViewSetting<DocumentView, CriteriaBuilder<DocumentView>> cachedSetting = graphQLEntityViewSupport.createSetting(makeMockDataFetchingEnvironment(rootFieldDefinition, reorderedSelectionSet));
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "owner.name")), setting.getFetches());
+        Assert.assertEquals(setting.getFetches(), cachedSetting.getFetches());
+        for (SelectedField field : reorderedSelectionSet.getFields()) {
+            verify(field, never()).getType();
+        }
+    }
 }
@@ -27,6 +27,7 @@ import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
 import com.blazebit.reflection.ReflectionUtils;
 import org.hibernate.HibernateException;
+import org.hibernate.Session;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.TypeMismatchException;
@@ -56,8 +57,11 @@ import org.hibernate.hql.internal.ast.tree.SelectClause;
 import org.hibernate.hql.spi.ParameterTranslations;
 import org.hibernate.hql.spi.QueryTranslator;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.loader.hql.QueryLoader;
+import org.hibernate.param.NamedParameterSpecification;
 import org.hibernate.param.ParameterSpecification;
+import org.hibernate.param.PositionalParameterSpecification;
 import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.type.ManyToOneType;
 import org.hibernate.type.Type;
@@ -69,6 +73,10 @@ import javax.persistence.PersistenceException;
 import javax.persistence.Query;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
@@ -682,6 +690,66 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         }
     }
 
+    @Override
+    public long getEstimatedRowCount(com.blazebit.persistence.spi.ServiceProvider serviceProvider, Query query) {
+        final DbmsDialect dbmsDialect = serviceProvider.getService(DbmsDialect.class);
+        EntityManager em = serviceProvider.getService(EntityManager.class);
+        String sql = getSql(em, query);
+        final String estimationSql = sql == null ? null : dbmsDialect.getEstimatedRowCountSql(sql);
+        if (estimationSql == null) {
+            return -1L;
+        }
+
+        QueryParamEntry queryParamEntry = getQueryParamEntries(em, Collections.singletonList(query), new HashSet<String>()).get(0);
+        QueryParameters queryParameters = queryParamEntry.queryParameters;
+        final List<Object> parameterValues = new ArrayList<>(queryParamEntry.specifications.size());
+        for (ParameterSpecification specification : queryParamEntry.specifications) {
+            Object value;
+            if (specification instanceof NamedParameterSpecification) {
+                TypedValue typedValue = queryParameters.getNamedParameters().get(((NamedParameterSpecification) specification).getName());
+                if (typedValue == null) {
+                    return -1L;
+                }
+                value = typedValue.getValue();
+            } else if (specification instanceof PositionalParameterSpecification) {
+                int position = ((PositionalParameterSpecification) specification).getHqlPosition();
+                Object[] positionalParameterValues = queryParameters.getPositionalParameterValues();
+                if (position >= positionalParameterValues.length) {
+                    return -1L;
+                }
+                value = positionalParameterValues[position];
+            } else {
+                return -1L;
+            }
+            // We bind the values via plain JDBC, so we only support values that need no Hibernate type conversion
+            if (value instanceof java.util.Date && !(value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof java.sql.Timestamp)) {
+                value = new java.sql.Timestamp(((java.util.Date) value).getTime());
+            } else if (!(value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof java.util.Date)) {
+                return -1L;
+            }
+            parameterValues.add(value);
+        }
+
+        try {
+            return em.unwrap(Session.class).doReturningWork(new ReturningWork<Long>() {
+                @Override
+                public Long execute(Connection connection) throws SQLException {
+                    try (PreparedStatement ps = connection.prepareStatement(estimationSql)) {
+                        for (int i = 0; i < parameterValues.size(); i++) {
+                            ps.setObject(i + 1, parameterValues.get(i));
+                        }
+                        try (ResultSet rs = ps.executeQuery()) {
+                            return dbmsDialect.extractEstimatedRowCount(rs);
+                        }
+                    }
+                }
+            });
+        } catch (HibernateException he) {
+            LOG.severe("Could not execute the following SQL query: " + estimationSql);
+            throw hibernateAccess.convert(em, he);
+        }
+    }
+
     public void autoFlush(Set<String> querySpaces, SessionImplementor sessionImplementor) {
         AutoFlushEvent event = new AutoFlushEvent(querySpaces, (EventSource) sessionImplementor);
         for (AutoFlushEventListener listener : sessionImplementor.getFactory().getServiceRegistry().getService(EventListenerRegistry.class).getEventListenerGroup(EventType.AUTO_FLUSH).listeners()) {
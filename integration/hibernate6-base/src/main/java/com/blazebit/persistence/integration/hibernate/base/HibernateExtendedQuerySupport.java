@@ -33,6 +33,7 @@ import jakarta.persistence.criteria.CompoundSelection;
 import org.hibernate.HibernateException;
 import org.hibernate.NonUniqueResultException;
 import org.hibernate.ScrollMode;
+import org.hibernate.Session;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.EntityKey;
@@ -43,6 +44,7 @@ import org.hibernate.engine.spi.SubselectFetch;
 import org.hibernate.internal.FilterJdbcParameter;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.metamodel.mapping.EntityMappingType;
 import org.hibernate.metamodel.mapping.MappingModelExpressible;
 import org.hibernate.persister.entity.EntityPersister;
@@ -132,7 +134,10 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -1213,6 +1218,53 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         }
     }
 
+    @Override
+    public long getEstimatedRowCount(com.blazebit.persistence.spi.ServiceProvider serviceProvider, Query query) {
+        final DbmsDialect dbmsDialect = serviceProvider.getService(DbmsDialect.class);
+        EntityManager em = serviceProvider.getService(EntityManager.class);
+        QuerySqmImpl<?> hqlQuery = query.unwrap(QuerySqmImpl.class);
+        SessionFactoryImplementor factory = hqlQuery.getSessionFactory();
+        final SharedSessionContractImplementor session = hqlQuery.getSession();
+        CacheableSqmInterpretation interpretation = buildQueryPlan(query);
+        String estimationSql = null;
+        try {
+            final JdbcParameterBindings jdbcParameterBindings = createJdbcParameterBindings(factory, interpretation, hqlQuery);
+            final JdbcOperationQuerySelect jdbcSelect = factory.getJdbcServices().getJdbcEnvironment().getSqlAstTranslatorFactory()
+                    .buildSelectTranslator(factory, (SelectStatement) interpretation.getSqmTranslation().getSqlAst())
+                    .translate(jdbcParameterBindings, hqlQuery.getQueryOptions());
+            estimationSql = dbmsDialect.getEstimatedRowCountSql(jdbcSelect.getSqlString());
+            if (estimationSql == null) {
+                return -1L;
+            }
+
+            final String sql = estimationSql;
+            final ExecutionContext executionContext = new SqmJdbcExecutionContextAdapter(query.unwrap(DomainQueryExecutionContext.class), jdbcSelect);
+            return em.unwrap(Session.class).doReturningWork(new ReturningWork<Long>() {
+                @Override
+                public Long execute(Connection connection) throws SQLException {
+                    try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                        int position = 1;
+                        for (JdbcParameterBinder parameterBinder : jdbcSelect.getParameterBinders()) {
+                            parameterBinder.bindParameterValue(ps, position++, jdbcParameterBindings, executionContext);
+                        }
+                        try (ResultSet rs = ps.executeQuery()) {
+                            return dbmsDialect.extractEstimatedRowCount(rs);
+                        }
+                    }
+                }
+            });
+        } catch (HibernateException e) {
+            LOG.severe("Could not execute the following SQL query: " + estimationSql);
+            if (session.getFactory().getSessionFactoryOptions().isJpaBootstrap()) {
+                throw session.getExceptionConverter().convert(e);
+            } else {
+                throw e;
+            }
+        } finally {
+            interpretation.domainParameterXref.clearExpansions();
+        }
+    }
+
     private static String[][] getReturningColumns(boolean caseInsensitive, String exampleQuerySql) {
         int fromIndex = exampleQuerySql.indexOf("from");
         int selectIndex = exampleQuerySql.indexOf("select");
@@ -1339,12 +1391,31 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
         SqlAstTranslatorFactory sqlAstTranslatorFactory = jdbcEnvironment.getSqlAstTranslatorFactory();
         SqmTranslation<?> sqmTranslation = interpretation.getSqmTranslation();
         Statement sqlAst = sqmTranslation.getSqlAst();
+        final JdbcParameterBindings jdbcParameterBindings = createJdbcParameterBindings(factory, interpretation, query);
+
+        if (sqlAst instanceof SelectStatement) {
+            SqlAstTranslator<JdbcOperationQuerySelect> translator = sqlAstTranslatorFactory.buildSelectTranslator(factory, (SelectStatement) sqlAst);
+            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
+        } else if (sqlAst instanceof DeleteStatement) {
+            SqlAstTranslator<JdbcOperationQueryDelete> translator = sqlAstTranslatorFactory.buildDeleteTranslator(factory, (DeleteStatement) sqlAst);
+            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
+        } else if (sqlAst instanceof UpdateStatement) {
+            SqlAstTranslator<JdbcOperationQueryUpdate> translator = sqlAstTranslatorFactory.buildUpdateTranslator(factory, (UpdateStatement) sqlAst);
+            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
+        } else if (sqlAst instanceof InsertStatement) {
+            SqlAstTranslator<JdbcOperationQueryInsert> translator = sqlAstTranslatorFactory.buildInsertTranslator(factory, (InsertStatement) sqlAst);
+            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
+        }
+        throw new UnsupportedOperationException();
+    }
+
+    private static JdbcParameterBindings createJdbcParameterBindings(SessionFactoryImplementor factory, CacheableSqmInterpretation interpretation, QuerySqmImpl<?> query) {
         final Map<QueryParameterImplementor<?>, Map<SqmParameter<?>, List<JdbcParametersList>>> jdbcParamsXref = SqmUtil.generateJdbcParamsXref(
                 interpretation.domainParameterXref,
                 interpretation.getSqmTranslation()::getJdbcParamsBySqmParam
         );
 
-        final JdbcParameterBindings jdbcParameterBindings = SqmUtil.createJdbcParameterBindings(
+        return SqmUtil.createJdbcParameterBindings(
                 query.getQueryParameterBindings(),
                 interpretation.domainParameterXref,
                 jdbcParamsXref,
@@ -1359,21 +1430,6 @@ public class HibernateExtendedQuerySupport implements ExtendedQuerySupport {
                 },
                 query.getSession()
         );
-
-        if (sqlAst instanceof SelectStatement) {
-            SqlAstTranslator<JdbcOperationQuerySelect> translator = sqlAstTranslatorFactory.buildSelectTranslator(factory, (SelectStatement) sqlAst);
-            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
-        } else if (sqlAst instanceof DeleteStatement) {
-            SqlAstTranslator<JdbcOperationQueryDelete> translator = sqlAstTranslatorFactory.buildDeleteTranslator(factory, (DeleteStatement) sqlAst);
-            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
-        } else if (sqlAst instanceof UpdateStatement) {
-            SqlAstTranslator<JdbcOperationQueryUpdate> translator = sqlAstTranslatorFactory.buildUpdateTranslator(factory, (UpdateStatement) sqlAst);
-            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
-        } else if (sqlAst instanceof InsertStatement) {
-            SqlAstTranslator<JdbcOperationQueryInsert> translator = sqlAstTranslatorFactory.buildInsertTranslator(factory, (InsertStatement) sqlAst);
-            return translator.translate(jdbcParameterBindings, query.getQueryOptions());
-        }
-        throw new UnsupportedOperationException();
     }
 
     private static CacheableSqmInterpretation buildQueryPlan(Query query) {
@@ -1460,6 +1460,11 @@ public class HibernateJpaProvider implements JpaProvider {
         query.setHint("org.hibernate.cacheable", true);
     }
 
+    @Override
+    public void setComment(Query query, String comment) {
+        query.setHint("org.hibernate.comment", comment);
+    }
+
     @Override
     public void setSingularParameter(Query query, String name, Object value) {
         query.setParameter(name, value);
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Writes the elements of an iterator, usually backed by an entity view result stream, incrementally as JSON array.
+ * Instead of materializing the whole list, every element is serialized as soon as it is pulled from the iterator
+ * and the output is flushed after a configurable amount of elements, so the memory consumption stays bounded.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewJsonArrayWriter {
+
+    /**
+     * The default amount of elements after which the output is flushed.
+     */
+    public static final int DEFAULT_FLUSH_SIZE = 100;
+
+    private final ObjectWriter objectWriter;
+    private final int flushSize;
+
+    public EntityViewJsonArrayWriter(ObjectMapper objectMapper) {
+        this(objectMapper, DEFAULT_FLUSH_SIZE);
+    }
+
+    public EntityViewJsonArrayWriter(ObjectMapper objectMapper, int flushSize) {
+        if (flushSize < 1) {
+            throw new IllegalArgumentException("Illegal flush size: " + flushSize);
+        }
+        // We flush the output ourselves after every chunk of elements
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.flushSize = flushSize;
+    }
+
+    public ObjectWriter getObjectWriter() {
+        return objectWriter;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    /**
+     * Writes the remaining elements of the given iterator as JSON array to the given output stream.
+     * The output stream is flushed but not closed.
+     *
+     * @param iterator The iterator providing the elements
+     * @param outputStream The output stream to write to
+     * @throws IOException If writing fails
+     */
+    public void write(Iterator<?> iterator, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectWriter.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            generator.writeStartArray();
+            int count = 0;
+            while (iterator.hasNext()) {
+                objectWriter.writeValue(generator, iterator.next());
+                if (++count == flushSize) {
+                    generator.flush();
+                    count = 0;
+                }
+            }
+            generator.writeEndArray();
+        } finally {
+            generator.close();
+        }
+    }
+}
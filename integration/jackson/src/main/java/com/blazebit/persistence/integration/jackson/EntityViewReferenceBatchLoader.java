@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.jackson;
+
+import com.blazebit.persistence.view.EntityViewManager;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects the ids of the updatable entity view references that are created while deserializing entity views
+ * and loads the referenced entities into the persistence context with one query per entity view type.
+ *
+ * The entities are loaded via {@link EntityViewManager#loadEntities(EntityManager, Class, java.util.Collection)},
+ * which fetches the same associations as the flush does.
+ * When the deserialized entity views are saved afterwards, the entities are found in the persistence context,
+ * which avoids loading every referenced entity with a separate query during the flush.
+ * An instance is meant to be used for a single request and is not thread safe.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewReferenceBatchLoader {
+
+    /**
+     * The default amount of ids to load with a single query.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final EntityViewManager entityViewManager;
+    private final int batchSize;
+    private final Map<Class<?>, Set<Object>> referenceIds = new LinkedHashMap<>();
+
+    public EntityViewReferenceBatchLoader(EntityViewManager entityViewManager) {
+        this(entityViewManager, DEFAULT_BATCH_SIZE);
+    }
+
+    public EntityViewReferenceBatchLoader(EntityViewManager entityViewManager, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Illegal batch size: " + batchSize);
+        }
+        this.entityViewManager = entityViewManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns a reader based on the given reader that registers all entity view references with this batch loader.
+     *
+     * @param objectReader The object reader
+     * @return The object reader that collects references
+     */
+    public ObjectReader configure(ObjectReader objectReader) {
+        return objectReader.withAttribute(EntityViewReferenceBatchLoader.class, this);
+    }
+
+    /**
+     * Registers the id of an entity view reference.
+     *
+     * @param entityViewClass The entity view class
+     * @param id The id value
+     */
+    public void addReference(Class<?> entityViewClass, Object id) {
+        Set<Object> ids = referenceIds.get(entityViewClass);
+        if (ids == null) {
+            ids = new LinkedHashSet<>();
+            referenceIds.put(entityViewClass, ids);
+        }
+        ids.add(id);
+    }
+
+    /**
+     * Returns the amount of collected reference ids that are not loaded yet.
+     *
+     * @return The amount of collected reference ids
+     */
+    public int size() {
+        int size = 0;
+        for (Set<Object> ids : referenceIds.values()) {
+            size += ids.size();
+        }
+        return size;
+    }
+
+    /**
+     * Loads the entities for all collected reference ids into the persistence context of the given entity manager
+     * and clears the collected ids.
+     *
+     * @param entityManager The entity manager
+     */
+    public void load(EntityManager entityManager) {
+        for (Map.Entry<Class<?>, Set<Object>> entry : referenceIds.entrySet()) {
+            List<Object> ids = new ArrayList<>(entry.getValue());
+            for (int i = 0; i < ids.size(); i += batchSize) {
+                entityViewManager.loadEntities(entityManager, entry.getKey(), ids.subList(i, Math.min(i + batchSize, ids.size())));
+            }
+        }
+        referenceIds.clear();
+    }
+}
@@ -83,6 +83,13 @@ public class EntityViewReferenceDeserializer extends JsonDeserializer {
             reference = entityViewManager.create(entityViewClass);
         } else if (id != null) {
             reference = entityViewManager.getReference(entityViewClass, id);
+            // Only the flush of updatable entity views loads the entities
+            if (updatable) {
+                EntityViewReferenceBatchLoader batchLoader = (EntityViewReferenceBatchLoader) deserializationContext.getAttribute(EntityViewReferenceBatchLoader.class);
+                if (batchLoader != null) {
+                    batchLoader.addReference(entityViewClass, id);
+                }
+            }
         }
 
         if (reference == null) {
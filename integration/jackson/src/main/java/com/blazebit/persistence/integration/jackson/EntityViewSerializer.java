@@ -0,0 +1,188 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A serializer for entity view objects that writes the properties through precomputed getter method handles
+ * and property names instead of going through the generic bean property writers.
+ *
+ * If a property requires features that the direct access does not support, like null suppression, a custom null serializer or
+ * a polymorphic type serializer, or if a JSON view is active, the serialization is delegated to the bean serializer.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewSerializer extends StdSerializer<Object> implements ResolvableSerializer, ContextualSerializer {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final BeanSerializerBase delegate;
+    private SerializedString[] names;
+    private MethodHandle[] getters;
+    private JsonSerializer<Object>[] serializers;
+    private BeanPropertyWriter[] writers;
+
+    public EntityViewSerializer(BeanSerializerBase delegate) {
+        super(delegate.handledType(), false);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        delegate.resolve(provider);
+        initDirectAccess();
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonSerializer<?> contextual = delegate.createContextual(provider, property);
+        if (contextual == delegate) {
+            return this;
+        }
+        if (contextual instanceof BeanSerializerBase) {
+            // Contextual bean serializers are copies of the resolved bean serializer
+            EntityViewSerializer serializer = new EntityViewSerializer((BeanSerializerBase) contextual);
+            serializer.initDirectAccess();
+            return serializer;
+        }
+        return contextual;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void initDirectAccess() {
+        if (delegate.usesObjectId()) {
+            return;
+        }
+        List<SerializedString> names = new ArrayList<>();
+        List<MethodHandle> getters = new ArrayList<>();
+        List<JsonSerializer<Object>> serializers = new ArrayList<>();
+        List<BeanPropertyWriter> writers = new ArrayList<>();
+        Iterator<PropertyWriter> iterator = delegate.properties();
+        while (iterator.hasNext()) {
+            PropertyWriter propertyWriter = iterator.next();
+            if (propertyWriter.getClass() != BeanPropertyWriter.class) {
+                return;
+            }
+            BeanPropertyWriter writer = (BeanPropertyWriter) propertyWriter;
+            AnnotatedMember member = writer.getMember();
+            if (!(member instanceof AnnotatedMethod) || writer.willSuppressNulls() || writer.hasNullSerializer() || writer.getTypeSerializer() != null) {
+                return;
+            }
+            MethodHandle getter;
+            try {
+                // Jackson already made the getter accessible if necessary
+                getter = MethodHandles.lookup().unreflect(((AnnotatedMethod) member).getAnnotated()).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                return;
+            }
+            names.add(new SerializedString(writer.getName()));
+            getters.add(getter);
+            serializers.add(writer.hasSerializer() ? writer.getSerializer() : null);
+            writers.add(writer);
+        }
+        this.names = names.toArray(new SerializedString[names.size()]);
+        this.getters = getters.toArray(new MethodHandle[getters.size()]);
+        this.serializers = serializers.toArray(new JsonSerializer[serializers.size()]);
+        this.writers = writers.toArray(new BeanPropertyWriter[writers.size()]);
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (getters == null || provider.getActiveView() != null) {
+            delegate.serialize(value, gen, provider);
+            return;
+        }
+        gen.writeStartObject();
+        for (int i = 0; i < getters.length; i++) {
+            JsonSerializer<Object> serializer = serializers[i];
+            if (serializer == null) {
+                // The serializer depends on the runtime type, so let the writer handle the dynamic serializer lookup and caching
+                try {
+                    writers[i].serializeAsField(value, gen, provider);
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw JsonMappingException.wrapWithPath(e, value, writers[i].getName());
+                }
+                continue;
+            }
+            Object propertyValue;
+            try {
+                propertyValue = (Object) getters[i].invokeExact(value);
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw JsonMappingException.wrapWithPath(e, value, writers[i].getName());
+            }
+            gen.writeFieldName(names[i]);
+            if (propertyValue == null) {
+                provider.defaultSerializeNull(gen);
+            } else {
+                serializer.serialize(propertyValue, gen, provider);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+        // The direct access writes an object, so unwrapped entity views are handled by the unwrapping bean serializer
+        return delegate.unwrappingSerializer(unwrapper);
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+        delegate.serializeWithType(value, gen, provider, typeSer);
+    }
+
+    @Override
+    public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint) throws JsonMappingException {
+        delegate.acceptJsonFormatVisitor(visitor, typeHint);
+    }
+
+    @Override
+    public boolean usesObjectId() {
+        return delegate.usesObjectId();
+    }
+}
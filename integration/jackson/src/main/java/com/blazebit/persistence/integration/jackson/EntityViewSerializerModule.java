@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.jackson;
+
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.metamodel.ViewMetamodel;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+
+/**
+ * An optional Jackson module that registers an {@link EntityViewSerializer} for all entity view types of an {@link EntityViewManager}.
+ * The serializer writes the entity view properties through direct getter access instead of the generic bean property writers,
+ * which reduces the serialization overhead for large lists of entity views.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewSerializerModule extends SimpleModule {
+
+    public EntityViewSerializerModule(final EntityViewManager entityViewManager) {
+        super("Blaze-Persistence-Entity-View-Serializer");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                // Serializers with an any getter or a filter need the bean serializer logic
+                if (serializer instanceof BeanSerializerBase && beanDesc.findAnyGetter() == null
+                        && config.getAnnotationIntrospector().findFilterId(beanDesc.getClassInfo()) == null
+                        && isEntityView(entityViewManager.getMetamodel(), beanDesc.getBeanClass())) {
+                    return new EntityViewSerializer((BeanSerializerBase) serializer);
+                }
+                return serializer;
+            }
+        });
+    }
+
+    private static boolean isEntityView(ViewMetamodel metamodel, Class<?> beanClass) {
+        if (metamodel.managedView(beanClass) != null) {
+            return true;
+        }
+        // The bean class usually is the entity view implementation class, so check the super class and the interfaces
+        Class<?> superclass = beanClass.getSuperclass();
+        if (superclass != null && superclass != Object.class && metamodel.managedView(superclass) != null) {
+            return true;
+        }
+        for (Class<?> interfaceClass : beanClass.getInterfaces()) {
+            if (metamodel.managedView(interfaceClass) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
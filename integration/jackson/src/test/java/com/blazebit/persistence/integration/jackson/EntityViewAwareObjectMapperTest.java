@@ -27,6 +27,7 @@ import com.blazebit.persistence.view.UpdatableEntityView;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -149,6 +150,18 @@ public class EntityViewAwareObjectMapperTest {
         assertEquals(2L, view.getParent().getId());
     }
 
+    @Test
+    public void testUpdatableViewReferenceBatchLoader() throws Exception {
+        EntityViewAwareObjectMapper mapper = mapper(UpdateViewWithSetters.class, NameView.class);
+        EntityViewReferenceBatchLoader batchLoader = new EntityViewReferenceBatchLoader(mapper.getEntityViewManager());
+        ObjectReader objectReader = batchLoader.configure(mapper.readerFor(mapper.getObjectMapper().constructType(UpdateViewWithSetters.class)));
+        UpdateViewWithSetters view = objectReader.readValue("{\"id\": 1, \"name\": \"test\", \"parent\": {\"id\": 2}}");
+        assertEquals(1L, view.getId());
+        assertEquals(2L, view.getParent().getId());
+        // The read-only parent reference is not loaded by the flush, so only the updatable view is collected
+        assertEquals(1, batchLoader.size());
+    }
+
     @EntityView(SomeEntity.class)
     @UpdatableEntityView
     interface UpdateViewWithSetters {
@@ -400,6 +413,57 @@ public class EntityViewAwareObjectMapperTest {
         public abstract void setName(String name);
     }
 
+    @Test
+    public void testSerializerModule() throws Exception {
+        EntityViewAwareObjectMapper mapper = mapper(ViewWithJsonIgnore.class, ViewWithSingularCollection.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new EntityViewSerializerModule(mapper.getEntityViewManager()));
+        ViewWithJsonIgnore ignoreView = mapper.getEntityViewManager().create(ViewWithJsonIgnore.class);
+        ignoreView.setId(1L);
+        ignoreView.setName("Joe");
+        ViewWithSingularCollection collectionView = mapper.getEntityViewManager().create(ViewWithSingularCollection.class);
+        collectionView.setName("Joe");
+        collectionView.setTags(Arrays.asList("t1", "t2"));
+
+        assertEquals(mapper.getObjectMapper().writeValueAsString(ignoreView), objectMapper.writeValueAsString(ignoreView));
+        assertEquals(mapper.getObjectMapper().writeValueAsString(collectionView), objectMapper.writeValueAsString(collectionView));
+        assertEquals(mapper.getObjectMapper().writeValueAsString(Arrays.asList(collectionView, collectionView)), objectMapper.writeValueAsString(Arrays.asList(collectionView, collectionView)));
+        assertFalse(objectMapper.readTree(objectMapper.writeValueAsString(ignoreView)).has("name"));
+        assertTrue(objectMapper.getSerializerProviderInstance().findValueSerializer(ignoreView.getClass(), null) instanceof EntityViewSerializer);
+        assertTrue(objectMapper.getSerializerProviderInstance().findValueSerializer(collectionView.getClass(), null) instanceof EntityViewSerializer);
+    }
+
+    @Test
+    public void testSerializerModuleUnwrapped() throws Exception {
+        EntityViewAwareObjectMapper mapper = mapper(ViewWithUnwrappedParent.class, CreatableAndUpdatableViewWithSetters.class, NameView.class);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new EntityViewSerializerModule(mapper.getEntityViewManager()));
+        CreatableAndUpdatableViewWithSetters parent = mapper.getEntityViewManager().create(CreatableAndUpdatableViewWithSetters.class);
+        parent.setName("Parent");
+        ViewWithUnwrappedParent view = mapper.getEntityViewManager().create(ViewWithUnwrappedParent.class);
+        view.setName("Joe");
+        view.setParent(parent);
+
+        String json = objectMapper.writeValueAsString(view);
+        assertEquals(mapper.getObjectMapper().writeValueAsString(view), json);
+        JsonNode node = objectMapper.readTree(json);
+        assertEquals("Parent", node.get("parent_name").asText());
+        assertFalse(node.has("parent"));
+    }
+
+    @EntityView(SomeEntity.class)
+    @CreatableEntityView
+    @UpdatableEntityView
+    static interface ViewWithUnwrappedParent {
+        @IdMapping
+        long getId();
+        String getName();
+        void setName(String name);
+        @JsonUnwrapped(prefix = "parent_")
+        CreatableAndUpdatableViewWithSetters getParent();
+        void setParent(CreatableAndUpdatableViewWithSetters parent);
+    }
+
     @Test
     public void testSingularCollection() throws Exception {
         EntityViewAwareObjectMapper mapper = mapper(ViewWithSingularCollection.class);
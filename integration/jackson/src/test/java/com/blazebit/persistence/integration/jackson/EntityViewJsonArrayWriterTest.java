@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.jackson;
+
+import com.blazebit.persistence.view.CreatableEntityView;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.IdMapping;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewJsonArrayWriterTest {
+
+    @BeforeClass
+    public static void prepare() {
+        EntityViewAwareObjectMapperTest.prepare();
+    }
+
+    @Test
+    public void testWriteEmpty() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new EntityViewJsonArrayWriter(objectMapper).write(Collections.emptyIterator(), outputStream);
+        assertEquals("[]", outputStream.toString("UTF-8"));
+    }
+
+    @Test
+    public void testWriteMatchesListSerialization() throws Exception {
+        EntityViewAwareObjectMapper mapper = EntityViewAwareObjectMapperTest.mapper(NameView.class);
+        EntityViewManager evm = mapper.getEntityViewManager();
+        List<NameView> views = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            NameView view = evm.create(NameView.class);
+            view.setId(i);
+            view.setName("Name " + i);
+            views.add(view);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        // Use a flush size that doesn't divide the element count
+        new EntityViewJsonArrayWriter(mapper.getObjectMapper(), 2).write(views.iterator(), outputStream);
+        assertEquals(mapper.getObjectMapper().writeValueAsString(views), outputStream.toString("UTF-8"));
+    }
+
+    @EntityView(SomeEntity.class)
+    @CreatableEntityView
+    static abstract class NameView {
+        @IdMapping
+        public abstract long getId();
+        public abstract void setId(long id);
+        public abstract String getName();
+        public abstract void setName(String name);
+    }
+}
@@ -20,6 +20,7 @@ import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.integration.jackson.EntityViewAwareObjectMapper;
 import com.blazebit.persistence.integration.jackson.EntityViewIdValueAccessor;
+import com.blazebit.persistence.integration.jackson.EntityViewReferenceBatchLoader;
 import com.blazebit.persistence.integration.jaxrs.EntityViewId;
 import com.blazebit.persistence.view.ConvertOperationBuilder;
 import com.blazebit.persistence.view.ConvertOption;
@@ -36,8 +37,11 @@ import com.fasterxml.jackson.databind.ObjectReader;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Priority;
+import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.inject.Any;
 import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.ws.rs.BadRequestException;
@@ -62,6 +66,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -82,6 +87,10 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
     @Inject
     private Instance<ObjectMapper> objectMapper;
     @Inject
+    private Instance<EntityManager> entityManager;
+    @Inject
+    private BeanManager beanManager;
+    @Inject
     @Any
     private Instance<ParamConverterProvider> paramConverterProviders;
     @Context
@@ -148,10 +157,12 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
     @Override
     public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType, MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
         EntityViewId entityViewAnnotation = null;
+        boolean batchLoadReferences = false;
         for (Annotation annotation : annotations) {
             if (annotation.annotationType().equals(EntityViewId.class)) {
                 entityViewAnnotation = (EntityViewId) annotation;
-                break;
+            } else if (annotation.annotationType().equals(EntityViewReferenceBatchLoading.class)) {
+                batchLoadReferences = true;
             }
         }
         if (entityViewAnnotation != null) {
@@ -170,7 +181,14 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
                 JavaType javaType = entityViewAwareObjectMapper.getObjectMapper().constructType(genericType);
                 ObjectReader objectReader = entityViewAwareObjectMapper.readerFor(javaType);
                 try {
-                    return objectReader.readValue(entityStream);
+                    EntityManager em = batchLoadReferences ? getActiveEntityManager() : null;
+                    if (em == null) {
+                        return objectReader.readValue(entityStream);
+                    }
+                    EntityViewReferenceBatchLoader batchLoader = new EntityViewReferenceBatchLoader(entityViewManager.get());
+                    Object result = batchLoader.configure(objectReader).readValue(entityStream);
+                    batchLoader.load(em);
+                    return result;
                 } catch (IOException e) {
                     throw new IllegalArgumentException(e);
                 }
@@ -182,6 +200,25 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
         return null;
     }
 
+    private EntityManager getActiveEntityManager() {
+        if (entityManager.isUnsatisfied() || entityManager.isAmbiguous()) {
+            return null;
+        }
+        // Only the entity manager of an active normal scope, e.g. a request scoped one, is the one that is used for saving the result
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(EntityManager.class));
+        if (bean == null || !beanManager.isNormalScope(bean.getScope())) {
+            return null;
+        }
+        try {
+            if (!beanManager.getContext(bean.getScope()).isActive()) {
+                return null;
+            }
+        } catch (ContextNotActiveException ex) {
+            return null;
+        }
+        return entityManager.get();
+    }
+
     /**
      * Copy of {@link com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider#hasMatchingMediaType(javax.ws.rs.core.MediaType)}
      *
@@ -397,6 +434,10 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().getEntityReference(entityManager, entityView);
         }
 
+        public void loadEntities(EntityManager entityManager, Class<?> entityViewClass, Collection<?> ids) {
+            entityViewManager.get().loadEntities(entityManager, entityViewClass, ids);
+        }
+
         public <T> SingularChangeModel<T> getChangeModel(T entityView) {
             return entityViewManager.get().getChangeModel(entityView);
         }
@@ -515,6 +556,10 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().saveFullWithTo(entityManager, view, entity);
         }
 
+        public void incrementVersions(EntityManager entityManager, Collection<?> views) {
+            entityViewManager.get().incrementVersions(entityManager, views);
+        }
+
         public void remove(EntityManager entityManager, Object view) {
             entityViewManager.get().remove(entityManager, view);
         }
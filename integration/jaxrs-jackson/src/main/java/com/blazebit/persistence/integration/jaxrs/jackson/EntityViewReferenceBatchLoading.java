@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.jaxrs.jackson;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables batch loading of the entities that are referenced by the entity views deserialized for the annotated parameter.
+ * The referenced entities are loaded into the persistence context of the {@link javax.persistence.EntityManager} bean
+ * with one query per entity view type, so that saving the entity views doesn't load every referenced entity with a separate query.
+ * <p>
+ * The entities are only loaded if the entity manager bean belongs to a normal scope that is active while reading the request body,
+ * e.g. a request scoped one, as only then it's the entity manager that is used for saving the entity views.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+@Target({ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EntityViewReferenceBatchLoading {
+}
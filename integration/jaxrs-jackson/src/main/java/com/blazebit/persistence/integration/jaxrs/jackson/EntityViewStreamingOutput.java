@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.jaxrs.jackson;
+
+import com.blazebit.persistence.integration.jackson.EntityViewJsonArrayWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * A {@link StreamingOutput} that writes the elements of an entity view result stream incrementally as JSON array,
+ * which allows to implement export endpoints with a constant memory consumption.
+ *
+ * The resource, usually the result stream, is closed after writing. Note that the result stream is consumed after the resource method returned,
+ * so the persistence context and connection must still be available at that point.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewStreamingOutput implements StreamingOutput {
+
+    private final EntityViewJsonArrayWriter writer;
+    private final Iterator<?> iterator;
+    private final AutoCloseable resource;
+
+    public EntityViewStreamingOutput(ObjectMapper objectMapper, Iterator<?> iterator, AutoCloseable resource) {
+        this(new EntityViewJsonArrayWriter(objectMapper), iterator, resource);
+    }
+
+    public EntityViewStreamingOutput(EntityViewJsonArrayWriter writer, Iterator<?> iterator, AutoCloseable resource) {
+        this.writer = writer;
+        this.iterator = iterator;
+        this.resource = resource;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException {
+        try {
+            writer.write(iterator, output);
+        } finally {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.blazebit.persistence.integration.jaxrs.jackson.testsuite;
+
+import com.blazebit.persistence.integration.jackson.EntityViewAwareObjectMapper;
+import com.blazebit.persistence.integration.jackson.EntityViewReferenceBatchLoader;
+import com.blazebit.persistence.integration.jaxrs.jackson.testsuite.entity.Document;
+import com.blazebit.persistence.integration.jaxrs.jackson.testsuite.view.DocumentEntityUpdateView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewReferenceBatchLoaderTest extends AbstractJaxrsTest {
+
+    @Test
+    public void testBatchLoadReferencedEntities() throws IOException {
+        // Given
+        Document d1 = createDocument("D1");
+        Document d2 = createDocument("D2");
+        Document d3 = createDocument("D3");
+
+        // When
+        long queriesWithoutBatchLoading = saveAndCountQueries(json("A", d1, d2, d3), false);
+        long queriesWithBatchLoading = saveAndCountQueries(json("B", d1, d2, d3), true);
+
+        // Then
+        // Every entity is loaded by a separate query during the flush
+        assertEquals(3L, queriesWithoutBatchLoading);
+        // All entities are loaded by a single query before the flush
+        assertEquals(1L, queriesWithBatchLoading);
+        assertEquals("B", transactional(em -> {
+            em.clear();
+            return em.find(Document.class, d2.getId()).getName();
+        }));
+    }
+
+    @Test
+    public void testBatchLoadInBatches() throws IOException {
+        // Given
+        Document d1 = createDocument("D1");
+        Document d2 = createDocument("D2");
+        Document d3 = createDocument("D3");
+        EntityViewReferenceBatchLoader batchLoader = new EntityViewReferenceBatchLoader(evm, 2);
+
+        // When
+        List<DocumentEntityUpdateView> views = batchLoader.configure(reader()).readValue(json("A", d1, d2, d3));
+        assertEquals(3, batchLoader.size());
+        long queries = transactional(em -> {
+            em.clear();
+            Statistics statistics = statistics(em);
+            batchLoader.load(em);
+            return statistics.getQueryExecutionCount();
+        });
+
+        // Then
+        assertEquals(3, views.size());
+        assertEquals(0, batchLoader.size());
+        assertEquals(2L, queries);
+    }
+
+    private long saveAndCountQueries(String json, boolean batchLoad) throws IOException {
+        EntityViewReferenceBatchLoader batchLoader = new EntityViewReferenceBatchLoader(evm);
+        ObjectReader objectReader = batchLoad ? batchLoader.configure(reader()) : reader();
+        List<DocumentEntityUpdateView> views = objectReader.readValue(json);
+        return transactional(em -> {
+            em.clear();
+            Statistics statistics = statistics(em);
+            batchLoader.load(em);
+            for (DocumentEntityUpdateView view : views) {
+                evm.save(em, view);
+            }
+            em.flush();
+            return statistics.getQueryExecutionCount();
+        });
+    }
+
+    private ObjectReader reader() {
+        EntityViewAwareObjectMapper mapper = new EntityViewAwareObjectMapper(evm, new ObjectMapper(), null);
+        return mapper.readerFor(mapper.getObjectMapper().getTypeFactory().constructCollectionType(List.class, DocumentEntityUpdateView.class));
+    }
+
+    private static Statistics statistics(EntityManager em) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static String json(String name, Document... documents) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < documents.length; i++) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(documents[i].getId()).append(",\"name\":\"").append(name).append("\"}");
+        }
+        return sb.append(']').toString();
+    }
+
+    private Document createDocument(String name) {
+        return transactional(em -> {
+            Document d = new Document(name);
+            em.persist(d);
+            return d;
+        });
+    }
+}
@@ -63,6 +63,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -394,6 +395,10 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().getEntityReference(entityManager, entityView);
         }
 
+        public void loadEntities(EntityManager entityManager, Class<?> entityViewClass, Collection<?> ids) {
+            entityViewManager.get().loadEntities(entityManager, entityViewClass, ids);
+        }
+
         public <T> SingularChangeModel<T> getChangeModel(T entityView) {
             return entityViewManager.get().getChangeModel(entityView);
         }
@@ -512,6 +517,10 @@ public class EntityViewMessageBodyReader implements MessageBodyReader<Object> {
             return entityViewManager.get().saveFullWithTo(entityManager, view, entity);
         }
 
+        public void incrementVersions(EntityManager entityManager, Collection<?> views) {
+            entityViewManager.get().incrementVersions(entityManager, views);
+        }
+
         public void remove(EntityManager entityManager, Object view) {
             entityViewManager.get().remove(entityManager, view);
         }
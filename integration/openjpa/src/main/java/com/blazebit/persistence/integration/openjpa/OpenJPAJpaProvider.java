@@ -420,6 +420,11 @@ public class OpenJPAJpaProvider implements JpaProvider {
         }
     }
 
+    @Override
+    public void setComment(Query query, String comment) {
+        // OpenJPA has no support for SQL comments
+    }
+
     @Override
     public void setSingularParameter(Query query, String name, Object value) {
         query.setParameter(name, value);
@@ -88,6 +88,8 @@ public abstract class AbstractBlazeJPAQuery<T, Q extends AbstractBlazeJPAQuery<T
 
     protected boolean cacheable = false;
 
+    protected BlazeCriteriaBuilderRenderCache renderCache;
+
     protected final Binds<T> binds = new Binds<>();
 
     public AbstractBlazeJPAQuery(CriteriaBuilderFactory criteriaBuilderFactory) {
@@ -221,7 +223,7 @@ public abstract class AbstractBlazeJPAQuery<T, Q extends AbstractBlazeJPAQuery<T
     }
 
     protected Queryable<T, ?> getQueryable(@Nullable QueryModifiers modifiers) {
-        BlazeCriteriaBuilderRenderer<T> blazeCriteriaBuilderRenderer = new BlazeCriteriaBuilderRenderer<T>(criteriaBuilderFactory, entityManager, getTemplates());
+        BlazeCriteriaBuilderRenderer<T> blazeCriteriaBuilderRenderer = new BlazeCriteriaBuilderRenderer<T>(criteriaBuilderFactory, entityManager, getTemplates(), renderCache);
         Queryable<T, ?> queryable = blazeCriteriaBuilderRenderer.render(this);
         CriteriaBuilder<T> criteriaBuilder = blazeCriteriaBuilderRenderer.getCriteriaBuilder();
 
@@ -250,6 +252,7 @@ public abstract class AbstractBlazeJPAQuery<T, Q extends AbstractBlazeJPAQuery<T
     protected void clone(Q query) {
         super.clone(query);
         this.cacheable = query.cacheable;
+        this.renderCache = query.renderCache;
         this.binds.addBinds(((FactoryExpression) query.binds.accept(new ReplaceVisitor<Void>(), null)).getArgs());
     }
 
@@ -428,6 +431,18 @@ public abstract class AbstractBlazeJPAQuery<T, Q extends AbstractBlazeJPAQuery<T
         return queryMixin.getSelf();
     }
 
+    /**
+     * Sets the cache from which renderings of queries that only differ in constants are reused.
+     *
+     * @param renderCache The render cache or <code>null</code> to always render the query
+     * @return this query
+     * @since 1.6.13
+     */
+    public Q setRenderCache(BlazeCriteriaBuilderRenderCache renderCache) {
+        this.renderCache = renderCache;
+        return queryMixin.getSelf();
+    }
+
     @Override
     protected JPQLSerializer serialize(boolean forCountRow) {
         return super.serialize(forCountRow);
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.querydsl;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.jpa.JPQLTemplates;
+
+import javax.annotation.Nullable;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache for the {@link CriteriaBuilder} renderings of {@link BlazeJPAQuery} instances that is used by the {@link BlazeCriteriaBuilderRenderer}.
+ *
+ * Queries are keyed by the structure of their query metadata, with a parameter slot for every constant.
+ * A query that only differs in constants from a previously rendered query is not rendered again,
+ * but is created by copying the cached criteria builder to the current entity manager and binding the new constants.
+ * Renderings are cached per {@link EntityManagerFactory} and don't retain the entity manager they were rendered with.
+ * Queries with set operations, values clauses or {@link ParamExpression}s are always rendered.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class BlazeCriteriaBuilderRenderCache {
+
+    private static final int DEFAULT_MAX_SIZE = 256;
+
+    private final Map<RenderingKey, CachedRendering> renderings;
+
+    /**
+     * Creates a new cache for 256 query structures.
+     */
+    public BlazeCriteriaBuilderRenderCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize The maximum number of query structures for which renderings are retained
+     */
+    public BlazeCriteriaBuilderRenderCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize may not be zero or negative");
+        }
+        this.renderings = new LinkedHashMap<RenderingKey, CachedRendering>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RenderingKey, CachedRendering> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of cached renderings.
+     *
+     * @return The number of cached renderings
+     */
+    public synchronized int size() {
+        return renderings.size();
+    }
+
+    /**
+     * Removes all cached renderings.
+     */
+    public synchronized void clear() {
+        renderings.clear();
+    }
+
+    synchronized CachedRendering get(String key, CriteriaBuilderFactory criteriaBuilderFactory, EntityManager entityManager) {
+        CachedRendering rendering = renderings.get(new RenderingKey(entityManager.getEntityManagerFactory(), key));
+        // The configuration of the criteria builder factory is copied along with the criteria builder
+        if (rendering == null || rendering.criteriaBuilderFactory != criteriaBuilderFactory) {
+            return null;
+        }
+        return rendering;
+    }
+
+    synchronized void put(String key, EntityManager entityManager, CachedRendering rendering) {
+        renderings.put(new RenderingKey(entityManager.getEntityManagerFactory(), key), rendering);
+    }
+
+    /**
+     * Creates the cache key for the given query expression.
+     *
+     * @param expression The query expression
+     * @param templates The templates used for rendering
+     * @param entityManager The entity manager used for rendering
+     * @return The cache key or <code>null</code> if the query can't be cached
+     */
+    static RenderKey createKey(Expression<?> expression, JPQLTemplates templates, EntityManager entityManager) {
+        if (!(expression instanceof SubQueryExpression<?>)) {
+            return null;
+        }
+        RenderKeySerializer serializer = new RenderKeySerializer(templates, entityManager);
+        try {
+            serializer.serialize(((SubQueryExpression<?>) expression).getMetadata(), false, null);
+        } catch (RuntimeException ex) {
+            // Structures that can't be serialized are simply rendered without the cache
+            return null;
+        }
+        if (!serializer.cacheable) {
+            return null;
+        }
+        return new RenderKey(serializer.toString(), serializer.constants);
+    }
+
+    /**
+     * The structural key of a query along with the constants for the parameter slots.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    static final class RenderKey {
+
+        private final String key;
+        private final List<Object> constants;
+
+        RenderKey(String key, List<Object> constants) {
+            this.key = key;
+            this.constants = constants;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public List<Object> getConstants() {
+            return constants;
+        }
+
+        /**
+         * Returns the parameter labels for the constant slots or <code>null</code> if not every constant was rendered as parameter.
+         *
+         * @param constantToLabel The constant to label mapping of the renderer
+         * @return The parameter labels for the constant slots
+         */
+        public String[] getLabels(Map<Object, String> constantToLabel) {
+            if (constantToLabel.size() != constants.size()) {
+                return null;
+            }
+            String[] labels = new String[constants.size()];
+            for (int i = 0; i < labels.length; i++) {
+                String label = constantToLabel.get(constants.get(i));
+                if (label == null) {
+                    return null;
+                }
+                labels[i] = label;
+            }
+            return labels;
+        }
+    }
+
+    /**
+     * The key of a cached rendering, consisting of the entity manager factory and the structural key of a query.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class RenderingKey {
+
+        private final EntityManagerFactory entityManagerFactory;
+        private final String key;
+
+        RenderingKey(EntityManagerFactory entityManagerFactory, String key) {
+            this.entityManagerFactory = entityManagerFactory;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RenderingKey)) {
+                return false;
+            }
+            RenderingKey that = (RenderingKey) o;
+            return entityManagerFactory == that.entityManagerFactory && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(entityManagerFactory) + key.hashCode();
+        }
+    }
+
+    /**
+     * A rendered criteria builder that is not bound to an entity manager along with the parameter labels for the constant slots.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    static final class CachedRendering {
+
+        private final CriteriaBuilderFactory criteriaBuilderFactory;
+        private final CriteriaBuilder<?> criteriaBuilder;
+        private final String[] labels;
+
+        private CachedRendering(CriteriaBuilderFactory criteriaBuilderFactory, CriteriaBuilder<?> criteriaBuilder, String[] labels) {
+            this.criteriaBuilderFactory = criteriaBuilderFactory;
+            this.criteriaBuilder = criteriaBuilder;
+            this.labels = labels;
+        }
+
+        /**
+         * Creates a cached rendering from a copy of the given criteria builder that is not bound to an entity manager.
+         *
+         * @param criteriaBuilderFactory The criteria builder factory that created the criteria builder
+         * @param criteriaBuilder The rendered criteria builder
+         * @param labels The parameter labels for the constant slots
+         * @return The cached rendering
+         */
+        static CachedRendering of(CriteriaBuilderFactory criteriaBuilderFactory, CriteriaBuilder<?> criteriaBuilder, String[] labels) {
+            return new CachedRendering(criteriaBuilderFactory, criteriaBuilder.copyCriteriaBuilder(null, Object.class, true), labels);
+        }
+
+        public String[] getLabels() {
+            return labels;
+        }
+
+        /**
+         * Copies the cached criteria builder and binds the copy to the given entity manager.
+         * The parameter values of the copy are those of the first rendering and must be replaced.
+         *
+         * @param entityManager The entity manager to bind the copy to
+         * @return A new criteria builder
+         */
+        public CriteriaBuilder<?> copy(EntityManager entityManager) {
+            // Copying prepares the cached criteria builder, so we must not copy concurrently
+            synchronized (criteriaBuilder) {
+                return criteriaBuilder.copyCriteriaBuilder(entityManager, Object.class, true);
+            }
+        }
+    }
+
+    /**
+     * Serializes the structure of a query, replacing constants by slots.
+     * In addition to the JPQL.next serialization, this also serializes the parts that are
+     * rendered by the {@link BlazeCriteriaBuilderRenderer} directly, like query flags, join flags and subquery modifiers.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class RenderKeySerializer extends JPQLNextSerializer {
+
+        private final JPQLTemplates templates;
+        private final Map<Object, Integer> constantToSlot = new IdentityHashMap<>();
+        private final List<Object> constants = new ArrayList<>();
+        private boolean cacheable = true;
+        private int depth;
+
+        public RenderKeySerializer(JPQLTemplates templates, EntityManager entityManager) {
+            super(templates, entityManager);
+            this.templates = templates;
+        }
+
+        @Override
+        public void serialize(QueryMetadata metadata, boolean forCountRow, @Nullable String projection) {
+            if (SetOperationFlag.getSetOperationFlag(metadata) != null || !metadata.getParams().isEmpty()) {
+                cacheable = false;
+            }
+            boolean root = depth++ == 0;
+            try {
+                super.serialize(metadata, forCountRow, projection);
+            } finally {
+                depth--;
+            }
+
+            for (JoinExpression joinExpression : metadata.getJoins()) {
+                Expression<?> target = joinExpression.getTarget();
+                if (target instanceof Operation<?> && ((Operation<?>) target).getOperator() == Ops.ALIAS) {
+                    target = ((Operation<?>) target).getArg(0);
+                }
+                // The values are passed to the criteria builder directly rather than as constants
+                if (target instanceof ValuesExpression<?>) {
+                    cacheable = false;
+                }
+                append(" JOIN_FLAGS(");
+                for (JoinFlag joinFlag : joinExpression.getFlags()) {
+                    append(joinFlag.getPosition().name()).append(" ");
+                    serializeFlag(joinFlag.getFlag());
+                    append(";");
+                }
+                append(")");
+            }
+            append(" FLAGS(");
+            for (QueryFlag queryFlag : metadata.getFlags()) {
+                append(queryFlag.getPosition().name()).append(" ");
+                serializeFlag(queryFlag.getFlag());
+                append(";");
+            }
+            append(")");
+            // The modifiers of the main query are applied to the criteria builder outside the renderer
+            if (!root) {
+                QueryModifiers modifiers = metadata.getModifiers();
+                append(" LIMIT ").append(String.valueOf(modifiers.getLimit()));
+                append(" OFFSET ").append(String.valueOf(modifiers.getOffset()));
+            }
+        }
+
+        private void serializeFlag(Expression<?> flag) {
+            if (flag instanceof Operation<?> && templates.getTemplate(((Operation<?>) flag).getOperator()) == null) {
+                // Operations like WITH_ALIAS have no template as they are rendered by the renderer
+                Operation<?> operation = (Operation<?>) flag;
+                append(operation.getOperator().name()).append("(");
+                for (Expression<?> arg : operation.getArgs()) {
+                    serializeFlag(arg);
+                    append(", ");
+                }
+                append(")");
+            } else {
+                handle(flag);
+            }
+        }
+
+        @Override
+        protected void visitOperation(Class<?> type, Operator operator, List<? extends Expression<?>> args) {
+            if (operator == JPQLNextOps.BIND) {
+                // The template of BIND omits the bound attribute
+                append("BIND(");
+                handle(args.get(0));
+                append(", ");
+                handle(args.get(1));
+                append(")");
+            } else {
+                super.visitOperation(type, operator, args);
+            }
+        }
+
+        @Override
+        public void visitConstant(Object constant) {
+            Integer slot = constantToSlot.get(constant);
+            if (slot == null) {
+                slot = constants.size();
+                constantToSlot.put(constant, slot);
+                constants.add(constant);
+            }
+            boolean wrap = templates.wrapConstant(constant);
+            if (wrap) {
+                append("(");
+            }
+            append(":").append(slot.toString()).append("<").append(constant.getClass().getName()).append(">");
+            if (wrap) {
+                append(")");
+            }
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> param, Void context) {
+            cacheable = false;
+            append(":").append(param.getName());
+            return null;
+        }
+    }
+}
@@ -114,6 +114,8 @@ public class BlazeCriteriaBuilderRenderer<T> {
 
     private final CriteriaBuilderFactory criteriaBuilderFactory;
     private final EntityManager entityManager;
+    private final JPQLTemplates templates;
+    private final BlazeCriteriaBuilderRenderCache renderCache;
     private final JPQLNextSerializer serializer;
     private final Map<Object, String> constantToLabel = new IdentityHashMap<>();
     private Map<Expression<?>, String> subQueryToLabel = new IdentityHashMap<>();
@@ -122,12 +124,68 @@ public class BlazeCriteriaBuilderRenderer<T> {
     private CriteriaBuilder<T> criteriaBuilder;
 
     public BlazeCriteriaBuilderRenderer(CriteriaBuilderFactory criteriaBuilderFactory, EntityManager entityManager, JPQLTemplates templates) {
+        this(criteriaBuilderFactory, entityManager, templates, null);
+    }
+
+    /**
+     * Creates a renderer that reuses the renderings of the given cache for queries that only differ in constants.
+     *
+     * @param criteriaBuilderFactory The criteria builder factory
+     * @param entityManager The entity manager
+     * @param templates The templates
+     * @param renderCache The render cache or <code>null</code>
+     * @since 1.6.13
+     */
+    public BlazeCriteriaBuilderRenderer(CriteriaBuilderFactory criteriaBuilderFactory, EntityManager entityManager, JPQLTemplates templates, BlazeCriteriaBuilderRenderCache renderCache) {
         this.serializer = new JPQLNextExpressionSerializer(templates, entityManager);
         this.criteriaBuilderFactory = criteriaBuilderFactory;
         this.entityManager = entityManager;
+        this.templates = templates;
+        this.renderCache = renderCache;
     }
 
     public Queryable<T, ?> render(Expression<?> expression) {
+        if (renderCache != null) {
+            BlazeCriteriaBuilderRenderCache.RenderKey renderKey = BlazeCriteriaBuilderRenderCache.createKey(expression, templates, entityManager);
+            if (renderKey != null) {
+                return renderCached(expression, renderKey);
+            }
+        }
+        return renderQuery(expression);
+    }
+
+    private Queryable<T, ?> renderCached(Expression<?> expression, BlazeCriteriaBuilderRenderCache.RenderKey renderKey) {
+        BlazeCriteriaBuilderRenderCache.CachedRendering rendering = renderCache.get(renderKey.getKey(), criteriaBuilderFactory, entityManager);
+        if (rendering == null) {
+            Queryable<T, ?> queryable = renderQuery(expression);
+            String[] labels = renderKey.getLabels(constantToLabel);
+            // Only renderings of a plain criteria builder that use a parameter for every constant can be reused
+            if (queryable != criteriaBuilder || labels == null) {
+                return queryable;
+            }
+            // The cache retains a copy, so that the rendered criteria builder can be altered by setting modifiers or hints
+            renderCache.put(renderKey.getKey(), entityManager, BlazeCriteriaBuilderRenderCache.CachedRendering.of(criteriaBuilderFactory, criteriaBuilder, labels));
+            return queryable;
+        }
+
+        List<Object> constants = renderKey.getConstants();
+        String[] labels = rendering.getLabels();
+        constantToLabel.clear();
+        for (int i = 0; i < labels.length; i++) {
+            constantToLabel.put(constants.get(i), labels[i]);
+        }
+        CriteriaBuilder<T> criteriaBuilder = (CriteriaBuilder<T>) rendering.copy(entityManager);
+        // A copy doesn't retain the object builder, so we have to select the factory expression again
+        Expression<?> projection = ((SubQueryExpression<?>) expression).getMetadata().getProjection();
+        if (projection instanceof FactoryExpression<?>) {
+            criteriaBuilder = criteriaBuilder.selectNew(new FactoryExpressionObjectBuilder((FactoryExpression<T>) projection));
+        }
+        renderConstants(criteriaBuilder);
+        this.criteriaBuilder = criteriaBuilder;
+        return criteriaBuilder;
+    }
+
+    private Queryable<T, ?> renderQuery(Expression<?> expression) {
         this.criteriaBuilder = (CriteriaBuilder) criteriaBuilderFactory.create(entityManager, Object.class);
         renderCTEs(expression);
         Object output = serializeSubQuery(this.criteriaBuilder, expression);
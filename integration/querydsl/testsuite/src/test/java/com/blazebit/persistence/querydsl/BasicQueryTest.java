@@ -159,6 +159,58 @@ public class BasicQueryTest extends AbstractCoreTest {
         });
     }
 
+    @Test
+    public void testRenderCache() {
+        doInJPA(em -> {
+            BlazeCriteriaBuilderRenderCache renderCache = new BlazeCriteriaBuilderRenderCache();
+            JPQLNextQueryFactory queryFactory = new BlazeJPAQueryFactory(JPQLNextTemplates.DEFAULT, em, cbf, renderCache);
+
+            for (int i = 1; i < 3; i++) {
+                List<String> names = queryFactory
+                        .select(person.name)
+                        .from(person)
+                        .where(person.name.eq("Person " + i))
+                        .fetch();
+
+                List<Tuple> tuples = queryFactory
+                        .select(person.name, document.name)
+                        .from(person)
+                        .innerJoin(document).on(document.owner.eq(person))
+                        .where(person.name.eq("Person " + i))
+                        .fetch();
+
+                assertEquals(Collections.singletonList("Person " + i), names);
+                assertEquals(1, tuples.size());
+                assertEquals("Person " + i, tuples.get(0).get(person.name));
+                assertEquals("bogus " + i, tuples.get(0).get(document.name));
+            }
+
+            assertEquals(2, renderCache.size());
+        });
+    }
+
+    @Test
+    public void testRenderCacheAcrossEntityManagers() {
+        BlazeCriteriaBuilderRenderCache renderCache = new BlazeCriteriaBuilderRenderCache();
+        for (int i = 1; i < 3; i++) {
+            String name = "Person " + i;
+            doInJPA(em -> {
+                JPQLNextQueryFactory queryFactory = new BlazeJPAQueryFactory(JPQLNextTemplates.DEFAULT, em, cbf, renderCache);
+
+                List<String> names = queryFactory
+                        .select(person.name)
+                        .from(person)
+                        .where(person.name.eq(name))
+                        .fetch();
+
+                assertEquals(Collections.singletonList(name), names);
+            });
+        }
+
+        // Both entity managers share the rendering of their entity manager factory
+        assertEquals(1, renderCache.size());
+    }
+
     @Test
     public void testExplicitJoinFollowedByImplicitJoin() {
         doInJPA(em -> {
@@ -52,10 +52,14 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
 /**
@@ -86,6 +90,7 @@ public abstract class AbstractPartTreeBlazePersistenceQuery extends AbstractJpaQ
     private static final String COUNT_PATTERN = "count";
     private static final String EXISTS_PATTERN = "exists";
     private static final String DELETE_PATTERN = "delete|remove";
+    private static final int MAX_CACHED_CRITERIA_QUERY_SHAPES = 64;
     private static final Pattern PREFIX_TEMPLATE = Pattern.compile( //
                     "^(" + QUERY_PATTERN + "|" + COUNT_PATTERN + "|" + EXISTS_PATTERN + "|" + DELETE_PATTERN + ")((\\p{Lu}.*?))??By");
 
@@ -118,15 +123,9 @@ public abstract class AbstractPartTreeBlazePersistenceQuery extends AbstractJpaQ
         String source = skipMethodNamePredicateMatching ? "" : methodName;
         this.tree = new PartTree(source, domainClass);
 
-        boolean hasEntityViewSettingProcessorParameter = parameters.hasEntityViewSettingProcessorParameter();
-        boolean hasSpecificationParameter = parameters.hasSpecificationParameter();
-        boolean hasCriteriaBuilderProcessorParameter = parameters.hasBlazeSpecificationParameter();
-        boolean recreateQueries = parameters.hasDynamicProjection() || parameters.potentiallySortsDynamically()
-                || entityViewClass != null
-                || skipMethodNamePredicateMatching
-                || hasEntityViewSettingProcessorParameter
-                || hasSpecificationParameter
-                || hasCriteriaBuilderProcessorParameter;
+        // Entity view settings, dynamic projections and blaze specifications are applied to the criteria builder
+        // that is rendered from the criteria query, so only specifications require to recreate the criteria query
+        boolean recreateQueries = parameters.hasSpecificationParameter();
         this.query = isCountProjection(tree) ? new AbstractPartTreeBlazePersistenceQuery.CountQueryPreparer(persistenceProvider,
             recreateQueries) : new AbstractPartTreeBlazePersistenceQuery.QueryPreparer(persistenceProvider, recreateQueries);
     }
@@ -195,8 +194,10 @@ public abstract class AbstractPartTreeBlazePersistenceQuery extends AbstractJpaQ
      */
     private class QueryPreparer {
 
-        private final CriteriaQuery<?> cachedCriteriaQuery;
-        private final List<ParameterMetadataProvider.ParameterMetadata<?>> expressions;
+        // Criteria queries are not thread-safe, so instead of serializing all invocations on a single cached instance,
+        // every concurrent invocation borrows its own pre-built criteria query and only has to bind the parameters.
+        // The pre-built criteria queries are grouped by shape i.e. the null parameters and the dynamic sort
+        private final ConcurrentMap<CriteriaQueryShape, ConcurrentLinkedQueue<CachedCriteriaQuery>> cachedCriteriaQueries;
         private final PersistenceProvider persistenceProvider;
 
         public QueryPreparer(PersistenceProvider persistenceProvider, boolean recreateQueries) {
@@ -205,23 +206,65 @@ public abstract class AbstractPartTreeBlazePersistenceQuery extends AbstractJpaQ
 
             FixedJpaQueryCreator creator = createCreator(null, persistenceProvider);
 
-            this.cachedCriteriaQuery = recreateQueries ? null : invokeQueryCreator(creator, null);
-            this.expressions = recreateQueries ? null : creator.getParameterExpressions();
+            if (recreateQueries) {
+                this.cachedCriteriaQueries = null;
+            } else {
+                this.cachedCriteriaQueries = new ConcurrentHashMap<>();
+                ConcurrentLinkedQueue<CachedCriteriaQuery> pool = new ConcurrentLinkedQueue<>();
+                pool.offer(new CachedCriteriaQuery(pool, invokeQueryCreator(creator, null), creator.getParameterExpressions()));
+                this.cachedCriteriaQueries.put(new CriteriaQueryShape(new BitSet(), null), pool);
+            }
         }
 
-        /******************************************
-         * Moritz Becker, Christian Beikov:
-         * The following methods were modified to work with entity views.
-         ******************************************/
-        private TypedQuery<?> createQuery(CriteriaQuery<?> criteriaQuery, Object[] values) {
-            if (this.cachedCriteriaQuery != null) {
-                synchronized (this.cachedCriteriaQuery) {
-                    return createQuery0(criteriaQuery, values);
+        private CachedCriteriaQuery borrowCachedCriteriaQuery(ParametersParameterAccessor accessor, Object[] values) {
+            if (cachedCriteriaQueries == null) {
+                return null;
+            }
+            BitSet nullParameters = getNullParameters(accessor);
+            Sort sort = appliesSortThroughAttributeSorters() ? null : getDynamicSort(values);
+            CriteriaQueryShape shape = new CriteriaQueryShape(nullParameters, sort);
+            ConcurrentLinkedQueue<CachedCriteriaQuery> pool = cachedCriteriaQueries.get(shape);
+            if (pool == null) {
+                // Don't let arbitrary dynamic sorts grow the cache unbounded
+                if (cachedCriteriaQueries.size() >= MAX_CACHED_CRITERIA_QUERY_SHAPES) {
+                    return null;
+                }
+                ConcurrentLinkedQueue<CachedCriteriaQuery> newPool = new ConcurrentLinkedQueue<>();
+                pool = cachedCriteriaQueries.putIfAbsent(shape, newPool);
+                if (pool == null) {
+                    pool = newPool;
                 }
             }
-            return createQuery0(criteriaQuery, values);
+            CachedCriteriaQuery cachedCriteriaQuery = pool.poll();
+            if (cachedCriteriaQuery == null) {
+                FixedJpaQueryCreator creator = createCreator(nullParameters.isEmpty() ? null : accessor, persistenceProvider);
+                CriteriaQuery<?> criteriaQuery = invokeQueryCreator(creator, sort);
+                cachedCriteriaQuery = new CachedCriteriaQuery(pool, criteriaQuery, creator.getParameterExpressions());
+            }
+            return cachedCriteriaQuery;
         }
 
+        private void releaseCachedCriteriaQuery(CachedCriteriaQuery cachedCriteriaQuery) {
+            if (cachedCriteriaQuery != null) {
+                cachedCriteriaQuery.pool.offer(cachedCriteriaQuery);
+            }
+        }
+
+        private BitSet getNullParameters(ParametersParameterAccessor accessor) {
+            BitSet nullParameters = new BitSet();
+            int bindableParameterCount = parameters.getBindableParameters().getNumberOfParameters();
+            for (int i = 0; i < bindableParameterCount; i++) {
+                if (accessor.getBindableValue(i) == null) {
+                    nullParameters.set(i);
+                }
+            }
+            return nullParameters;
+        }
+
+        /******************************************
+         * Moritz Becker, Christian Beikov:
+         * The following methods were modified to work with entity views.
+         ******************************************/
         protected TypedQuery<?> createQuery0(CriteriaQuery<?> criteriaQuery, Object[] values) {
             processSpecification(criteriaQuery, values);
 
@@ -256,16 +299,22 @@ public abstract class AbstractPartTreeBlazePersistenceQuery extends AbstractJpaQ
         }
 
         Query createPaginatedQuery(Object[] values, boolean withCount) {
-            CriteriaQuery<?> criteriaQuery = cachedCriteriaQuery;
-            List<ParameterMetadataProvider.ParameterMetadata<?>> expressions = this.expressions;
             ParametersParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
+            CachedCriteriaQuery cachedCriteriaQuery = borrowCachedCriteriaQuery(accessor, values);
 
-            if (cachedCriteriaQuery == null || accessor.hasBindableNullValue()) {
-                FixedJpaQueryCreator creator = createCreator(accessor, persistenceProvider);
-                criteriaQuery = invokeQueryCreator(creator, appliesSortThroughAttributeSorters() ? null : getDynamicSort(values));
-                expressions = creator.getParameterExpressions();
+            try {
+                if (cachedCriteriaQuery == null) {
+                    FixedJpaQueryCreator creator = createCreator(accessor, persistenceProvider);
+                    CriteriaQuery<?> criteriaQuery = invokeQueryCreator(creator, appliesSortThroughAttributeSorters() ? null : getDynamicSort(values));
+                    return createPaginatedQuery(criteriaQuery, creator.getParameterExpressions(), values, withCount);
+                }
+                return createPaginatedQuery(cachedCriteriaQuery.criteriaQuery, cachedCriteriaQuery.expressions, values, withCount);
+            } finally {
+                releaseCachedCriteriaQuery(cachedCriteriaQuery);
             }
+        }
 
+        private Query createPaginatedQuery(CriteriaQuery<?> criteriaQuery, List<ParameterMetadataProvider.ParameterMetadata<?>> expressions, Object[] values, boolean withCount) {
             processSpecification(criteriaQuery, values);
 
             com.blazebit.persistence.CriteriaBuilder<?> cb = ((BlazeCriteriaQuery<?>) criteriaQuery).createCriteriaBuilder(getEntityManager());
@@ -424,19 +473,27 @@ public abstract class AbstractPartTreeBlazePersistenceQuery extends AbstractJpaQ
          * @return
          */
         public Query createQuery(Object[] values) {
-            CriteriaQuery<?> criteriaQuery = cachedCriteriaQuery;
-            List<ParameterMetadataProvider.ParameterMetadata<?>> expressions = this.expressions;
             ParametersParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
+            CachedCriteriaQuery cachedCriteriaQuery = borrowCachedCriteriaQuery(accessor, values);
+
+            try {
+                CriteriaQuery<?> criteriaQuery;
+                List<ParameterMetadataProvider.ParameterMetadata<?>> expressions;
+                if (cachedCriteriaQuery == null) {
+                    FixedJpaQueryCreator creator = createCreator(accessor, persistenceProvider);
+                    criteriaQuery = invokeQueryCreator(creator, appliesSortThroughAttributeSorters() ? null : getDynamicSort(values));
+                    expressions = creator.getParameterExpressions();
+                } else {
+                    criteriaQuery = cachedCriteriaQuery.criteriaQuery;
+                    expressions = cachedCriteriaQuery.expressions;
+                }
 
-            if (cachedCriteriaQuery == null || accessor.hasBindableNullValue()) {
-                FixedJpaQueryCreator creator = createCreator(accessor, persistenceProvider);
-                criteriaQuery = invokeQueryCreator(creator, appliesSortThroughAttributeSorters() ? null : getDynamicSort(values));
-                expressions = creator.getParameterExpressions();
-            }
-
-            TypedQuery<?> jpaQuery = createQuery(criteriaQuery, values);
+                TypedQuery<?> jpaQuery = createQuery0(criteriaQuery, values);
 
-            return restrictMaxResultsIfNecessary(invokeBinding(getBinder(values, expressions), jpaQuery));
+                return restrictMaxResultsIfNecessary(invokeBinding(getBinder(values, expressions), jpaQuery));
+            } finally {
+                releaseCachedCriteriaQuery(cachedCriteriaQuery);
+            }
         }
 
         private boolean appliesSortThroughAttributeSorters() {
@@ -499,6 +556,61 @@ public abstract class AbstractPartTreeBlazePersistenceQuery extends AbstractJpaQ
         }
     }
 
+    /**
+     * The parts of an invocation that influence the structure of the criteria query created for a query method.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class CriteriaQueryShape {
+
+        private final BitSet nullParameters;
+        private final Sort sort;
+
+        private CriteriaQueryShape(BitSet nullParameters, Sort sort) {
+            this.nullParameters = nullParameters;
+            this.sort = sort;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CriteriaQueryShape)) {
+                return false;
+            }
+            CriteriaQueryShape that = (CriteriaQueryShape) o;
+            return nullParameters.equals(that.nullParameters) && (sort == null ? that.sort == null : sort.equals(that.sort));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = nullParameters.hashCode();
+            result = 31 * result + (sort == null ? 0 : sort.hashCode());
+            return result;
+        }
+    }
+
+    /**
+     * A pre-built criteria query along with the parameter expressions that need to be bound and the pool it belongs to.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class CachedCriteriaQuery {
+
+        private final ConcurrentLinkedQueue<CachedCriteriaQuery> pool;
+        private final CriteriaQuery<?> criteriaQuery;
+        private final List<ParameterMetadataProvider.ParameterMetadata<?>> expressions;
+
+        private CachedCriteriaQuery(ConcurrentLinkedQueue<CachedCriteriaQuery> pool, CriteriaQuery<?> criteriaQuery, List<ParameterMetadataProvider.ParameterMetadata<?>> expressions) {
+            this.pool = pool;
+            this.criteriaQuery = criteriaQuery;
+            this.expressions = expressions;
+        }
+    }
+
     /**
      * Special {@link PartTreeJpaQuery.QueryPreparer} to create count queries.
      *
@@ -77,6 +77,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -314,6 +318,26 @@ public class ReadOnlyDocumentRepositoryTest extends AbstractSpringTest {
         assertEquals(d1.getId(), result.get(0).getId());
     }
 
+    @Test
+    public void testFindByDescriptionAlternatingNullParameter() {
+        // Given
+        final Document d1 = createDocument("D1", null, 0, null);
+        final Document d2 = createDocument("D2", "test", 0, null);
+
+        // When
+        List<DocumentAccessor> nullResult = DocumentAccessors.of(readOnlyDocumentRepository.findByDescription(null));
+        List<DocumentAccessor> nonNullResult = DocumentAccessors.of(readOnlyDocumentRepository.findByDescription(d2.getDescription()));
+        List<DocumentAccessor> nullResultAgain = DocumentAccessors.of(readOnlyDocumentRepository.findByDescription(null));
+
+        // Then
+        assertEquals(1, nullResult.size());
+        assertEquals(d1.getId(), nullResult.get(0).getId());
+        assertEquals(1, nonNullResult.size());
+        assertEquals(d2.getId(), nonNullResult.get(0).getId());
+        assertEquals(1, nullResultAgain.size());
+        assertEquals(d1.getId(), nullResultAgain.get(0).getId());
+    }
+
     @Test
     public void testFindByNameAndAgeOrDescription() {
         // Given
@@ -881,6 +905,46 @@ public class ReadOnlyDocumentRepositoryTest extends AbstractSpringTest {
         assertEquals(1, elementCount);
     }
 
+    @Test
+    public void testFindByNameConcurrently() throws Exception {
+        // Given
+        final int threads = 8;
+        final int invocationsPerThread = 50;
+        final List<Document> documents = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            documents.add(createDocument("D" + i));
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<Integer>> futures = new ArrayList<>(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                final Document document = documents.get(i);
+                futures.add(executorService.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int matches = 0;
+                        for (int j = 0; j < invocationsPerThread; j++) {
+                            List<DocumentAccessor> result = DocumentAccessors.of(readOnlyDocumentRepository.findByName(document.getName()));
+                            if (result.size() == 1 && document.getId().equals(result.get(0).getId())) {
+                                matches++;
+                            }
+                        }
+                        return matches;
+                    }
+                }));
+            }
+
+            // Then
+            for (Future<Integer> future : futures) {
+                assertEquals(invocationsPerThread, (int) future.get());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test
     public void testSortByExpression() {
         // Given
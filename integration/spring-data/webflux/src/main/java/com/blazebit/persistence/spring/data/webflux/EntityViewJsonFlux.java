@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spring.data.webflux;
+
+import com.blazebit.persistence.integration.jackson.EntityViewJsonArrayWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Creates a {@link Flux} of {@link DataBuffer}s that represents the elements of an entity view result stream as JSON array.
+ * The elements are pulled from the stream on demand and serialized in chunks, so a controller that returns the flux
+ * as response body can implement export endpoints with a constant memory consumption.
+ *
+ * Note that consuming an entity view result stream is blocking, so the flux should be subscribed on a scheduler that allows blocking.
+ * The stream is closed when the flux completes, fails or is cancelled.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public final class EntityViewJsonFlux {
+
+    private static final byte[] ARRAY_START = { '[' };
+    private static final byte[] ARRAY_END = { ']' };
+    private static final char ELEMENT_SEPARATOR = ',';
+
+    private EntityViewJsonFlux() {
+    }
+
+    /**
+     * Creates a flux of JSON data buffers for the elements of the stream provided by the given supplier,
+     * serializing chunks of {@link EntityViewJsonArrayWriter#DEFAULT_FLUSH_SIZE} elements.
+     *
+     * @param objectMapper The object mapper to use for serializing the elements
+     * @param streamSupplier The supplier for the entity view result stream
+     * @return The flux of JSON data buffers
+     */
+    public static Flux<DataBuffer> fromStream(ObjectMapper objectMapper, Supplier<Stream<?>> streamSupplier) {
+        return fromStream(new EntityViewJsonArrayWriter(objectMapper), new DefaultDataBufferFactory(), streamSupplier);
+    }
+
+    /**
+     * Creates a flux of JSON data buffers for the elements of the stream provided by the given supplier,
+     * serializing chunks of {@link EntityViewJsonArrayWriter#getFlushSize()} elements.
+     *
+     * @param writer The writer providing the object writer and chunk size
+     * @param bufferFactory The buffer factory, usually the one of the server response
+     * @param streamSupplier The supplier for the entity view result stream
+     * @return The flux of JSON data buffers
+     */
+    public static Flux<DataBuffer> fromStream(EntityViewJsonArrayWriter writer, DataBufferFactory bufferFactory, Supplier<Stream<?>> streamSupplier) {
+        ObjectWriter objectWriter = writer.getObjectWriter();
+        Flux<DataBuffer> elements = Flux.<Object>fromStream(streamSupplier)
+                .buffer(writer.getFlushSize())
+                .index()
+                .map(tuple -> write(objectWriter, bufferFactory, tuple.getT1() == 0L, tuple.getT2()));
+        return Flux.concat(
+                Flux.defer(() -> Flux.just(bufferFactory.wrap(ARRAY_START))),
+                elements,
+                Flux.defer(() -> Flux.just(bufferFactory.wrap(ARRAY_END)))
+        );
+    }
+
+    private static DataBuffer write(ObjectWriter objectWriter, DataBufferFactory bufferFactory, boolean firstChunk, List<Object> chunk) {
+        DataBuffer buffer = bufferFactory.allocateBuffer();
+        boolean release = true;
+        try (OutputStream outputStream = buffer.asOutputStream()) {
+            JsonGenerator generator = objectWriter.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // The elements are written as root values, so we must avoid the default root value separator
+            generator.setRootValueSeparator(null);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i != 0 || !firstChunk) {
+                    generator.writeRaw(ELEMENT_SEPARATOR);
+                }
+                objectWriter.writeValue(generator, chunk.get(i));
+            }
+            generator.close();
+            release = false;
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spring.data.webflux;
+
+import com.blazebit.persistence.integration.jackson.EntityViewJsonArrayWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewJsonFluxTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testEmpty() {
+        AtomicInteger closeCount = new AtomicInteger();
+        Flux<DataBuffer> flux = EntityViewJsonFlux.fromStream(objectMapper, () -> Stream.empty().onClose(closeCount::incrementAndGet));
+        assertEquals("[]", join(flux.collectList().block()));
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    public void testSingleElement() throws Exception {
+        AtomicInteger closeCount = new AtomicInteger();
+        List<String> elements = Collections.singletonList("a");
+        Flux<DataBuffer> flux = EntityViewJsonFlux.fromStream(objectMapper, () -> elements.stream().onClose(closeCount::incrementAndGet));
+        assertEquals(objectMapper.writeValueAsString(elements), join(flux.collectList().block()));
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    public void testMultipleChunks() throws Exception {
+        AtomicInteger closeCount = new AtomicInteger();
+        List<Integer> elements = Arrays.asList(1, 2, 3, 4, 5);
+        // Use a chunk size that doesn't divide the element count
+        Flux<DataBuffer> flux = EntityViewJsonFlux.fromStream(
+                new EntityViewJsonArrayWriter(objectMapper, 2),
+                new DefaultDataBufferFactory(),
+                () -> elements.stream().onClose(closeCount::incrementAndGet)
+        );
+        List<DataBuffer> buffers = flux.collectList().block();
+        // The array start, three chunks and the array end
+        assertEquals(5, buffers.size());
+        assertEquals(objectMapper.writeValueAsString(elements), join(buffers));
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    public void testCloseOnError() {
+        AtomicInteger closeCount = new AtomicInteger();
+        Flux<DataBuffer> flux = EntityViewJsonFlux.fromStream(
+                new EntityViewJsonArrayWriter(objectMapper, 2),
+                new DefaultDataBufferFactory(),
+                () -> Stream.of(1, 2, 3).map(i -> {
+                    if (i == 3) {
+                        throw new IllegalStateException("Failure");
+                    }
+                    return i;
+                }).onClose(closeCount::incrementAndGet)
+        );
+        try {
+            flux.collectList().block();
+            fail("Expected failure");
+        } catch (IllegalStateException ex) {
+            assertEquals("Failure", ex.getMessage());
+        }
+        assertEquals(1, closeCount.get());
+    }
+
+    @Test
+    public void testCloseOnCancel() {
+        AtomicInteger closeCount = new AtomicInteger();
+        Flux<DataBuffer> flux = EntityViewJsonFlux.fromStream(
+                new EntityViewJsonArrayWriter(objectMapper, 2),
+                new DefaultDataBufferFactory(),
+                () -> Stream.of(1, 2, 3, 4, 5).onClose(closeCount::incrementAndGet)
+        );
+        List<DataBuffer> buffers = flux.take(2).collectList().block();
+        assertEquals("[1,2", join(buffers));
+        assertEquals(1, closeCount.get());
+    }
+
+    private static String join(List<DataBuffer> buffers) {
+        StringBuilder sb = new StringBuilder();
+        for (DataBuffer buffer : buffers) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            sb.append(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spring.data.webmvc;
+
+import com.blazebit.persistence.integration.jackson.EntityViewReferenceBatchLoader;
+
+/**
+ * Enables batch loading of the entities that are referenced by entity views which are deserialized from request bodies.
+ * Batch loading is disabled unless a bean of this type is registered.
+ * <p>
+ * An implementation loads the collected references into the entity manager that is used for saving the entity views,
+ * e.g. the shared entity manager when an entity manager is bound to the request through open entity manager in view:
+ *
+ * <pre>
+ * &#064;Bean
+ * public EntityViewReferenceBatchLoading entityViewReferenceBatchLoading(EntityManager entityManager) {
+ *     return batchLoader -&gt; batchLoader.load(entityManager);
+ * }
+ * </pre>
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public interface EntityViewReferenceBatchLoading {
+
+    /**
+     * Loads the entities for the references that the given batch loader collected while reading a request body.
+     *
+     * @param batchLoader The batch loader
+     */
+    void load(EntityViewReferenceBatchLoader batchLoader);
+}
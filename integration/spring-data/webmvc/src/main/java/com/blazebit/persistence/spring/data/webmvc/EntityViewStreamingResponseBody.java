@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spring.data.webmvc;
+
+import com.blazebit.persistence.integration.jackson.EntityViewJsonArrayWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * A {@link StreamingResponseBody} that writes the elements of an entity view result stream incrementally as JSON array,
+ * which allows to implement export endpoints with a constant memory consumption.
+ *
+ * The resource, usually the result stream, is closed after writing. Note that the body is written asynchronously after the handler method returned,
+ * so the persistence context and connection must still be available at that point.
+ *
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewStreamingResponseBody implements StreamingResponseBody {
+
+    private final EntityViewJsonArrayWriter writer;
+    private final Iterator<?> iterator;
+    private final AutoCloseable resource;
+
+    public EntityViewStreamingResponseBody(ObjectMapper objectMapper, Iterator<?> iterator, AutoCloseable resource) {
+        this(new EntityViewJsonArrayWriter(objectMapper), iterator, resource);
+    }
+
+    public EntityViewStreamingResponseBody(EntityViewJsonArrayWriter writer, Iterator<?> iterator, AutoCloseable resource) {
+        this.writer = writer;
+        this.iterator = iterator;
+        this.resource = resource;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try {
+            writer.write(iterator, outputStream);
+        } finally {
+            if (resource != null) {
+                try {
+                    resource.close();
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.blazebit.persistence.spring.data.webmvc.impl;
 
 import com.blazebit.persistence.integration.jackson.EntityViewIdValueAccessor;
+import com.blazebit.persistence.spring.data.webmvc.EntityViewReferenceBatchLoading;
 import com.blazebit.persistence.spring.data.webmvc.KeysetPageableArgumentResolver;
 import com.blazebit.persistence.spring.data.webmvc.impl.json.EntityViewAwareMappingJackson2HttpMessageConverter;
 import com.blazebit.persistence.spring.data.webmvc.impl.json.EntityViewIdHandlerInterceptor;
@@ -47,13 +48,21 @@ public class BlazePersistenceWebConfiguration extends WebMvcConfigurerAdapter {
     protected final ObjectFactory<ConversionService> conversionService;
     protected final ObjectMapper objectMapper;
     private final EntityViewManager entityViewManager;
+    private final EntityViewReferenceBatchLoading referenceBatchLoading;
 
+    public BlazePersistenceWebConfiguration(EntityViewManager entityViewManager, ObjectFactory<ConversionService> conversionService, ObjectMapper objectMapper) {
+        this(entityViewManager, conversionService, objectMapper, null);
+    }
+
+    @Autowired
     public BlazePersistenceWebConfiguration(EntityViewManager entityViewManager,
             @Qualifier("mvcConversionService") ObjectFactory<ConversionService> conversionService,
-            @Autowired(required = false) ObjectMapper objectMapper) {
+            @Autowired(required = false) ObjectMapper objectMapper,
+            @Autowired(required = false) EntityViewReferenceBatchLoading referenceBatchLoading) {
         this.entityViewManager = entityViewManager;
         this.conversionService = conversionService;
         this.objectMapper = objectMapper == null ? new ObjectMapper() : objectMapper.copy();
+        this.referenceBatchLoading = referenceBatchLoading;
     }
 
     protected ObjectMapper objectMapper() {
@@ -86,7 +95,7 @@ public class BlazePersistenceWebConfiguration extends WebMvcConfigurerAdapter {
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
         // Add it to the beginning so it has precedence over the builtin
-        converters.add(0, new EntityViewAwareMappingJackson2HttpMessageConverter(entityViewManager, blazeWebmvcIdAttributeAccessor(), objectMapper()));
+        converters.add(0, new EntityViewAwareMappingJackson2HttpMessageConverter(entityViewManager, blazeWebmvcIdAttributeAccessor(), objectMapper(), referenceBatchLoading));
     }
 
     @Override
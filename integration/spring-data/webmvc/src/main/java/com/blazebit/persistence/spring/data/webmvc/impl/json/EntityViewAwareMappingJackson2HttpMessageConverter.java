@@ -18,9 +18,12 @@ package com.blazebit.persistence.spring.data.webmvc.impl.json;
 
 import com.blazebit.persistence.integration.jackson.EntityViewAwareObjectMapper;
 import com.blazebit.persistence.integration.jackson.EntityViewIdValueAccessor;
+import com.blazebit.persistence.integration.jackson.EntityViewReferenceBatchLoader;
+import com.blazebit.persistence.spring.data.webmvc.EntityViewReferenceBatchLoading;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -37,10 +40,16 @@ import java.lang.reflect.Type;
 public class EntityViewAwareMappingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
 
     private final EntityViewAwareObjectMapper entityViewAwareObjectMapper;
+    private final EntityViewReferenceBatchLoading referenceBatchLoading;
 
     public EntityViewAwareMappingJackson2HttpMessageConverter(final EntityViewManager entityViewManager, EntityViewIdValueAccessor entityViewIdValueAccessor, ObjectMapper objectMapper) {
+        this(entityViewManager, entityViewIdValueAccessor, objectMapper, null);
+    }
+
+    public EntityViewAwareMappingJackson2HttpMessageConverter(final EntityViewManager entityViewManager, EntityViewIdValueAccessor entityViewIdValueAccessor, ObjectMapper objectMapper, EntityViewReferenceBatchLoading referenceBatchLoading) {
         super(objectMapper);
         this.entityViewAwareObjectMapper = new EntityViewAwareObjectMapper(entityViewManager, objectMapper, entityViewIdValueAccessor);
+        this.referenceBatchLoading = referenceBatchLoading;
     }
 
     @Override
@@ -85,7 +94,14 @@ public class EntityViewAwareMappingJackson2HttpMessageConverter extends MappingJ
                             readValue(inputMessage.getBody());
                 }
             }
-            return entityViewAwareObjectMapper.readerFor(javaType).readValue(inputMessage.getBody());
+            ObjectReader objectReader = entityViewAwareObjectMapper.readerFor(javaType);
+            if (referenceBatchLoading == null) {
+                return objectReader.readValue(inputMessage.getBody());
+            }
+            EntityViewReferenceBatchLoader batchLoader = new EntityViewReferenceBatchLoader(entityViewAwareObjectMapper.getEntityViewManager());
+            Object result = batchLoader.configure(objectReader).readValue(inputMessage.getBody());
+            referenceBatchLoading.load(batchLoader);
+            return result;
         } catch (IOException ex) {
             throw new HttpMessageNotReadableException("Could not read document: " + ex.getMessage(), ex);
         }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 - 2024 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.spring.data.webmvc;
+
+import com.blazebit.persistence.integration.jackson.EntityViewJsonArrayWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.13
+ */
+public class EntityViewStreamingResponseBodyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testWriteEmpty() throws Exception {
+        CloseTrackingResource resource = new CloseTrackingResource();
+        String json = write(new EntityViewStreamingResponseBody(objectMapper, Collections.emptyIterator(), resource));
+        assertEquals("[]", json);
+        assertEquals(1, resource.closeCount);
+    }
+
+    @Test
+    public void testWriteSingleElement() throws Exception {
+        CloseTrackingResource resource = new CloseTrackingResource();
+        List<String> elements = Collections.singletonList("a");
+        String json = write(new EntityViewStreamingResponseBody(objectMapper, elements.iterator(), resource));
+        assertEquals(objectMapper.writeValueAsString(elements), json);
+        assertEquals(1, resource.closeCount);
+    }
+
+    @Test
+    public void testWriteMultipleChunks() throws Exception {
+        CloseTrackingResource resource = new CloseTrackingResource();
+        List<Integer> elements = Arrays.asList(1, 2, 3, 4, 5);
+        FlushCountingOutputStream outputStream = new FlushCountingOutputStream();
+        // Use a flush size that doesn't divide the element count
+        new EntityViewStreamingResponseBody(new EntityViewJsonArrayWriter(objectMapper, 2), elements.iterator(), resource).writeTo(outputStream);
+        assertEquals(objectMapper.writeValueAsString(elements), outputStream.toString("UTF-8"));
+        assertTrue(outputStream.flushCount >= 2);
+        assertEquals(1, resource.closeCount);
+    }
+
+    @Test
+    public void testCloseOnError() throws Exception {
+        CloseTrackingResource resource = new CloseTrackingResource();
+        Iterator<Integer> iterator = new FailingIterator(Arrays.asList(1, 2, 3).iterator(), 2);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            new EntityViewStreamingResponseBody(objectMapper, iterator, resource).writeTo(outputStream);
+            fail("Expected failure");
+        } catch (IllegalStateException ex) {
+            assertEquals("Failure", ex.getMessage());
+        }
+        assertEquals(1, resource.closeCount);
+    }
+
+    private static String write(EntityViewStreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        body.writeTo(outputStream);
+        return outputStream.toString("UTF-8");
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static class CloseTrackingResource implements AutoCloseable {
+        private int closeCount;
+
+        @Override
+        public void close() {
+            closeCount++;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+        private int flushCount;
+
+        @Override
+        public void flush() throws IOException {
+            flushCount++;
+            super.flush();
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static class FailingIterator implements Iterator<Integer> {
+        private final Iterator<Integer> delegate;
+        private int remaining;
+
+        public FailingIterator(Iterator<Integer> delegate, int failAfter) {
+            this.delegate = delegate;
+            this.remaining = failAfter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+            if (remaining-- == 0) {
+                throw new IllegalStateException("Failure");
+            }
+            return delegate.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
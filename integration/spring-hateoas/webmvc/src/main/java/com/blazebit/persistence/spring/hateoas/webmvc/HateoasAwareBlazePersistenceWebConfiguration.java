@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.spring.hateoas.webmvc;
 
+import com.blazebit.persistence.spring.data.webmvc.EntityViewReferenceBatchLoading;
 import com.blazebit.persistence.spring.data.webmvc.KeysetPageableArgumentResolver;
 import com.blazebit.persistence.spring.data.webmvc.impl.BlazePersistenceWebConfiguration;
 import com.blazebit.persistence.view.EntityViewManager;
@@ -47,8 +48,9 @@ public class HateoasAwareBlazePersistenceWebConfiguration extends BlazePersisten
             EntityViewManager entityViewManager,
             @Qualifier("mvcConversionService") ObjectFactory<ConversionService> conversionService,
             @Lazy List<UriComponentsContributor> uriComponentsContributors,
-            @Autowired(required = false) ObjectMapper objectMapper) {
-        super(entityViewManager, conversionService, objectMapper);
+            @Autowired(required = false) ObjectMapper objectMapper,
+            @Autowired(required = false) EntityViewReferenceBatchLoading referenceBatchLoading) {
+        super(entityViewManager, conversionService, objectMapper, referenceBatchLoading);
         this.uriComponentsContributors = uriComponentsContributors;
     }
 
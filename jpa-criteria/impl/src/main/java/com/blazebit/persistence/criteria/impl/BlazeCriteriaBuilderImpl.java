@@ -122,6 +122,8 @@ public class BlazeCriteriaBuilderImpl implements BlazeCriteriaBuilder, CriteriaB
     private final CriteriaBuilderFactory cbf;
     private final boolean negationWrapper;
     private final boolean valueAsParameter;
+    private final boolean renderCache;
+    private int modificationCount;
 
     public BlazeCriteriaBuilderImpl(CriteriaBuilderFactory cbf) {
         this.metamodel = cbf.getService(EntityMetamodel.class);
@@ -130,6 +132,7 @@ public class BlazeCriteriaBuilderImpl implements BlazeCriteriaBuilder, CriteriaB
         this.negationWrapper = negationWrapper == null || negationWrapper.isEmpty() || Boolean.parseBoolean(negationWrapper);
         String valueAsParameter = cbf.getProperty(ConfigurationProperties.CRITERIA_VALUE_AS_PARAMETER);
         this.valueAsParameter = valueAsParameter == null || valueAsParameter.isEmpty() || Boolean.parseBoolean(valueAsParameter);
+        this.renderCache = Boolean.parseBoolean(cbf.getProperty(ConfigurationProperties.CRITERIA_RENDER_CACHE));
     }
 
     public EntityMetamodel getEntityMetamodel() {
@@ -140,6 +143,24 @@ public class BlazeCriteriaBuilderImpl implements BlazeCriteriaBuilder, CriteriaB
         return cbf;
     }
 
+    public boolean isRenderCache() {
+        return renderCache;
+    }
+
+    /**
+     * Returns a counter that is incremented whenever an element of a criteria tree created by this builder is altered in place,
+     * like through {@link Selection#alias(String)} or {@link In#value(Object)}.
+     *
+     * @return The modification count
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    public void markModified() {
+        modificationCount++;
+    }
+
     public <T extends AbstractPredicate> AbstractPredicate negate(T predicate) {
         if (negationWrapper) {
             return new NotPredicate(this, predicate);
@@ -1284,7 +1305,7 @@ public class BlazeCriteriaBuilderImpl implements BlazeCriteriaBuilder, CriteriaB
 
     @Override
     public BlazeWindow window() {
-        return new BlazeWindowImpl();
+        return new BlazeWindowImpl(this);
     }
 
     @Override
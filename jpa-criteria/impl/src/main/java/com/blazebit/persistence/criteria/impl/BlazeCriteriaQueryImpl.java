@@ -32,9 +32,11 @@ import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Selection;
 import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -47,6 +49,7 @@ public class BlazeCriteriaQueryImpl<T> implements BlazeCriteriaQuery<T> {
 
     private final Class<T> returnType;
     private final InternalQuery<T> query;
+    private volatile CachedRendering<T> cachedRendering;
 
     public BlazeCriteriaQueryImpl(BlazeCriteriaBuilderImpl criteriaBuilder, Class<T> returnType) {
         this.criteriaBuilder = criteriaBuilder;
@@ -276,8 +279,78 @@ public class BlazeCriteriaQueryImpl<T> implements BlazeCriteriaQuery<T> {
 
     @Override
     public CriteriaBuilder<T> createCriteriaBuilder(EntityManager entityManager) {
+        if (!criteriaBuilder.isRenderCache() || !isRenderCacheable()) {
+            CriteriaBuilder<T> cb = criteriaBuilder.getCriteriaBuilderFactory().create(entityManager, returnType);
+            return query.render(cb);
+        }
+
+        int modificationCount = criteriaBuilder.getModificationCount();
+        List<Object> structure = new ArrayList<>();
+        query.collectStructure(structure);
+        CachedRendering<T> rendering = cachedRendering;
+        if (rendering != null && rendering.matches(modificationCount, structure)) {
+            return rendering.copy(entityManager, returnType);
+        }
+
         CriteriaBuilder<T> cb = criteriaBuilder.getCriteriaBuilderFactory().create(entityManager, returnType);
-        return query.render(cb);
+        RenderContextImpl context = query.renderQuery(cb);
+        // The cached copy is not bound to an entity manager, so it can be copied onto the entity manager of later invocations
+        cachedRendering = new CachedRendering<>(modificationCount, structure, cb.copyCriteriaBuilder(null, returnType, true), context.getImplicitParameterBindings(), context.getExplicitParameterMapping());
+        InternalQuery.bindParameters(cb, context.getImplicitParameterBindings(), context.getExplicitParameterMapping());
+        return cb;
+    }
+
+    private boolean isRenderCacheable() {
+        // A copy doesn't retain the object builder for tuple or constructor selections
+        Selection<T> selection = query.getSelection();
+        return selection == null || !selection.isCompoundSelection() || selection.getJavaType().isArray();
+    }
+
+    /**
+     * A rendered criteria builder that is not bound to an entity manager along with the parameter bindings that are applied to every copy.
+     * The rendered criteria builder is never handed out, so that it can't be altered.
+     *
+     * @author Christian Beikov
+     * @since 1.6.13
+     */
+    private static final class CachedRendering<T> {
+
+        private final int modificationCount;
+        private final List<Object> structure;
+        private final CriteriaBuilder<T> criteriaBuilder;
+        private final List<ImplicitParameterBinding> implicitParameterBindings;
+        private final Map<ParameterExpression<?>, String> explicitParameterMapping;
+
+        public CachedRendering(int modificationCount, List<Object> structure, CriteriaBuilder<T> criteriaBuilder, List<ImplicitParameterBinding> implicitParameterBindings, Map<ParameterExpression<?>, String> explicitParameterMapping) {
+            this.modificationCount = modificationCount;
+            this.structure = structure;
+            this.criteriaBuilder = criteriaBuilder;
+            this.implicitParameterBindings = implicitParameterBindings;
+            this.explicitParameterMapping = explicitParameterMapping;
+        }
+
+        public boolean matches(int modificationCount, List<Object> structure) {
+            // Elements that are altered in place are only detected through the modification count
+            if (this.modificationCount != modificationCount || this.structure.size() != structure.size()) {
+                return false;
+            }
+            for (int i = 0; i < structure.size(); i++) {
+                if (this.structure.get(i) != structure.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public CriteriaBuilder<T> copy(EntityManager entityManager, Class<T> returnType) {
+            CriteriaBuilder<T> cb;
+            // Copying prepares the rendered criteria builder, so we must not copy concurrently
+            synchronized (criteriaBuilder) {
+                cb = criteriaBuilder.copyCriteriaBuilder(entityManager, returnType, true);
+            }
+            InternalQuery.bindParameters(cb, implicitParameterBindings, explicitParameterMapping);
+            return cb;
+        }
     }
 
 }
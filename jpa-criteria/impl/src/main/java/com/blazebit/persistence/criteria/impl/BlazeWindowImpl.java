@@ -39,6 +39,7 @@ import java.util.List;
  */
 public class BlazeWindowImpl implements BlazeWindow {
 
+    private final BlazeCriteriaBuilderImpl criteriaBuilder;
     private List<BlazeOrder> orderList = Collections.emptyList();
     private List<BlazeExpression<?>> partitionList = Collections.emptyList();
     private BlazeWindowFrameMode frameMode = BlazeWindowFrameMode.ROWS;
@@ -48,7 +49,8 @@ public class BlazeWindowImpl implements BlazeWindow {
     private BlazeExpression<?> frameEndExpression;
     private WindowFrameExclusionType frameExclusion = WindowFrameExclusionType.EXCLUDE_NO_OTHERS;
 
-    public BlazeWindowImpl() {
+    public BlazeWindowImpl(BlazeCriteriaBuilderImpl criteriaBuilder) {
+        this.criteriaBuilder = criteriaBuilder;
     }
 
     public List<BlazeOrder> getOrderList() {
@@ -64,6 +66,7 @@ public class BlazeWindowImpl implements BlazeWindow {
             this.orderList = (List<BlazeOrder>) (List<?>) Arrays.asList(orders);
         }
 
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -71,6 +74,7 @@ public class BlazeWindowImpl implements BlazeWindow {
     @SuppressWarnings("unchecked")
     public BlazeWindow orderBy(List<Order> orderList) {
         this.orderList = (List<BlazeOrder>) (List<?>) orderList;
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -88,6 +92,7 @@ public class BlazeWindowImpl implements BlazeWindow {
             partitionList = (List<BlazeExpression<?>>) (List<?>) Arrays.asList(groupings);
         }
 
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -95,6 +100,7 @@ public class BlazeWindowImpl implements BlazeWindow {
     @SuppressWarnings("unchecked")
     public BlazeWindow partitionBy(List<Expression<?>> groupings) {
         partitionList = (List<BlazeExpression<?>>) (List<?>) groupings;
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -103,6 +109,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.ROWS;
         setStart(start);
         setEnd(BlazeWindowFrameEndType.CURRENT_ROW);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -111,6 +118,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.ROWS;
         setStart(start, startKind);
         setEnd(BlazeWindowFrameEndType.CURRENT_ROW);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -119,6 +127,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.ROWS;
         setStart(start);
         setEnd(end);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -127,6 +136,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.ROWS;
         setStart(start);
         setEnd(end, endKind);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -135,6 +145,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.ROWS;
         setStart(start, startKind);
         setEnd(end);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -143,6 +154,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.ROWS;
         setStart(start, startKind);
         setEnd(end, endKind);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -151,6 +163,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.RANGE;
         setStart(start);
         setEnd(BlazeWindowFrameEndType.CURRENT_ROW);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -159,6 +172,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.RANGE;
         setStart(start, startKind);
         setEnd(BlazeWindowFrameEndType.CURRENT_ROW);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -167,6 +181,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.RANGE;
         setStart(start);
         setEnd(end);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -175,6 +190,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.RANGE;
         setStart(start);
         setEnd(end, endKind);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -183,6 +199,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.RANGE;
         setStart(start, startKind);
         setEnd(end);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -191,6 +208,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.RANGE;
         setStart(start, startKind);
         setEnd(end, endKind);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -199,6 +217,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.GROUPS;
         setStart(start);
         setEnd(BlazeWindowFrameEndType.CURRENT_ROW);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -207,6 +226,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.GROUPS;
         setStart(start, startKind);
         setEnd(BlazeWindowFrameEndType.CURRENT_ROW);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -215,6 +235,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.GROUPS;
         setStart(start);
         setEnd(end);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -223,6 +244,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.GROUPS;
         setStart(start);
         setEnd(end, endKind);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -231,6 +253,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.GROUPS;
         setStart(start, startKind);
         setEnd(end);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -239,6 +262,7 @@ public class BlazeWindowImpl implements BlazeWindow {
         this.frameMode = BlazeWindowFrameMode.GROUPS;
         setStart(start, startKind);
         setEnd(end, endKind);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -318,6 +342,7 @@ public class BlazeWindowImpl implements BlazeWindow {
     @Override
     public BlazeWindow exclude(BlazeWindowFrameExclusion exclusion) {
         this.frameExclusion = mapExclusionType(exclusion);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -47,6 +47,7 @@ import com.blazebit.persistence.criteria.impl.path.TreatedPath;
 
 import javax.persistence.Tuple;
 import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Fetch;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.Order;
 import javax.persistence.criteria.ParameterExpression;
@@ -272,6 +273,12 @@ public class InternalQuery<T> implements Serializable {
     /* Rendering */
 
     public CriteriaBuilder<T> render(CriteriaBuilder<T> cb) {
+        RenderContextImpl context = renderQuery(cb);
+        bindParameters(cb, context.getImplicitParameterBindings(), context.getExplicitParameterMapping());
+        return cb;
+    }
+
+    public RenderContextImpl renderQuery(CriteriaBuilder<T> cb) {
         if (distinct) {
             cb.distinct();
         }
@@ -285,15 +292,73 @@ public class InternalQuery<T> implements Serializable {
         renderHaving(cb, context);
         renderOrderBy(cb, context);
 
-        for (ImplicitParameterBinding b : context.getImplicitParameterBindings()) {
+        return context;
+    }
+
+    public static void bindParameters(CriteriaBuilder<?> cb, List<ImplicitParameterBinding> implicitParameterBindings, Map<ParameterExpression<?>, String> explicitParameterMapping) {
+        for (ImplicitParameterBinding b : implicitParameterBindings) {
             b.bind(cb);
         }
 
-        for (Map.Entry<ParameterExpression<?>, String> entry : context.getExplicitParameterMapping().entrySet()) {
+        for (Map.Entry<ParameterExpression<?>, String> entry : explicitParameterMapping.entrySet()) {
             cb.registerCriteriaParameter(entry.getValue(), entry.getKey());
         }
+    }
 
-        return cb;
+    /* Structure */
+
+    /**
+     * Collects the objects that make up the structure of this query, including roots, joins and subqueries.
+     * Comparing the collected objects by identity tells whether clauses, roots, joins or subqueries of the query were replaced or added.
+     * Elements that are altered in place are tracked through {@link BlazeCriteriaBuilderImpl#getModificationCount()} instead.
+     *
+     * @param structure The list to add the objects to
+     */
+    public void collectStructure(List<Object> structure) {
+        structure.add(distinct ? Boolean.TRUE : Boolean.FALSE);
+        structure.add(selection);
+        for (RootImpl<?> r : roots) {
+            collectStructure(r, structure);
+        }
+        if (correlationRoots != null) {
+            for (AbstractFrom<?, ?> r : correlationRoots) {
+                collectStructure(r, structure);
+            }
+        }
+        structure.add(restriction);
+        if (groupList != null) {
+            structure.addAll(groupList);
+        }
+        structure.add(having);
+        if (orderList != null) {
+            structure.addAll(orderList);
+        }
+        if (subqueries != null) {
+            for (Subquery<?> subquery : subqueries) {
+                ((SubqueryExpression<?>) subquery).collectStructure(structure);
+            }
+        }
+    }
+
+    private static void collectStructure(AbstractFrom<?, ?> from, List<Object> structure) {
+        structure.add(from);
+        collectJoinStructure(from, structure);
+        for (TreatedPath<?> treatedPath : from.getTreatedPaths()) {
+            structure.add(treatedPath);
+            if (treatedPath instanceof AbstractFrom<?, ?>) {
+                collectJoinStructure((AbstractFrom<?, ?>) treatedPath, structure);
+            }
+        }
+    }
+
+    private static void collectJoinStructure(AbstractFrom<?, ?> from, List<Object> structure) {
+        for (Join<?, ?> join : from.getJoins()) {
+            structure.add(((AbstractJoin<?, ?>) join).getOn());
+            collectStructure((AbstractJoin<?, ?>) join, structure);
+        }
+        for (Fetch<?, ?> fetch : from.getFetches()) {
+            collectStructure((AbstractJoin<?, ?>) fetch, structure);
+        }
     }
 
     public void renderSubquery(RenderContext context) {
@@ -38,6 +38,7 @@ public abstract class AbstractSelection<X> extends AbstractTupleElement<X> imple
     @Override
     public Selection<X> alias(String alias) {
         setAlias(alias);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -62,6 +62,8 @@ public class CompoundPredicate extends AbstractPredicate {
 
     @Override
     public List<Expression<Boolean>> getExpressions() {
+        // The returned list allows to alter the predicate in place
+        criteriaBuilder.markModified();
         return expressions;
     }
 
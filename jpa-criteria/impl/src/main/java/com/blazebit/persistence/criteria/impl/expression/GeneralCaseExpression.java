@@ -75,6 +75,7 @@ public class GeneralCaseExpression<R> extends AbstractExpression<R> implements C
         WhenClause whenClause = new WhenClause(condition, result);
         whenClauses.add(whenClause);
         adjustJavaType(result);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -94,6 +95,7 @@ public class GeneralCaseExpression<R> extends AbstractExpression<R> implements C
     public Expression<R> otherwise(Expression<? extends R> result) {
         this.otherwiseResult = result;
         adjustJavaType(result);
+        criteriaBuilder.markModified();
         return this;
     }
 
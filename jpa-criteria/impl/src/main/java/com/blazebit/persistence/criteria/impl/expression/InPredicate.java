@@ -89,6 +89,7 @@ public class InPredicate<T> extends AbstractSimplePredicate implements BlazeCrit
     public InPredicate<T> value(Expression<? extends T> value) {
         values.add(value);
         allValues = allValues && value instanceof ParameterExpressionImpl<?> && ((ParameterExpressionImpl<?>) value).getValue() != null;
+        criteriaBuilder.markModified();
         return this;
     }
 
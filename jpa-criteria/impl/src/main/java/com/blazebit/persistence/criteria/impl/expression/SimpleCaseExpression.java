@@ -81,6 +81,7 @@ public class SimpleCaseExpression<C, R> extends AbstractExpression<R> implements
         WhenClause whenClause = new WhenClause(criteriaBuilder.value(condition), result);
         whenClauses.add(whenClause);
         adjustJavaType(result);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -100,6 +101,7 @@ public class SimpleCaseExpression<C, R> extends AbstractExpression<R> implements
     public Expression<R> otherwise(Expression<? extends R> result) {
         this.otherwiseResult = result;
         adjustJavaType(result);
+        criteriaBuilder.markModified();
         return this;
     }
 
@@ -332,6 +332,10 @@ public class SubqueryExpression<T> extends AbstractExpression<T> implements Blaz
         query.renderSubquery(context);
     }
 
+    public void collectStructure(List<Object> structure) {
+        query.collectStructure(structure);
+    }
+
     /* JPA 2.1 support */
 
     @Override
@@ -60,6 +60,7 @@ public class CoalesceFunction<T> extends AbstractExpression<T> implements Coales
         if (javaType == null) {
             javaType = (Class<T>) value.getJavaType();
         }
+        criteriaBuilder.markModified();
         return this;
     }
 
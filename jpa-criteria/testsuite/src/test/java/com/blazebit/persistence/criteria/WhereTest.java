@@ -29,6 +29,7 @@ import com.blazebit.persistence.testsuite.entity.Person;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
 import java.sql.Timestamp;
@@ -52,6 +53,81 @@ public class WhereTest extends AbstractCoreTest {
         cbfUnoptimized = config.createCriteriaBuilderFactory(emf);
     }
 
+    @Test
+    public void renderCacheReusesRenderingUntilAltered() {
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.getProperties().setProperty(ConfigurationProperties.CRITERIA_RENDER_CACHE, "true");
+        CriteriaBuilderFactory cbfRenderCache = config.createCriteriaBuilderFactory(emf);
+        BlazeCriteriaQuery<Long> cq = BlazeCriteria.get(cbfRenderCache, Long.class);
+        BlazeCriteriaBuilder cb = cq.getCriteriaBuilder();
+        Root<Document> root = cq.from(Document.class, "document");
+
+        cq.select(root.get(Document_.id));
+        cq.where(cb.equal(root.get(Document_.id), 1L));
+
+        CriteriaBuilder<?> criteriaBuilder1 = cq.createCriteriaBuilder(em);
+        CriteriaBuilder<?> criteriaBuilder2 = cq.createCriteriaBuilder(em);
+        assertNotSame(criteriaBuilder1, criteriaBuilder2);
+        assertEquals("SELECT document.id FROM Document document WHERE document.id = :generated_param_0", criteriaBuilder1.getQueryString());
+        assertEquals(criteriaBuilder1.getQueryString(), criteriaBuilder2.getQueryString());
+        assertEquals(1L, criteriaBuilder2.getParameterValue("generated_param_0"));
+        criteriaBuilder2.getResultList();
+
+        cq.where(cb.equal(root.get(Document_.id), 2L), cb.isNotNull(root.get(Document_.name)));
+        CriteriaBuilder<?> criteriaBuilder3 = cq.createCriteriaBuilder(em);
+        assertEquals("SELECT document.id FROM Document document WHERE document.id = :generated_param_0 AND document.name IS NOT NULL", criteriaBuilder3.getQueryString());
+        assertEquals(2L, criteriaBuilder3.getParameterValue("generated_param_0"));
+    }
+
+    @Test
+    public void renderCacheReusesRenderingWithOtherEntityManager() {
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.getProperties().setProperty(ConfigurationProperties.CRITERIA_RENDER_CACHE, "true");
+        CriteriaBuilderFactory cbfRenderCache = config.createCriteriaBuilderFactory(emf);
+        BlazeCriteriaQuery<Long> cq = BlazeCriteria.get(cbfRenderCache, Long.class);
+        BlazeCriteriaBuilder cb = cq.getCriteriaBuilder();
+        Root<Document> root = cq.from(Document.class, "document");
+
+        cq.select(root.get(Document_.id));
+        cq.where(cb.equal(root.get(Document_.id), 1L));
+
+        CriteriaBuilder<?> criteriaBuilder1 = cq.createCriteriaBuilder(em);
+        EntityManager otherEntityManager = emf.createEntityManager();
+        try {
+            CriteriaBuilder<?> criteriaBuilder2 = cq.createCriteriaBuilder(otherEntityManager);
+            assertSame(em, criteriaBuilder1.getEntityManager());
+            assertSame(otherEntityManager, criteriaBuilder2.getEntityManager());
+            assertEquals(criteriaBuilder1.getQueryString(), criteriaBuilder2.getQueryString());
+            assertEquals(1L, criteriaBuilder2.getParameterValue("generated_param_0"));
+            criteriaBuilder2.getResultList();
+        } finally {
+            otherEntityManager.close();
+        }
+    }
+
+    @Test
+    public void renderCacheDiscardsRenderingWhenAlteredInPlace() {
+        CriteriaBuilderConfiguration config = Criteria.getDefault();
+        config.getProperties().setProperty(ConfigurationProperties.CRITERIA_RENDER_CACHE, "true");
+        CriteriaBuilderFactory cbfRenderCache = config.createCriteriaBuilderFactory(emf);
+        BlazeCriteriaQuery<Long> cq = BlazeCriteria.get(cbfRenderCache, Long.class);
+        BlazeCriteriaBuilder cb = cq.getCriteriaBuilder();
+        Root<Document> root = cq.from(Document.class, "document");
+        BlazeCriteriaBuilder.In<Long> in = cb.in(root.get(Document_.id));
+        in.value(1L);
+
+        cq.select(root.get(Document_.id));
+        cq.where(in);
+
+        CriteriaBuilder<?> criteriaBuilder1 = cq.createCriteriaBuilder(em);
+        assertEquals(Arrays.asList(1L), criteriaBuilder1.getParameterValue("generated_param_0"));
+
+        in.value(2L);
+        CriteriaBuilder<?> criteriaBuilder2 = cq.createCriteriaBuilder(em);
+        assertEquals(criteriaBuilder1.getQueryString(), criteriaBuilder2.getQueryString());
+        assertEquals(Arrays.asList(1L, 2L), criteriaBuilder2.getParameterValue("generated_param_0"));
+    }
+
     @Test
     public void singularAttributeWithLiterals() {
         BlazeCriteriaQuery<Long> cq = BlazeCriteria.get(cbf, Long.class);